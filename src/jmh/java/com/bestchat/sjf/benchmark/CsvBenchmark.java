@@ -0,0 +1,90 @@
+package com.bestchat.sjf.benchmark;
+
+import com.bestchat.sjf.io.CsvIoService;
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.scheduling.TimeAdvanceMode;
+import com.bestchat.sjf.simulation.SimulationEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading workloads from CSV and writing results back, on files in a temporary directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CsvBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int processes;
+
+    private final CsvIoService csv = new CsvIoService();
+    private Path directory;
+    private Path input;
+    private Path output;
+    private List<Process> results;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sjf-bench");
+        input = directory.resolve("workload.csv");
+        output = directory.resolve("results.csv");
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3,
+                TimeAdvanceMode.NEXT_EVENT);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        engine.loadWorkload(Workloads.table(processes, 42));
+        engine.runToCompletion();
+        results = scheduler.snapshot();
+        // The results file starts with the definition columns, so it doubles as a workload to load.
+        csv.saveResults(input, results);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Process> load() throws IOException {
+        return csv.load(input);
+    }
+
+    @Benchmark
+    public ProcessTable loadTable() throws IOException {
+        return csv.loadTable(input);
+    }
+
+    @Benchmark
+    public List<Process> loadWithCsvParser() throws IOException {
+        return csv.loadWithCsvParser(input);
+    }
+
+    @Benchmark
+    public long saveResults() throws IOException {
+        csv.saveResults(output, results);
+        return Files.size(output);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bestchat.sjf.benchmark;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.ReadyQueueChange;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.simulation.SimulationEngine;
+import com.bestchat.sjf.simulation.SimulationListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Engine runs with notification fan-out to listeners that read what they are given, the way the UI coalescer does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EngineBenchmark {
+    @Param({"10000", "100000"})
+    private int processes;
+
+    @Param({"0", "1", "4"})
+    private int listeners;
+
+    @Param({"1", "1024"})
+    private int batchSize;
+
+    private ProcessTable workload;
+    private SimulationEngine engine;
+    private ReadingListener[] attached;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.table(processes, 42);
+        engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3));
+        engine.setBatchSize(batchSize);
+        attached = new ReadingListener[listeners];
+        for (int i = 0; i < listeners; i++) {
+            attached[i] = new ReadingListener();
+            engine.addListener(attached[i]);
+        }
+    }
+
+    @Benchmark
+    public long run() {
+        engine.loadWorkload(workload);
+        engine.runToCompletion();
+        long seen = 0;
+        for (ReadingListener listener : attached) {
+            seen += listener.seen;
+        }
+        return seen;
+    }
+
+    private static final class ReadingListener implements SimulationListener {
+        private long seen;
+
+        @Override
+        public void onTimeAdvanced(int time) {
+            seen += time;
+        }
+
+        @Override
+        public void onProcessStateChanged(Process process) {
+            seen += process.getRemainingTime() + process.getWaitingTime();
+        }
+
+        @Override
+        public void onSchedulingEvent(String message) {
+            seen += message.length();
+        }
+
+        @Override
+        public void onSchedulerEvent(SchedulerEvent event, SchedulerEventFormatter formatter) {
+            seen += event.time();
+        }
+
+        @Override
+        public void onReadyQueueUpdated(List<Process> ready) {
+            seen += ready.size();
+        }
+
+        @Override
+        public void onReadyQueueChanged(ReadyQueueChange change, Process process) {
+            seen += process.getPriority();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bestchat.sjf.benchmark;
+
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.PriorityBucketQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady-state ready-queue operations at a fixed queue depth: every operation leaves the depth unchanged.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReadyQueueBenchmark {
+    private static final int DRAWS = 1 << 16;
+
+    @Param({"16", "1024", "65536", "1048576"})
+    private int depth;
+
+    @Param({"4", "64"})
+    private int priorityLevels;
+
+    private ProcessTable table;
+    private PriorityBucketQueue queue;
+    private int[] remainingTimes;
+    private int[] handles;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        table = new ProcessTable(depth);
+        for (int i = 0; i < depth; i++) {
+            table.add("Q" + i, random.nextInt(depth), random.nextInt(1, 100), random.nextInt(1, priorityLevels + 1));
+        }
+        queue = new PriorityBucketQueue(table);
+        for (int handle = 0; handle < depth; handle++) {
+            queue.add(handle);
+        }
+        remainingTimes = new int[DRAWS];
+        handles = new int[DRAWS];
+        for (int i = 0; i < DRAWS; i++) {
+            remainingTimes[i] = random.nextInt(1, 100);
+            handles[i] = random.nextInt(depth);
+        }
+    }
+
+    /**
+     * Dispatches the head and puts it back with a new remaining time, like a preempted process.
+     */
+    @Benchmark
+    public int pollAndAdd() {
+        int head = queue.poll();
+        table.setRemainingTime(head, remainingTimes[cursor++ & (DRAWS - 1)]);
+        queue.add(head);
+        return head;
+    }
+
+    /**
+     * Moves a queued process to another level, like an aging promotion.
+     */
+    @Benchmark
+    public int changePriority() {
+        int handle = handles[cursor++ & (DRAWS - 1)];
+        queue.changePriority(handle, table.getPriority(handle) % priorityLevels + 1);
+        return handle;
+    }
+
+    @Benchmark
+    public int peek() {
+        return queue.peek();
+    }
+}
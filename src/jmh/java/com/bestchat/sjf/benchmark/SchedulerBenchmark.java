@@ -0,0 +1,74 @@
+package com.bestchat.sjf.benchmark;
+
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.LoadBalancing;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.scheduling.TimeAdvanceMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole scheduler runs over a synthetic workload, without an engine or listeners. Notifications are discarded once
+ * per 1024 steps, as the engine does when nobody listens.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SchedulerBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int processes;
+
+    @Param({"PREEMPTIVE", "NON_PREEMPTIVE"})
+    private SchedulingMode mode;
+
+    @Param({"false", "true"})
+    private boolean aging;
+
+    @Param({"TICK", "NEXT_EVENT"})
+    private TimeAdvanceMode timeAdvance;
+
+    @Param({"1", "8"})
+    private int cores;
+
+    private ProcessTable workload;
+    private SJFWithPriorityScheduler scheduler;
+
+    @Setup
+    public void setUp() {
+        workload = Workloads.table(processes, 42);
+        scheduler = new SJFWithPriorityScheduler(mode, aging, 3, timeAdvance, cores,
+                LoadBalancing.WORK_STEALING);
+    }
+
+    /**
+     * Loading the same, already sorted table again only resets it, so each invocation starts from scratch.
+     */
+    @Benchmark
+    public int run() {
+        scheduler.setProcessTable(workload);
+        int steps = 0;
+        while (!scheduler.isFinished()) {
+            scheduler.step();
+            if ((++steps & 1023) == 0) {
+                scheduler.discardNotifications();
+            }
+        }
+        scheduler.discardNotifications();
+        return scheduler.getCurrentTime();
+    }
+}
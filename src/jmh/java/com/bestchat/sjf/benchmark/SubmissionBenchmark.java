@@ -0,0 +1,104 @@
+package com.bestchat.sjf.benchmark;
+
+import com.bestchat.sjf.scheduling.MpscQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion of online submissions under contention: three producer threads offer to one queue while a single
+ * consumer drains it, as the scheduler does at the start of each step. Between two submissions a producer burns
+ * {@code work} tokens of CPU, standing in for whatever produced the submission and keeping the consumer able to keep
+ * up, so the queue stays short. {@link ConcurrentLinkedQueue} runs the same load for comparison.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SubmissionBenchmark {
+    private static final Integer SUBMISSION = 42;
+    private static final int DRAIN_LIMIT = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Load {
+        @Param({"16", "256"})
+        int work;
+    }
+
+    @State(Scope.Group)
+    public static class Mpsc {
+        final MpscQueue<Integer> queue = new MpscQueue<>();
+
+        @TearDown(Level.Iteration)
+        public void drain() {
+            queue.clear();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class Concurrent {
+        final ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<>();
+
+        @TearDown(Level.Iteration)
+        public void drain() {
+            queue.clear();
+        }
+    }
+
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(3)
+    public void mpscOffer(Mpsc state, Load load) {
+        Blackhole.consumeCPU(load.work);
+        state.queue.offer(SUBMISSION);
+    }
+
+    /**
+     * Drains up to a step's worth of submissions per call; an unbounded drain would never return under load.
+     */
+    @Benchmark
+    @Group("mpsc")
+    @GroupThreads(1)
+    public int mpscDrain(Mpsc state) {
+        int drained = 0;
+        while (drained < DRAIN_LIMIT && state.queue.poll() != null) {
+            drained++;
+        }
+        return drained;
+    }
+
+    @Benchmark
+    @Group("concurrentLinkedQueue")
+    @GroupThreads(3)
+    public void concurrentOffer(Concurrent state, Load load) {
+        Blackhole.consumeCPU(load.work);
+        state.queue.offer(SUBMISSION);
+    }
+
+    @Benchmark
+    @Group("concurrentLinkedQueue")
+    @GroupThreads(1)
+    public int concurrentDrain(Concurrent state) {
+        int drained = 0;
+        while (drained < DRAIN_LIMIT && state.queue.poll() != null) {
+            drained++;
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,36 @@
+package com.bestchat.sjf.benchmark;
+
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.workload.ArrivalProcess;
+import com.bestchat.sjf.workload.BurstDistribution;
+import com.bestchat.sjf.workload.PriorityMix;
+import com.bestchat.sjf.workload.SyntheticWorkload;
+import com.bestchat.sjf.workload.WorkloadSource;
+
+/**
+ * Workloads shared by the benchmarks, generated from a fixed seed so every run measures the same input.
+ */
+final class Workloads {
+    /**
+     * Poisson arrivals at 90% of the capacity of one core, so ready queues build up without growing forever.
+     */
+    static final double LOAD = 0.9;
+    private static final double MEAN_BURST = 5.5;
+
+    private Workloads() {
+    }
+
+    static SyntheticWorkload source(int processes, long seed) {
+        return new SyntheticWorkload(ArrivalProcess.poisson(LOAD / MEAN_BURST), BurstDistribution.uniform(1, 10),
+                PriorityMix.uniform(4), processes, seed);
+    }
+
+    static ProcessTable table(int processes, long seed) {
+        ProcessTable table = new ProcessTable(processes);
+        WorkloadSource source = source(processes, seed);
+        while (source.peekArrivalTime() != WorkloadSource.EXHAUSTED) {
+            source.next(table);
+        }
+        return table;
+    }
+}
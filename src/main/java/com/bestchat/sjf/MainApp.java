@@ -1,57 +1,120 @@
 package com.bestchat.sjf;
 
 import com.bestchat.sjf.io.CsvIoService;
+import com.bestchat.sjf.metrics.LatencyHistogram;
+import com.bestchat.sjf.metrics.SimulationMetrics;
+import com.bestchat.sjf.metrics.StreamingDistribution;
 import com.bestchat.sjf.model.Process;
-import com.bestchat.sjf.model.ProcessState;
+import com.bestchat.sjf.model.ProcessSnapshot;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.CoreStatistics;
+import com.bestchat.sjf.scheduling.LoadBalancing;
 import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulerEventKind;
 import com.bestchat.sjf.scheduling.Scheduler;
 import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.scheduling.TimeAdvanceMode;
+import com.bestchat.sjf.simulation.BackgroundDriver;
+import com.bestchat.sjf.simulation.CompletionStatistics;
+import com.bestchat.sjf.simulation.EventLogStore;
+import com.bestchat.sjf.simulation.MonteCarloRunner;
+import com.bestchat.sjf.simulation.ParameterSweep;
+import com.bestchat.sjf.simulation.RunMetrics;
 import com.bestchat.sjf.simulation.SimulationEngine;
-import com.bestchat.sjf.simulation.SimulationListener;
+import com.bestchat.sjf.simulation.SimulationResultCache;
+import com.bestchat.sjf.simulation.TimelineDriver;
+import com.bestchat.sjf.ui.EventLogList;
 import com.bestchat.sjf.ui.GanttChart;
 import com.bestchat.sjf.ui.ProcessFormDialog;
 import com.bestchat.sjf.ui.ProcessViewModel;
+import com.bestchat.sjf.ui.UiUpdateCoalescer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Main JavaFX application that wires together the scheduler, simulation engine, and UI.
  */
-public class MainApp extends Application implements SimulationListener {
+public class MainApp extends Application {
 
     private final ObservableList<ProcessViewModel> tableData = FXCollections.observableArrayList();
     private final Map<String, ProcessViewModel> viewModelIndex = new HashMap<>();
-    private final ListView<String> eventLog = new ListView<>();
-    private final ListView<String> readyQueueView = new ListView<>();
+    private static final int EVENT_LOG_MEMORY_LIMIT = 100_000;
+    private static final int MAX_CORES = 128;
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final long CHECKPOINT_MEMORY_BUDGET = 64L * 1024 * 1024;
+    private static final long RESULT_CACHE_MEMORY_BUDGET = 128L * 1024 * 1024;
+    private static final long RESULT_CACHE_DISK_BUDGET = 512L * 1024 * 1024;
+    /**
+     * System property naming a directory where finished runs are kept between sessions; without it they are only
+     * cached in memory.
+     */
+    private static final String RESULT_CACHE_DIRECTORY_PROPERTY = "sjf.resultCache.dir";
+
+    private final EventLogStore eventLogStore = createEventLogStore();
+    private final EventLogList eventLogItems = new EventLogList(eventLogStore);
+    private final ListView<String> eventLog = new ListView<>(eventLogItems);
+    private final ListView<ProcessSnapshot> readyQueueView = new ListView<>();
+    private final ListView<String> coreStatsView = new ListView<>();
+    private final Label migrationsLabel = new Label("Миграций: 0");
     private final Label timeLabel = new Label("время=0");
+    private final IntegerProperty simulationTime = new SimpleIntegerProperty();
     private final GanttChart ganttChart = new GanttChart();
+    private final Slider scrubber = new Slider(0, 0, 0);
+    private final Label scrubberLabel = new Label("0");
+    private final UiUpdateCoalescer uiUpdates = new UiUpdateCoalescer(this::applyFrame);
+    private final SimulationMetrics metrics = new SimulationMetrics();
+    private final CompletionStatistics completionStatistics = new CompletionStatistics();
+    private final Timeline metricsRefresh = new Timeline();
 
     private final CsvIoService csvIoService = new CsvIoService();
+    private final SimulationResultCache resultCache = createResultCache();
+    private final ParameterSweep parameterSweep = new ParameterSweep(ForkJoinPool.commonPool(), resultCache);
+    private final Label finalResultLabel = new Label();
+    private final MonteCarloRunner monteCarloRunner = new MonteCarloRunner();
     private final List<Process> processDefinitions = new ArrayList<>();
+    /**
+     * Processes submitted to the running simulation that the scheduler has not picked up yet, by id.
+     */
+    private final Map<String, Process> pendingSubmissions = new HashMap<>();
 
     private Scheduler scheduler;
     private SimulationEngine engine;
+    private TimelineDriver driver;
+    private BackgroundDriver backgroundDriver;
 
     private ComboBox<SchedulingMode> modeCombo;
     private CheckBox agingCheckBox;
+    private Spinner<Integer> coresSpinner;
+    private ComboBox<LoadBalancing> balancingCombo;
     private Slider speedSlider;
-
-    private int lastTimeMark;
-    private String activeProcessId;
+    private CheckBox maxSpeedCheckBox;
+    private int horizon;
+    private boolean updatingScrubber;
+    private int finalResultRequest;
 
     @Override
     public void start(Stage stage) {
@@ -59,12 +122,17 @@ public class MainApp extends Application implements SimulationListener {
         modeCombo.setValue(SchedulingMode.PREEMPTIVE);
         agingCheckBox = new CheckBox("Старение приоритетов");
         agingCheckBox.setSelected(true);
+        coresSpinner = new Spinner<>(1, MAX_CORES, 1);
+        coresSpinner.setPrefWidth(80);
+        balancingCombo = new ComboBox<>(FXCollections.observableArrayList(LoadBalancing.values()));
+        balancingCombo.setValue(LoadBalancing.WORK_STEALING);
         speedSlider = new Slider(0.25, 4, 1);
         speedSlider.setShowTickMarks(true);
         speedSlider.setMajorTickUnit(0.75);
         speedSlider.setMinorTickCount(2);
         speedSlider.setShowTickLabels(true);
         speedSlider.valueProperty().addListener((obs, o, n) -> updateSpeed());
+        maxSpeedCheckBox = new CheckBox("Макс. скорость");
 
         buildEngine();
         seedInitialProcesses();
@@ -79,12 +147,38 @@ public class MainApp extends Application implements SimulationListener {
         stage.setTitle("Симулятор планировщика SJF");
         stage.setScene(new Scene(root, 1200, 800));
         stage.show();
+        uiUpdates.start();
+        metricsRefresh.play();
+    }
+
+    @Override
+    public void stop() throws IOException {
+        uiUpdates.stop();
+        metricsRefresh.stop();
+        backgroundDriver.close();
+        eventLogStore.close();
     }
 
     private void buildEngine() {
-        scheduler = new SJFWithPriorityScheduler(modeCombo.getValue(), agingCheckBox.isSelected(), 3);
+        if (driver != null) {
+            driver.pause();
+            backgroundDriver.close();
+        }
+        int cores = coresSpinner.getValue();
+        scheduler = new SJFWithPriorityScheduler(modeCombo.getValue(), agingCheckBox.isSelected(), 3,
+                TimeAdvanceMode.TICK, cores, balancingCombo.getValue());
+        ganttChart.setLaneCount(cores);
+        balancingCombo.setDisable(cores == 1);
         engine = new SimulationEngine(scheduler);
-        engine.addListener(this);
+        // Every step is published so Gantt slices stay exact; the coalescer merges them per frame.
+        engine.setBatchSize(1);
+        engine.setMetrics(metrics);
+        engine.setCheckpointing(CHECKPOINT_INTERVAL, CHECKPOINT_MEMORY_BUDGET);
+        engine.addListener(uiUpdates);
+        engine.addListener(completionStatistics);
+        driver = new TimelineDriver(engine);
+        driver.setSpeedMultiplier(speedSlider.getValue());
+        backgroundDriver = new BackgroundDriver(engine);
     }
 
     private void seedInitialProcesses() {
@@ -112,18 +206,27 @@ public class MainApp extends Application implements SimulationListener {
 
         agingCheckBox.setTooltip(new Tooltip("При включении приоритет процесса повышается при длительном ожидании"));
 
+        Label coresLabel = new Label("Ядра:");
+        coresSpinner.setTooltip(new Tooltip("Число ядер CPU; у каждого ядра своя очередь готовности и своя дорожка на диаграмме"));
+        balancingCombo.setTooltip(new Tooltip("Балансировка: перенос процессов на менее загруженные ядра или захват работы простаивающими ядрами"));
+
         Label speedLabel = new Label("Скорость:");
         speedSlider.setTooltip(new Tooltip());
         speedSlider.getTooltip().textProperty().bind(Bindings.format("Ускорение симуляции: %.2fx", speedSlider.valueProperty()));
 
+        maxSpeedCheckBox.setTooltip(new Tooltip("Симуляция выполняется в фоновом потоке без задержек, интерфейс обновляется раз в кадр"));
+
         HBox box = new HBox(10, addButton, importButton, exportButton,
                 modeLabel, modeCombo,
                 agingCheckBox,
-                speedLabel, speedSlider);
+                coresLabel, coresSpinner, balancingCombo,
+                speedLabel, speedSlider, maxSpeedCheckBox);
         box.setPadding(new Insets(10));
 
         modeCombo.setOnAction(e -> reconfigureScheduler());
         agingCheckBox.setOnAction(e -> reconfigureScheduler());
+        coresSpinner.valueProperty().addListener((obs, o, n) -> reconfigureScheduler());
+        balancingCombo.setOnAction(e -> reconfigureScheduler());
 
         return box;
     }
@@ -133,17 +236,22 @@ public class MainApp extends Application implements SimulationListener {
         refreshEngineData();
     }
 
-    private Pane buildMainTabs() {
+    private TabPane buildMainTabs() {
         TabPane tabs = new TabPane();
 
         BorderPane ganttPane = new BorderPane(ganttChart);
         ganttPane.setPadding(new Insets(10));
-        tabs.getTabs().add(new Tab("Диаграмма Ганта", ganttPane));
+        ganttPane.setBottom(buildScrubber());
+        Tab ganttTab = new Tab("Диаграмма Ганта", ganttPane);
+        ganttTab.setTooltip(new Tooltip("Колесо мыши — масштаб, перетаскивание — прокрутка, двойной щелчок — вся диаграмма"));
+        tabs.getTabs().add(ganttTab);
 
         TableView<ProcessViewModel> tableView = buildProcessTable();
         tabs.getTabs().add(new Tab("Процессы", new BorderPane(tableView)));
 
         tabs.getTabs().add(buildLoadTestTab());
+        tabs.getTabs().add(buildSweepTab());
+        tabs.getTabs().add(buildMetricsTab());
 
         tabs.getTabs().forEach(tab -> tab.setClosable(false));
         return tabs;
@@ -151,18 +259,27 @@ public class MainApp extends Application implements SimulationListener {
 
     private TableView<ProcessViewModel> buildProcessTable() {
         TableView<ProcessViewModel> tableView = new TableView<>(tableData);
-        tableView.getColumns().addAll(
-                column("ID", ProcessViewModel::idProperty),
-                column("Появление", ProcessViewModel::arrivalProperty),
-                column("Длительность", ProcessViewModel::burstProperty),
-                column("Приоритет", ProcessViewModel::priorityProperty),
-                column("Состояние", ProcessViewModel::stateProperty),
-                column("Осталось", ProcessViewModel::remainingProperty),
-                column("Старт", ProcessViewModel::startProperty),
-                column("Финиш", ProcessViewModel::finishProperty),
-                column("Ожидание", ProcessViewModel::waitingProperty),
-                column("Цикл", ProcessViewModel::turnaroundProperty)
-        );
+        tableView.setRowFactory(table -> {
+            TableRow<ProcessViewModel> row = new TableRow<>();
+            row.setOnMouseClicked(e -> {
+                if (e.getClickCount() == 2 && !row.isEmpty()) {
+                    openEditDialog(row.getItem().idProperty().get());
+                }
+            });
+            return row;
+        });
+        tableView.setTooltip(new Tooltip("Двойной щелчок по строке — изменить процесс"));
+        List<TableColumn<ProcessViewModel, ?>> columns = tableView.getColumns();
+        columns.add(column("ID", ProcessViewModel::idProperty));
+        columns.add(column("Появление", ProcessViewModel::arrivalProperty));
+        columns.add(column("Длительность", ProcessViewModel::burstProperty));
+        columns.add(column("Приоритет", ProcessViewModel::priorityProperty));
+        columns.add(column("Состояние", ProcessViewModel::stateProperty));
+        columns.add(column("Осталось", ProcessViewModel::remainingProperty));
+        columns.add(column("Старт", ProcessViewModel::startProperty));
+        columns.add(column("Финиш", ProcessViewModel::finishProperty));
+        columns.add(column("Ожидание", vm -> vm.waitingTime(simulationTime)));
+        columns.add(column("Цикл", ProcessViewModel::turnaroundProperty));
         return tableView;
     }
 
@@ -179,12 +296,57 @@ public class MainApp extends Application implements SimulationListener {
         Label readyLabel = new Label("Очередь готовности");
         readyLabel.setTooltip(new Tooltip("Процессы, ожидающие выделения CPU"));
         readyQueueView.setPrefHeight(200);
+        readyQueueView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(ProcessSnapshot item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null
+                        : item.id() + " (приоритет=" + item.priority() + ", осталось=" + item.remainingTime() + ")");
+            }
+        });
         readyQueueView.setTooltip(new Tooltip("Очередь сортируется по приоритету и оставшемуся времени"));
         Label logLabel = new Label("Журнал событий");
         logLabel.setTooltip(new Tooltip("Ключевые события планировщика"));
         eventLog.setPrefHeight(400);
         eventLog.setTooltip(new Tooltip("Запуск, вытеснения и завершения процессов"));
-        right.getChildren().addAll(readyLabel, readyQueueView, logLabel, eventLog);
+
+        TextField processFilter = new TextField();
+        processFilter.setPromptText("ID процесса");
+        processFilter.setPrefColumnCount(8);
+        processFilter.setTooltip(new Tooltip("Показывать только события указанного процесса"));
+        ComboBox<SchedulerEventKind> kindFilter = new ComboBox<>();
+        kindFilter.getItems().add(null);
+        kindFilter.getItems().addAll(SchedulerEventKind.values());
+        kindFilter.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(SchedulerEventKind kind) {
+                return eventKindLabel(kind);
+            }
+
+            @Override
+            public SchedulerEventKind fromString(String text) {
+                return null;
+            }
+        });
+        kindFilter.setButtonCell(new ListCell<>() {
+            @Override
+            protected void updateItem(SchedulerEventKind item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(eventKindLabel(item));
+            }
+        });
+        kindFilter.setTooltip(new Tooltip("Показывать только события выбранного типа"));
+        processFilter.textProperty().addListener((obs, o, n) -> eventLogItems.setFilter(n, kindFilter.getValue()));
+        kindFilter.setOnAction(e -> eventLogItems.setFilter(processFilter.getText(), kindFilter.getValue()));
+        HBox filters = new HBox(5, processFilter, kindFilter);
+
+        Label coresLabel = new Label("Загрузка ядер");
+        coresLabel.setTooltip(new Tooltip("Доля времени, в течение которой ядро выполняло процесс"));
+        coreStatsView.setPrefHeight(120);
+        migrationsLabel.setTooltip(new Tooltip("Сколько раз процесс переносился в очередь другого ядра"));
+
+        right.getChildren().addAll(readyLabel, readyQueueView, coresLabel, coreStatsView, migrationsLabel,
+                logLabel, filters, eventLog);
         return right;
     }
 
@@ -198,15 +360,20 @@ public class MainApp extends Application implements SimulationListener {
         Button resetButton = new Button("Сброс");
         resetButton.setTooltip(new Tooltip("Очищает прогресс и возвращает процессы в исходное состояние"));
 
-        startButton.setOnAction(e -> engine.startContinuous());
-        pauseButton.setOnAction(e -> engine.pause());
-        stepButton.setOnAction(e -> engine.step());
+        startButton.setOnAction(e -> startSimulation());
+        pauseButton.setOnAction(e -> pauseSimulation());
+        stepButton.setOnAction(e -> {
+            pauseSimulation();
+            engine.step();
+        });
         resetButton.setOnAction(e -> {
+            pauseSimulation();
+            uiUpdates.discardPending();
             engine.reset();
+            completionStatistics.reset();
             ganttChart.reset();
-            lastTimeMark = 0;
-            activeProcessId = null;
-            eventLog.getItems().clear();
+            resetScrubber();
+            eventLogItems.clear();
         });
 
         Label timeCaption = new Label("Текущее время:");
@@ -258,7 +425,7 @@ public class MainApp extends Application implements SimulationListener {
         Label hint = new Label("Подсказка: после загрузки пресета можно менять режим и скорость, затем нажать \"Старт\" или \"Шаг\".");
         hint.setWrapText(true);
 
-        content.getChildren().addAll(description, presets, hint);
+        content.getChildren().addAll(description, presets, hint, new Separator(), buildReplicationPane());
         ScrollPane scrollPane = new ScrollPane(content);
         scrollPane.setFitToWidth(true);
         scrollPane.setPrefViewportHeight(400);
@@ -266,6 +433,225 @@ public class MainApp extends Application implements SimulationListener {
         return new Tab("Нагрузочный тест", scrollPane);
     }
 
+    private Pane buildReplicationPane() {
+        Label title = new Label("Повторные прогоны (Монте-Карло)");
+        Label description = new Label("Генерирует случайные нагрузки с пуассоновским потоком поступлений и прогоняет их "
+                + "в текущем режиме планировщика (порог старения 3). Одинаковое зерно даёт одинаковый результат.");
+        description.setWrapText(true);
+
+        Spinner<Integer> replications = new Spinner<>(1, 1_000_000, 1_000, 100);
+        replications.setEditable(true);
+        replications.setPrefWidth(110);
+        Spinner<Integer> processes = new Spinner<>(1, 100_000, 200, 50);
+        processes.setEditable(true);
+        processes.setPrefWidth(100);
+        TextField rate = new TextField("0.15");
+        rate.setPrefColumnCount(5);
+        rate.setTooltip(new Tooltip("Среднее число поступлений за единицу времени"));
+        TextField seed = new TextField("42");
+        seed.setPrefColumnCount(8);
+        Button runButton = new Button("Запустить прогоны");
+        TextArea report = new TextArea();
+        report.setEditable(false);
+        report.setPrefRowCount(10);
+        report.setStyle("-fx-font-family: monospace;");
+
+        runButton.setOnAction(e -> {
+            MonteCarloRunner.WorkloadSpec workload;
+            long seedValue;
+            try {
+                workload = new MonteCarloRunner.WorkloadSpec(processes.getValue(), Double.parseDouble(rate.getText().trim()), 1, 10, 5);
+                seedValue = Long.parseLong(seed.getText().trim());
+            } catch (IllegalArgumentException ex) {
+                alert("Повторные прогоны", "Проверьте интенсивность поступлений и зерно");
+                return;
+            }
+            ParameterSweep.Configuration configuration =
+                    new ParameterSweep.Configuration(modeCombo.getValue(), agingCheckBox.isSelected(), 3);
+            int count = replications.getValue();
+            runButton.setDisable(true);
+            report.setText("Выполняется прогонов: " + count + "…");
+            long started = System.nanoTime();
+            monteCarloRunner.runAsync(workload, configuration, count, seedValue)
+                    .whenComplete((result, error) -> Platform.runLater(() -> {
+                        runButton.setDisable(false);
+                        report.setText(error != null ? "Ошибка: " + error.getMessage()
+                                : formatReplicationReport(result, (System.nanoTime() - started) / 1_000_000));
+                    }));
+        });
+
+        HBox controls = new HBox(10, new Label("Прогонов:"), replications, new Label("Процессов:"), processes,
+                new Label("Интенсивность:"), rate, new Label("Зерно:"), seed, runButton);
+        return new VBox(8, title, description, controls, report);
+    }
+
+    private static String formatReplicationReport(MonteCarloRunner.Report report, long millis) {
+        StringBuilder text = new StringBuilder(String.format("Прогонов: %d, время: %d мс, доверительные интервалы 95%%%n%n",
+                report.replications(), millis));
+        text.append(String.format("%-10s %-28s %-28s%n", "", "Ожидание", "Цикл"));
+        String[] names = {"среднее", "p50", "p95", "p99"};
+        MonteCarloRunner.Estimate[] waiting = estimates(report.waitingTime());
+        MonteCarloRunner.Estimate[] turnaround = estimates(report.turnaroundTime());
+        for (int i = 0; i < names.length; i++) {
+            text.append(String.format("%-10s %-28s %-28s%n", names[i], formatEstimate(waiting[i]), formatEstimate(turnaround[i])));
+        }
+        CompletionStatistics.Report pooled = report.pooled();
+        text.append(String.format("%nВсе процессы всех прогонов вместе (%,d):%n", pooled.completed()));
+        appendDistributions(text, pooled);
+        return text.toString();
+    }
+
+    private static void appendDistributions(StringBuilder text, CompletionStatistics.Report report) {
+        text.append(String.format("%-10s %10s %10s %10s %10s %10s %10s%n", "", "среднее", "ск. откл.", "p50", "p95", "p99", "p99.9"));
+        appendDistribution(text, "ожидание", report.waitingTime());
+        appendDistribution(text, "цикл", report.turnaroundTime());
+        appendDistribution(text, "отклик", report.responseTime());
+    }
+
+    private static void appendDistribution(StringBuilder text, String name, StreamingDistribution.Summary summary) {
+        text.append(String.format("%-10s %10.2f %10.2f %10.1f %10.1f %10.1f %10.1f%n", name, summary.mean(),
+                summary.standardDeviation(), summary.p50(), summary.p95(), summary.p99(), summary.p999()));
+    }
+
+    private static MonteCarloRunner.Estimate[] estimates(MonteCarloRunner.Summary summary) {
+        return new MonteCarloRunner.Estimate[]{summary.mean(), summary.p50(), summary.p95(), summary.p99()};
+    }
+
+    private static String formatEstimate(MonteCarloRunner.Estimate estimate) {
+        return String.format("%.2f [%.2f; %.2f]", estimate.mean(), estimate.lower(), estimate.upper());
+    }
+
+    private Tab buildMetricsTab() {
+        Label stepsPerSecond = new Label();
+        Label allocationRate = new Label();
+        Label steps = new Label();
+        Label stepTime = new Label();
+        Label publishTime = new Label();
+        Label readyDepth = new Label();
+
+        GridPane grid = new GridPane();
+        grid.setHgap(15);
+        grid.setVgap(8);
+        grid.addRow(0, new Label("Шагов в секунду:"), stepsPerSecond);
+        grid.addRow(1, new Label("Выделение памяти:"), allocationRate);
+        grid.addRow(2, new Label("Шагов с начала прогона:"), steps);
+        grid.addRow(3, new Label("Время шага, мкс (p50 / p99 / макс):"), stepTime);
+        grid.addRow(4, new Label("Оповещение слушателей, мкс (p50 / p99 / макс):"), publishTime);
+        grid.addRow(5, new Label("Очередь готовности (среднее / p99 / макс):"), readyDepth);
+
+        Label hint = new Label("Показатели обновляются раз в секунду. События решений планировщика доступны в JFR: "
+                + "включите события com.bestchat.sjf.* в записи Java Flight Recorder.");
+        hint.setWrapText(true);
+
+        Label completedCaption = new Label();
+        TextArea completions = new TextArea();
+        completions.setEditable(false);
+        completions.setPrefRowCount(5);
+        completions.setStyle("-fx-font-family: monospace;");
+
+        SimulationMetrics.Snapshot[] previous = {metrics.snapshot()};
+        metricsRefresh.getKeyFrames().setAll(new KeyFrame(Duration.seconds(1), e -> {
+            SimulationMetrics.Snapshot current = metrics.snapshot();
+            stepsPerSecond.setText(String.format("%,.0f", current.stepsPerSecond(previous[0])));
+            allocationRate.setText(SimulationMetrics.allocationsMeasured()
+                    ? String.format("%.1f МБ/с", current.allocatedBytesPerSecond(previous[0]) / 1_000_000)
+                    : "недоступно в этой JVM");
+            steps.setText(String.format("%,d", current.steps()));
+            stepTime.setText(formatMicros(current.stepTime()));
+            publishTime.setText(formatMicros(current.publishTime()));
+            LatencyHistogram depth = current.readyQueueDepth();
+            readyDepth.setText(String.format("%.1f / %d / %d", depth.mean(), depth.percentile(99), depth.max()));
+            previous[0] = current;
+            CompletionStatistics.Report report = completionStatistics.report();
+            completedCaption.setText(String.format("Завершённые процессы текущего прогона: %,d", report.completed()));
+            StringBuilder text = new StringBuilder();
+            appendDistributions(text, report);
+            completions.setText(text.toString());
+        }));
+        metricsRefresh.setCycleCount(Timeline.INDEFINITE);
+
+        finalResultLabel.setWrapText(true);
+        finalResultLabel.setTooltip(new Tooltip("Итог всего прогона при текущих настройках; повторные конфигурации "
+                + "берутся из кэша результатов"));
+
+        VBox content = new VBox(12, grid, hint, new Separator(), completedCaption, completions, new Separator(),
+                finalResultLabel);
+        content.setPadding(new Insets(15));
+        return new Tab("Метрики", content);
+    }
+
+    private static String formatMicros(LatencyHistogram histogram) {
+        return String.format("%.1f / %.1f / %.1f", histogram.percentile(50) / 1000.0,
+                histogram.percentile(99) / 1000.0, histogram.max() / 1000.0);
+    }
+
+    private Tab buildSweepTab() {
+        Label description = new Label("Текущий набор процессов прогоняется во всех режимах без старения и с каждым "
+                + "из указанных порогов старения; конфигурации выполняются параллельно.");
+        description.setWrapText(true);
+
+        TextField thresholdsField = new TextField("1, 2, 3, 5, 8");
+        thresholdsField.setPrefColumnCount(16);
+        thresholdsField.setTooltip(new Tooltip("Пороги старения через запятую"));
+        Button runButton = new Button("Сравнить конфигурации");
+        runButton.setTooltip(new Tooltip("Запускает симуляцию для каждой конфигурации и сводит результаты в таблицу"));
+        Label status = new Label();
+
+        TableView<ParameterSweep.Result> results = new TableView<>();
+        List<TableColumn<ParameterSweep.Result, ?>> resultColumns = results.getColumns();
+        resultColumns.add(sweepColumn("Режим", result -> result.configuration().mode()));
+        resultColumns.add(sweepColumn("Старение", result -> result.configuration().agingEnabled() ? "да" : "нет"));
+        resultColumns.add(sweepColumn("Порог", result -> result.configuration().agingEnabled()
+                ? String.valueOf(result.configuration().agingThreshold()) : "—"));
+        resultColumns.add(sweepColumn("Ср. ожидание",
+                result -> String.format("%.2f", result.metrics().averageWaitingTime())));
+        resultColumns.add(sweepColumn("Ср. цикл",
+                result -> String.format("%.2f", result.metrics().averageTurnaroundTime())));
+        resultColumns.add(sweepColumn("Макс. ожидание", result -> result.metrics().maxWaitingTime()));
+        resultColumns.add(sweepColumn("Завершение", result -> result.metrics().makespan()));
+
+        runButton.setOnAction(e -> {
+            List<Integer> thresholds = new ArrayList<>();
+            try {
+                for (String part : thresholdsField.getText().split(",")) {
+                    if (!part.isBlank()) {
+                        thresholds.add(Integer.parseInt(part.trim()));
+                    }
+                }
+            } catch (NumberFormatException ex) {
+                alert("Сравнение конфигураций", "Пороги старения должны быть целыми числами");
+                return;
+            }
+            List<ParameterSweep.Configuration> grid = ParameterSweep.grid(List.of(SchedulingMode.values()), thresholds);
+            runButton.setDisable(true);
+            status.setText("Выполняется конфигураций: " + grid.size() + "…");
+            parameterSweep.runAsync(ProcessTable.of(processDefinitions), grid)
+                    .whenComplete((rows, error) -> Platform.runLater(() -> {
+                        runButton.setDisable(false);
+                        if (error != null) {
+                            status.setText("Ошибка: " + error.getMessage());
+                            return;
+                        }
+                        results.getItems().setAll(rows);
+                        status.setText("Готово: " + rows.size() + " конфигураций");
+                    }));
+        });
+
+        HBox controls = new HBox(10, new Label("Пороги старения:"), thresholdsField, runButton, status);
+        VBox content = new VBox(10, description, controls, results);
+        content.setPadding(new Insets(15));
+        VBox.setVgrow(results, Priority.ALWAYS);
+        return new Tab("Сравнение конфигураций", content);
+    }
+
+    private static <T> TableColumn<ParameterSweep.Result, T> sweepColumn(String title,
+                                                                       java.util.function.Function<ParameterSweep.Result, T> value) {
+        TableColumn<ParameterSweep.Result, T> column = new TableColumn<>(title);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        column.setPrefWidth(110);
+        return column;
+    }
+
     private void loadPreset(String name, List<Process> preset) {
         processDefinitions.clear();
         processDefinitions.addAll(preset);
@@ -278,16 +664,126 @@ public class MainApp extends Application implements SimulationListener {
         ProcessFormDialog dialog = new ProcessFormDialog();
         Optional<Process> result = dialog.showAndWait();
         result.ifPresent(process -> {
-            if (processDefinitions.stream().anyMatch(p -> p.getId().equals(process.getId()))) {
+            if (processDefinitions.stream().anyMatch(p -> p.getId().equals(process.getId()))
+                    || pendingSubmissions.containsKey(process.getId())) {
                 alert("Дублирование ID", "Процесс с таким ID уже существует");
                 return;
             }
-            processDefinitions.add(process);
+            // The clock must stand still between reading it and submitting, or a process due now could be taken
+            // for one arriving in the future, or the other way round.
+            boolean runningInBackground = backgroundDriver.isRunning();
+            backgroundDriver.pause();
+            int now = scheduler.getCurrentTime();
+            if (now == 0) {
+                processDefinitions.add(process);
+                processDefinitions.sort(Comparator.comparingInt(Process::getArrivalTime));
+                refreshEngineData();
+                return;
+            }
+            if (process.getArrivalTime() > now) {
+                // Still ahead of the clock: an ordinary edit of the workload, resumed from a checkpoint.
+                processDefinitions.add(process);
+                processDefinitions.sort(Comparator.comparingInt(Process::getArrivalTime));
+                applyDefinitionChange();
+                return;
+            }
+            // A simulation in progress keeps running: the process joins it at the next step instead of restarting it.
+            if (now < horizon) {
+                // The run was moved back, and from here on it no longer matches what the chart shows.
+                ganttChart.truncate(now);
+                horizon = now;
+                showScrubberTime(now);
+            }
+            // Becomes a definition once the scheduler has picked it up, with the arrival time it was given then.
+            pendingSubmissions.put(process.getId(), process);
+            engine.submit(process.getId(), process.getBurstTime(), process.getBasePriority());
+            if (runningInBackground) {
+                backgroundDriver.resume().thenRun(uiUpdates::publishReadyQueue);
+            }
+            if (process.getArrivalTime() < now) {
+                alert("Добавление процесса", "Время появления " + process.getArrivalTime()
+                        + " уже прошло: процесс поступит на ближайшем шаге симуляции, не раньше момента " + now);
+            }
+        });
+    }
+
+    /**
+     * Turns a submitted process into a definition with the arrival time the scheduler gave it.
+     */
+    private void recordSubmission(String id, int arrivalTime) {
+        Process submitted = pendingSubmissions.remove(id);
+        if (submitted == null) {
+            return;
+        }
+        processDefinitions.add(new Process(id, arrivalTime, submitted.getBurstTime(), submitted.getBasePriority()));
+        processDefinitions.sort(Comparator.comparingInt(Process::getArrivalTime));
+        showFinalResult();
+    }
+
+    /**
+     * Records the submissions the stopped engine has already picked up; the ones it has not are about to be
+     * dropped by a reload or an edit of the workload.
+     */
+    private void settlePendingSubmissions() {
+        if (pendingSubmissions.isEmpty()) {
+            return;
+        }
+        for (Process process : scheduler.snapshot()) {
+            recordSubmission(process.getId(), process.getArrivalTime());
+        }
+        pendingSubmissions.clear();
+    }
+
+    private void openEditDialog(String id) {
+        int index = -1;
+        for (int i = 0; i < processDefinitions.size(); i++) {
+            if (processDefinitions.get(i).getId().equals(id)) {
+                index = i;
+                break;
+            }
+        }
+        if (index < 0) {
+            return;
+        }
+        int edited = index;
+        new ProcessFormDialog(processDefinitions.get(edited)).showAndWait().ifPresent(process -> {
+            for (int i = 0; i < processDefinitions.size(); i++) {
+                if (i != edited && processDefinitions.get(i).getId().equals(process.getId())) {
+                    alert("Дублирование ID", "Процесс с таким ID уже существует");
+                    return;
+                }
+            }
+            processDefinitions.set(edited, process);
             processDefinitions.sort(Comparator.comparingInt(Process::getArrivalTime));
-            refreshEngineData();
+            applyDefinitionChange();
         });
     }
 
+    /**
+     * Brings the simulation in line with edited process definitions. Before the run has started this is a plain
+     * reload; otherwise the engine keeps everything that happened before the edit could matter, and the rest is
+     * simulated again up to the time the run had reached.
+     */
+    private void applyDefinitionChange() {
+        int previous = scheduler.getCurrentTime();
+        if (previous == 0) {
+            refreshEngineData();
+            return;
+        }
+        pauseSimulation();
+        settlePendingSubmissions();
+        uiUpdates.restartAt(previous);
+        completionStatistics.reset();
+        eventLogItems.clear();
+        rebuildProcessTable();
+        int resumed = engine.updateProcesses(processDefinitions);
+        ganttChart.truncate(resumed);
+        horizon = resumed;
+        showScrubberTime(resumed);
+        showFinalResult();
+        backgroundDriver.runUntil(previous).thenRun(uiUpdates::publishReadyQueue);
+    }
+
     private void importFromCsv() {
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Выберите CSV файл процессов");
@@ -318,6 +814,7 @@ public class MainApp extends Application implements SimulationListener {
         if (file == null) {
             return;
         }
+        pauseSimulation();
         try {
             csvIoService.saveResults(Path.of(file.toURI()), scheduler.snapshot());
             alert("Экспорт", "Результаты сохранены в " + file.getName());
@@ -327,6 +824,51 @@ public class MainApp extends Application implements SimulationListener {
     }
 
     private void refreshEngineData() {
+        pauseSimulation();
+        pendingSubmissions.clear();
+        uiUpdates.discardPending();
+        eventLogItems.clear();
+        rebuildProcessTable();
+        engine.loadProcesses(processDefinitions);
+        completionStatistics.reset();
+        ganttChart.reset();
+        resetScrubber();
+        readyQueueView.getItems().clear();
+        showFinalResult();
+    }
+
+    /**
+     * Shows the outcome of the whole run for the current workload and settings without waiting for the animation.
+     * The run is simulated headless in the background, or taken from the result cache when the same workload was
+     * already run with the same settings, for example after switching the mode back.
+     */
+    private void showFinalResult() {
+        int request = ++finalResultRequest;
+        ParameterSweep.Configuration configuration =
+                new ParameterSweep.Configuration(modeCombo.getValue(), agingCheckBox.isSelected(), 3);
+        finalResultLabel.setText("Итог прогона: вычисляется…");
+        parameterSweep.runAsync(ProcessTable.of(processDefinitions), configuration, coresSpinner.getValue(),
+                        balancingCombo.getValue())
+                .whenComplete((result, error) -> Platform.runLater(() -> {
+                    if (request != finalResultRequest) {
+                        return;
+                    }
+                    if (error != null) {
+                        finalResultLabel.setText("Итог прогона: ошибка — " + error.getMessage());
+                        return;
+                    }
+                    RunMetrics run = result.metrics();
+                    SimulationResultCache.Statistics cache = resultCache.statistics();
+                    finalResultLabel.setText(String.format("Итог прогона: ср. ожидание %.2f, ср. цикл %.2f, "
+                                    + "макс. ожидание %d, завершение %d. Кэш результатов: %d записей, %.1f МБ, "
+                                    + "попаданий %d (с диска %d), промахов %d",
+                            run.averageWaitingTime(), run.averageTurnaroundTime(), run.maxWaitingTime(),
+                            run.makespan(), cache.entries(), cache.memoryBytes() / 1_000_000.0,
+                            cache.memoryHits() + cache.diskHits(), cache.diskHits(), cache.misses()));
+                }));
+    }
+
+    private void rebuildProcessTable() {
         viewModelIndex.clear();
         tableData.clear();
         processDefinitions.forEach(p -> {
@@ -334,15 +876,28 @@ public class MainApp extends Application implements SimulationListener {
             viewModelIndex.put(p.getId(), vm);
             tableData.add(vm);
         });
-        engine.loadProcesses(processDefinitions);
-        ganttChart.reset();
-        lastTimeMark = 0;
-        activeProcessId = null;
-        readyQueueView.getItems().clear();
+    }
+
+    private void startSimulation() {
+        if (maxSpeedCheckBox.isSelected()) {
+            driver.pause();
+            backgroundDriver.start().thenRun(uiUpdates::publishReadyQueue);
+        } else {
+            backgroundDriver.pause();
+            driver.start();
+        }
+    }
+
+    /**
+     * Stops both drivers; afterwards the engine is only touched from the JavaFX Application Thread.
+     */
+    private void pauseSimulation() {
+        driver.pause();
+        backgroundDriver.pause();
     }
 
     private void updateSpeed() {
-        engine.setSpeedMultiplier(speedSlider.getValue());
+        driver.setSpeedMultiplier(speedSlider.getValue());
     }
 
     private void alert(String title, String message) {
@@ -353,41 +908,129 @@ public class MainApp extends Application implements SimulationListener {
         alert.showAndWait();
     }
 
-    @Override
-    public void onTimeAdvanced(int time) {
-        if (activeProcessId != null) {
-            ganttChart.addSlice(activeProcessId, lastTimeMark, time, colorForProcess(activeProcessId));
+    private void applyFrame(UiUpdateCoalescer.Frame frame) {
+        for (ProcessSnapshot snapshot : frame.processes()) {
+            ProcessViewModel vm = viewModelIndex.get(snapshot.id());
+            if (vm == null) {
+                recordSubmission(snapshot.id(), snapshot.arrivalTime());
+                vm = new ProcessViewModel(snapshot);
+                viewModelIndex.put(snapshot.id(), vm);
+                tableData.add(vm);
+            } else {
+                vm.update(snapshot);
+            }
         }
-        lastTimeMark = time;
-        timeLabel.setText("время=" + time);
+        if (!frame.events().isEmpty()) {
+            eventLogItems.append(frame.events(), frame.formatter());
+            eventLog.scrollTo(eventLogItems.size() - 1);
+        }
+        for (UiUpdateCoalescer.Slice slice : frame.slices()) {
+            ganttChart.addSlice(slice.core(), slice.processId(), slice.start(), slice.end(), colorForProcess(slice.processId()));
+        }
+        if (frame.coreStatistics() != null) {
+            showCoreStatistics(frame.coreStatistics());
+        }
+        if (frame.readyQueue() != null) {
+            readyQueueView.getItems().setAll(frame.readyQueue());
+        }
+        timeLabel.setText("время=" + frame.time());
+        simulationTime.set(frame.time());
+        horizon = Math.max(horizon, frame.time());
+        showScrubberTime(frame.time());
+        ganttChart.setPlayhead(frame.time());
     }
 
-    @Override
-    public void onProcessStateChanged(Process process) {
-        ProcessViewModel vm = viewModelIndex.computeIfAbsent(process.getId(), id -> {
-            ProcessViewModel created = new ProcessViewModel(process);
-            tableData.add(created);
-            return created;
+    /**
+     * Slider over the part of the run simulated so far. Moving it seeks the engine, which restores the nearest
+     * checkpoint and replays only the rest.
+     */
+    private Pane buildScrubber() {
+        scrubber.setTooltip(new Tooltip("Перемотка симуляции к выбранному моменту времени"));
+        scrubber.valueProperty().addListener((obs, o, n) -> {
+            if (!updatingScrubber && n.intValue() != scheduler.getCurrentTime()) {
+                seekTo(n.intValue());
+            }
         });
-        vm.updateFromProcess(process);
-        if (process.getState() == ProcessState.RUNNING) {
-            activeProcessId = process.getId();
-        } else if (process.getId().equals(activeProcessId) && process.getState() != ProcessState.RUNNING) {
-            activeProcessId = null;
+        scrubberLabel.setMinWidth(60);
+        HBox box = new HBox(10, new Label("Перемотка:"), scrubber, scrubberLabel);
+        HBox.setHgrow(scrubber, Priority.ALWAYS);
+        box.setAlignment(Pos.CENTER_LEFT);
+        box.setPadding(new Insets(8, 0, 0, 0));
+        return box;
+    }
+
+    /**
+     * Moves the simulation to the given time. Everything shown for the current time is replaced by full snapshots;
+     * the event log starts over from that point, while the Gantt chart keeps the trace and moves its playhead.
+     */
+    private void seekTo(int time) {
+        pauseSimulation();
+        uiUpdates.restartAt(time);
+        completionStatistics.reset();
+        eventLogItems.clear();
+        engine.seek(time);
+    }
+
+    private void resetScrubber() {
+        horizon = 0;
+        showScrubberTime(0);
+    }
+
+    private void showScrubberTime(int time) {
+        updatingScrubber = true;
+        try {
+            scrubber.setMax(horizon);
+            if (!scrubber.isValueChanging()) {
+                scrubber.setValue(time);
+            }
+        } finally {
+            updatingScrubber = false;
         }
+        scrubberLabel.setText(String.valueOf(time));
     }
 
-    @Override
-    public void onSchedulingEvent(String message) {
-        eventLog.getItems().add(message);
-        eventLog.scrollTo(eventLog.getItems().size() - 1);
+    private void showCoreStatistics(CoreStatistics statistics) {
+        List<String> lines = new ArrayList<>(statistics.cores());
+        for (int core = 0; core < statistics.cores(); core++) {
+            lines.add(String.format("Ядро %d: %.1f%%", core, statistics.utilization(core) * 100));
+        }
+        coreStatsView.getItems().setAll(lines);
+        migrationsLabel.setText("Миграций: " + statistics.migrations());
     }
 
-    @Override
-    public void onReadyQueueUpdated(List<Process> ready) {
-        readyQueueView.getItems().setAll(ready.stream()
-                .map(p -> p.getId() + " (приоритет=" + p.getPriority() + ", осталось=" + p.getRemainingTime() + ")")
-                .toList());
+    private static String eventKindLabel(SchedulerEventKind kind) {
+        if (kind == null) {
+            return "Все события";
+        }
+        return switch (kind) {
+            case ARRIVED -> "Поступление";
+            case STARTED -> "Запуск";
+            case PREEMPTED -> "Вытеснение";
+            case AGED -> "Старение";
+            case FINISHED -> "Завершение";
+            case MIGRATED -> "Миграция";
+        };
+    }
+
+    /**
+     * Keeps finished runs in memory, and also on disk when {@value #RESULT_CACHE_DIRECTORY_PROPERTY} names a directory.
+     */
+    private static SimulationResultCache createResultCache() {
+        String directory = System.getProperty(RESULT_CACHE_DIRECTORY_PROPERTY);
+        return directory == null || directory.isBlank()
+                ? new SimulationResultCache(RESULT_CACHE_MEMORY_BUDGET)
+                : new SimulationResultCache(RESULT_CACHE_MEMORY_BUDGET, Path.of(directory), RESULT_CACHE_DISK_BUDGET);
+    }
+
+    /**
+     * Keeps the newest events in memory and moves older ones to a temporary file so the whole run stays searchable.
+     */
+    private static EventLogStore createEventLogStore() {
+        try {
+            return new EventLogStore(EVENT_LOG_MEMORY_LIMIT, Path.of(System.getProperty("java.io.tmpdir")));
+        } catch (IOException ex) {
+            return new EventLogStore(EVENT_LOG_MEMORY_LIMIT);
+        }
     }
 
     private Color colorForProcess(String id) {
@@ -0,0 +1,269 @@
+package com.bestchat.sjf.io;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary counterpart of {@link CsvIoService}. A file holds a header, a dictionary of distinct process ids
+ * and one fixed-width little-endian int column per attribute, so it is opened by memory-mapping it without parsing
+ * a single row:
+ * <pre>
+ * int magic "SJFB", int version, int flags, int rows, int dictionary entries, int dictionary bytes
+ * int[entries + 1] dictionary offsets, byte[] UTF-8 ids (padded to 4 bytes)
+ * int[rows] id index, arrival, burst, priority
+ * int[rows] start, finish, waiting       (only with results; a missing time is Integer.MIN_VALUE)
+ * </pre>
+ */
+public class BinaryIoService {
+    private static final int MAGIC = 'S' | 'J' << 8 | 'F' << 16 | 'B' << 24;
+    private static final int VERSION = 1;
+    private static final int FLAG_RESULTS = 1;
+    private static final int HEADER_INTS = 6;
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    /**
+     * Writes process definitions (id, arrival, burst and base priority).
+     */
+    public void saveWorkload(Path path, List<Process> processes) throws IOException {
+        write(path, processes, false);
+    }
+
+    /**
+     * Writes simulation results: the definition columns with the current priority plus start, finish and waiting time.
+     */
+    public void saveResults(Path path, List<Process> processes) throws IOException {
+        write(path, processes, true);
+    }
+
+    public BinaryWorkload open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Файл слишком велик для отображения в память: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.limit() < HEADER_INTS * Integer.BYTES || mapped.getInt(0) != MAGIC) {
+                throw new IOException("Файл не является бинарной рабочей нагрузкой: " + path);
+            }
+            if (mapped.getInt(4) != VERSION) {
+                throw new IOException("Неподдерживаемая версия формата: " + mapped.getInt(4));
+            }
+            boolean hasResults = (mapped.getInt(8) & FLAG_RESULTS) != 0;
+            int rows = mapped.getInt(12);
+            int entries = mapped.getInt(16);
+            int dictionaryBytes = mapped.getInt(20);
+
+            int position = HEADER_INTS * Integer.BYTES;
+            if (rows < 0 || entries < 0 || dictionaryBytes < 0 || (long) position
+                    + ((long) entries + 1) * Integer.BYTES + padded(dictionaryBytes) > mapped.limit()) {
+                throw new IOException("Файл бинарной рабочей нагрузки повреждён: " + path);
+            }
+            IntBuffer offsets = ints(mapped, position, entries + 1);
+            position += (entries + 1) * Integer.BYTES;
+            ByteBuffer dictionary = mapped.slice(position, dictionaryBytes);
+            position += padded(dictionaryBytes);
+            int columns = hasResults ? 7 : 4;
+            if ((long) position + (long) columns * rows * Integer.BYTES > mapped.limit()) {
+                throw new IOException("Файл бинарной рабочей нагрузки повреждён: " + path);
+            }
+            IntBuffer[] column = new IntBuffer[7];
+            for (int i = 0; i < columns; i++) {
+                column[i] = ints(mapped, position, rows);
+                position += rows * Integer.BYTES;
+            }
+            return new BinaryWorkload(rows, hasResults, offsets, dictionary, column[0],
+                    column[1], column[2], column[3], column[4], column[5], column[6]);
+        }
+    }
+
+    public List<Process> load(Path path) throws IOException {
+        return open(path).toProcesses();
+    }
+
+    public ProcessTable loadTable(Path path) throws IOException {
+        return open(path).toTable();
+    }
+
+    public void convertCsvToBinary(Path csv, Path binary) throws IOException {
+        saveWorkload(binary, new CsvIoService().load(csv));
+    }
+
+    /**
+     * Writes a binary file back as CSV: a results file in the {@link CsvIoService#saveResults} layout,
+     * a workload in the {@code id, arrivalTime, burstTime, priority} layout that {@link CsvIoService#load} reads.
+     */
+    public void convertBinaryToCsv(Path binary, Path csv) throws IOException {
+        BinaryWorkload workload = open(binary);
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader(workload.hasResults()
+                        ? CsvIoService.RESULT_HEADER
+                        : new String[]{"id", "arrivalTime", "burstTime", "priority"})
+                .build();
+        try (Writer writer = Files.newBufferedWriter(csv); CSVPrinter printer = new CSVPrinter(writer, format)) {
+            for (int row = 0; row < workload.size(); row++) {
+                if (!workload.hasResults()) {
+                    printer.printRecord(workload.id(row), workload.arrivalTime(row), workload.burstTime(row), workload.priority(row));
+                    continue;
+                }
+                Integer finish = workload.finishTime(row);
+                printer.printRecord(
+                        workload.id(row),
+                        workload.arrivalTime(row),
+                        workload.burstTime(row),
+                        workload.priority(row),
+                        valueOrEmpty(workload.startTime(row)),
+                        valueOrEmpty(finish),
+                        workload.waitingTime(row),
+                        finish == null ? 0 : finish - workload.arrivalTime(row)
+                );
+            }
+        }
+    }
+
+    static Integer decodeOptional(int value) {
+        return value == MISSING ? null : value;
+    }
+
+    private void write(Path path, List<Process> processes, boolean results) throws IOException {
+        int rows = processes.size();
+        Map<String, Integer> entryById = new HashMap<>();
+        int[] idIndexes = new int[rows];
+        byte[][] encoded = new byte[rows][];
+        int entries = 0;
+        long dictionaryBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            String id = processes.get(row).getId();
+            Integer entry = entryById.get(id);
+            if (entry == null) {
+                entry = entries++;
+                entryById.put(id, entry);
+                encoded[entry] = id.getBytes(StandardCharsets.UTF_8);
+                dictionaryBytes += encoded[entry].length;
+            }
+            idIndexes[row] = entry;
+        }
+        int columns = results ? 7 : 4;
+        long size = (HEADER_INTS + entries + 1L) * Integer.BYTES + padded(dictionaryBytes) + (long) columns * rows * Integer.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Рабочая нагрузка слишком велика для бинарного формата: " + rows + " процессов");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChannelOutput out = new ChannelOutput(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(results ? FLAG_RESULTS : 0);
+            out.putInt(rows);
+            out.putInt(entries);
+            out.putInt((int) dictionaryBytes);
+            int offset = 0;
+            for (int entry = 0; entry < entries; entry++) {
+                out.putInt(offset);
+                offset += encoded[entry].length;
+            }
+            out.putInt(offset);
+            for (int entry = 0; entry < entries; entry++) {
+                out.put(encoded[entry]);
+            }
+            out.put(new byte[(int) (padded(dictionaryBytes) - dictionaryBytes)]);
+
+            for (int idIndex : idIndexes) {
+                out.putInt(idIndex);
+            }
+            for (Process process : processes) {
+                out.putInt(process.getArrivalTime());
+            }
+            for (Process process : processes) {
+                out.putInt(process.getBurstTime());
+            }
+            for (Process process : processes) {
+                out.putInt(results ? process.getPriority() : process.getBasePriority());
+            }
+            if (results) {
+                for (Process process : processes) {
+                    out.putInt(process.getStartTime() == null ? MISSING : process.getStartTime());
+                }
+                for (Process process : processes) {
+                    out.putInt(process.getFinishTime() == null ? MISSING : process.getFinishTime());
+                }
+                for (Process process : processes) {
+                    out.putInt(process.getWaitingTime());
+                }
+            }
+            out.flush();
+            channel.force(false);
+        }
+    }
+
+    private static IntBuffer ints(ByteBuffer buffer, int position, int count) {
+        return buffer.slice(position, count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static long padded(long bytes) {
+        return (bytes + 3) & ~3L;
+    }
+
+    private Object valueOrEmpty(Integer value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Little-endian ints and raw bytes written to a channel through a fixed-size buffer. Writing through the channel
+     * rather than a mapping leaves no mapping of the file behind, so the same path can be saved again right away.
+     */
+    private static final class ChannelOutput {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int written = 0;
+            while (written < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int length = Math.min(buffer.remaining(), bytes.length - written);
+                buffer.put(bytes, written, length);
+                written += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
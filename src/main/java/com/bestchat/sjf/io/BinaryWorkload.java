@@ -0,0 +1,136 @@
+package com.bestchat.sjf.io;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of a file written by {@link BinaryIoService}. Columns are {@link IntBuffer} slices of the mapped
+ * file, so opening a workload costs no per-row work; ids are decoded from the dictionary only when asked for.
+ */
+public class BinaryWorkload {
+    private final int rows;
+    private final boolean hasResults;
+    private final IntBuffer dictionaryOffsets;
+    private final ByteBuffer dictionary;
+    private final IntBuffer idIndexes;
+    private final IntBuffer arrivalTimes;
+    private final IntBuffer burstTimes;
+    private final IntBuffer priorities;
+    private final IntBuffer startTimes;
+    private final IntBuffer finishTimes;
+    private final IntBuffer waitingTimes;
+
+    BinaryWorkload(int rows, boolean hasResults, IntBuffer dictionaryOffsets, ByteBuffer dictionary, IntBuffer idIndexes,
+                   IntBuffer arrivalTimes, IntBuffer burstTimes, IntBuffer priorities,
+                   IntBuffer startTimes, IntBuffer finishTimes, IntBuffer waitingTimes) {
+        this.rows = rows;
+        this.hasResults = hasResults;
+        this.dictionaryOffsets = dictionaryOffsets;
+        this.dictionary = dictionary;
+        this.idIndexes = idIndexes;
+        this.arrivalTimes = arrivalTimes;
+        this.burstTimes = burstTimes;
+        this.priorities = priorities;
+        this.startTimes = startTimes;
+        this.finishTimes = finishTimes;
+        this.waitingTimes = waitingTimes;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Tells whether the file carries simulation results (start, finish and waiting time) and not just definitions.
+     */
+    public boolean hasResults() {
+        return hasResults;
+    }
+
+    public String id(int row) {
+        return entry(idIndexes.get(row));
+    }
+
+    private String entry(int entry) {
+        int from = dictionaryOffsets.get(entry);
+        byte[] bytes = new byte[dictionaryOffsets.get(entry + 1) - from];
+        dictionary.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int arrivalTime(int row) {
+        return arrivalTimes.get(row);
+    }
+
+    public int burstTime(int row) {
+        return burstTimes.get(row);
+    }
+
+    public int priority(int row) {
+        return priorities.get(row);
+    }
+
+    /**
+     * Returns the start time, or {@code null} if the process never ran or the file holds no results.
+     */
+    public Integer startTime(int row) {
+        return hasResults ? BinaryIoService.decodeOptional(startTimes.get(row)) : null;
+    }
+
+    /**
+     * Returns the finish time, or {@code null} if the process did not finish or the file holds no results.
+     */
+    public Integer finishTime(int row) {
+        return hasResults ? BinaryIoService.decodeOptional(finishTimes.get(row)) : null;
+    }
+
+    public int waitingTime(int row) {
+        return hasResults ? waitingTimes.get(row) : 0;
+    }
+
+    public IntBuffer arrivalTimes() {
+        return arrivalTimes.duplicate();
+    }
+
+    public IntBuffer burstTimes() {
+        return burstTimes.duplicate();
+    }
+
+    public IntBuffer priorities() {
+        return priorities.duplicate();
+    }
+
+    /**
+     * Builds process definitions for the scheduler; the stored priority becomes the base priority.
+     */
+    public List<Process> toProcesses() {
+        List<Process> processes = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            processes.add(new Process(id(row), arrivalTimes.get(row), burstTimes.get(row), priorities.get(row)));
+        }
+        return processes;
+    }
+
+    /**
+     * Builds the columnar form of the definitions. Each dictionary entry is decoded once, so rows with the same id
+     * share one string.
+     */
+    public ProcessTable toTable() {
+        String[] decoded = new String[dictionaryOffsets.limit() - 1];
+        ProcessTable table = new ProcessTable(rows);
+        for (int row = 0; row < rows; row++) {
+            int entry = idIndexes.get(row);
+            if (decoded[entry] == null) {
+                decoded[entry] = entry(entry);
+            }
+            table.add(decoded[entry], arrivalTimes.get(row), burstTimes.get(row), priorities.get(row));
+        }
+        return table;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bestchat.sjf.io;
 
 import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
@@ -18,7 +19,29 @@ import java.util.List;
  * Utility for importing and exporting process definitions and results.
  */
 public class CsvIoService {
+    static final String[] RESULT_HEADER = {
+            "id", "arrivalTime", "burstTime", "priority", "startTime", "finishTime", "waitingTime", "turnaroundTime"
+    };
+
+    /**
+     * Loads process definitions, using the parallel memory-mapped reader unless the file relies on CSV quoting.
+     */
     public List<Process> load(Path path) throws IOException {
+        return loadTable(path).toProcesses();
+    }
+
+    /**
+     * Loads process definitions straight into columnar form, for workloads too large to keep one object per process.
+     */
+    public ProcessTable loadTable(Path path) throws IOException {
+        ProcessTable processes = MappedCsvReader.read(path);
+        return processes != null ? processes : ProcessTable.of(loadWithCsvParser(path));
+    }
+
+    /**
+     * Loads process definitions with commons-csv on the calling thread. Handles every CSV feature, including quoting.
+     */
+    public List<Process> loadWithCsvParser(Path path) throws IOException {
         try (Reader reader = Files.newBufferedReader(path); CSVParser parser = CSVFormat.DEFAULT
                 .withFirstRecordAsHeader()
                 .withIgnoreEmptyLines(true)
@@ -37,7 +60,7 @@ public class CsvIoService {
 
     public void saveResults(Path path, List<Process> processes) throws IOException {
         try (Writer writer = Files.newBufferedWriter(path); CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT
-                .withHeader("id", "arrivalTime", "burstTime", "priority", "startTime", "finishTime", "waitingTime", "turnaroundTime"))) {
+                .withHeader(RESULT_HEADER))) {
             for (Process process : processes) {
                 printer.printRecord(
                         process.getId(),
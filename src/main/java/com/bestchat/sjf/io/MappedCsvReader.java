@@ -0,0 +1,217 @@
+package com.bestchat.sjf.io;
+
+import com.bestchat.sjf.model.ProcessTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fast path for loading large workload files: the file is memory-mapped in newline-aligned chunks that are parsed
+ * in parallel on the common fork-join pool, reading integers straight from the mapped bytes into per-chunk
+ * {@link ProcessTable}s. Chunks are joined in file order, so the result holds the same rows the commons-csv based
+ * loader produces. Only the plain subset of CSV
+ * written by spreadsheet exports and by {@link CsvIoService#saveResults} is understood: as soon as a quote shows up,
+ * {@link #read} gives up and the caller falls back to a full CSV parser.
+ */
+final class MappedCsvReader {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 28;
+    private static final int BOUNDARY_SCAN = 4096;
+
+    private MappedCsvReader() {
+    }
+
+    /**
+     * Reads {@code id, arrivalTime, burstTime, priority[, ...]} rows after a header line.
+     *
+     * @return the processes in file order, or {@code null} if the file contains quoted fields
+     */
+    static ProcessTable read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long headerEnd = nextLineStart(channel, 0, size);
+            if (headerEnd >= size) {
+                return new ProcessTable();
+            }
+            List<long[]> chunks = split(channel, headerEnd, size);
+            List<Chunk> parsed = chunks.parallelStream()
+                    .map(bounds -> parse(channel, bounds[0], bounds[1]))
+                    .toList();
+            int total = 0;
+            for (Chunk chunk : parsed) {
+                if (chunk.quoted) {
+                    return null;
+                }
+                total += chunk.processes.size();
+            }
+            ProcessTable processes = new ProcessTable(total);
+            for (Chunk chunk : parsed) {
+                processes.addAll(chunk.processes);
+            }
+            return processes;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Cuts {@code [from, size)} into chunks of roughly equal size, each ending right after a line break.
+     */
+    private static List<long[]> split(FileChannel channel, long from, long size) throws IOException {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long target = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, (size - from) / (parallelism * 4L)));
+        List<long[]> chunks = new ArrayList<>();
+        long start = from;
+        while (start < size) {
+            long end = start + target >= size ? size : nextLineStart(channel, start + target, size);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static Chunk parse(FileChannel channel, long start, long end) {
+        MappedByteBuffer bytes;
+        try {
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        Chunk chunk = new Chunk();
+        int[] fieldStarts = new int[4];
+        int[] fieldEnds = new int[4];
+        int limit = bytes.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int fields = 0;
+            int fieldStart = lineStart;
+            int position = lineStart;
+            while (position < limit) {
+                byte b = bytes.get(position);
+                if (b == '"') {
+                    chunk.quoted = true;
+                    return chunk;
+                }
+                if (b == '\n') {
+                    break;
+                }
+                if (b == ',') {
+                    if (fields < 4) {
+                        fieldStarts[fields] = fieldStart;
+                        fieldEnds[fields] = position;
+                    }
+                    fields++;
+                    fieldStart = position + 1;
+                }
+                position++;
+            }
+            if (fields < 4) {
+                fieldStarts[fields] = fieldStart;
+                fieldEnds[fields] = position;
+            }
+            fields++;
+            // Only a truly empty line is skipped, as commons-csv does; one holding whitespace is a malformed record.
+            if (fields == 1 && isEmptyLine(bytes, lineStart, position)) {
+                lineStart = position + 1;
+                continue;
+            }
+            if (fields < 4) {
+                throw new IllegalArgumentException("Некорректная строка CSV: " + text(bytes, lineStart, position));
+            }
+            chunk.processes.add(
+                    text(bytes, fieldStarts[0], fieldEnds[0]),
+                    parseInt(bytes, fieldStarts[1], fieldEnds[1]),
+                    parseInt(bytes, fieldStarts[2], fieldEnds[2]),
+                    parseInt(bytes, fieldStarts[3], fieldEnds[3]));
+            lineStart = position + 1;
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns whether a line holds nothing but, in a file with CRLF line breaks, the carriage return.
+     */
+    private static boolean isEmptyLine(ByteBuffer bytes, int from, int to) {
+        return from == to || to - from == 1 && bytes.get(from) == '\r';
+    }
+
+    /**
+     * Decodes a field as UTF-8 with surrounding whitespace removed, like {@link String#trim()}.
+     */
+    private static String text(ByteBuffer bytes, int from, int to) {
+        while (from < to && (bytes.get(from) & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (bytes.get(to - 1) & 0xFF) <= ' ') {
+            to--;
+        }
+        byte[] raw = new byte[to - from];
+        bytes.get(from, raw);
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private static int parseInt(ByteBuffer bytes, int from, int to) {
+        while (from < to && (bytes.get(from) & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (bytes.get(to - 1) & 0xFF) <= ' ') {
+            to--;
+        }
+        boolean negative = false;
+        int position = from;
+        if (position < to && (bytes.get(position) == '-' || bytes.get(position) == '+')) {
+            negative = bytes.get(position) == '-';
+            position++;
+        }
+        if (position == to) {
+            throw new NumberFormatException("Ожидалось целое число: \"" + text(bytes, from, to) + "\"");
+        }
+        long value = 0;
+        for (; position < to; position++) {
+            int digit = bytes.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Ожидалось целое число: \"" + text(bytes, from, to) + "\"");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Число вне диапазона: \"" + text(bytes, from, to) + "\"");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Число вне диапазона: \"" + text(bytes, from, to) + "\"");
+        }
+        return (int) value;
+    }
+
+    private static final class Chunk {
+        private final ProcessTable processes = new ProcessTable();
+        private boolean quoted;
+    }
+}
@@ -0,0 +1,115 @@
+package com.bestchat.sjf.io;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessState;
+import com.bestchat.sjf.simulation.SimulationListener;
+import org.apache.commons.csv.CSVFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results sink that writes a CSV row for every process as soon as it finishes, in the same layout as
+ * {@link CsvIoService#saveResults}. Attach it to a {@link com.bestchat.sjf.simulation.SimulationEngine}; rows are
+ * buffered and written to the file channel when the buffer fills up or when a batch ends and the last write is older
+ * than the flush interval, so a run that is cut short still leaves every result written up to that point.
+ * Rows appear in completion order, and fields are quoted exactly as {@link CsvIoService#saveResults} quotes them.
+ * Each process is written once, when the run first gets past its completion: seeking back and running forward again
+ * adds no rows, and neither does an edit, so the file keeps the results as first computed. Use one writer per run and
+ * call {@link #close()} once the run is over.
+ */
+public class StreamingResultsWriter implements SimulationListener, AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long flushIntervalNanos;
+    private final StringBuilder pending = new StringBuilder(BUFFER_SIZE);
+    private long lastFlush = System.nanoTime();
+    private long rowsWritten;
+    private int writtenThrough;
+
+    public StreamingResultsWriter(Path path) throws IOException {
+        this(path, 1, TimeUnit.SECONDS);
+    }
+
+    public StreamingResultsWriter(Path path, long flushInterval, TimeUnit unit) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        CSVFormat.DEFAULT.printRecord(pending, (Object[]) CsvIoService.RESULT_HEADER);
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public void onProcessStateChanged(Process process) {
+        // Anything that finished by the time already passed was written then; it comes again in the full snapshots
+        // sent after a seek or an edit, and when a stretch of the run is simulated a second time.
+        if (process.getState() != ProcessState.FINISHED || process.getFinishTime() <= writtenThrough) {
+            return;
+        }
+        try {
+            CSVFormat.DEFAULT.printRecord(pending, process.getId(), process.getArrivalTime(), process.getBurstTime(),
+                    process.getPriority(), process.getStartTime(), process.getFinishTime(), process.getWaitingTime(),
+                    process.getTurnaroundTime());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        rowsWritten++;
+        if (pending.length() >= BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onTimeAdvanced(int time) {
+        writtenThrough = Math.max(writtenThrough, time);
+        if (pending.length() > 0 && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onSchedulingEvent(String message) {
+    }
+
+    @Override
+    public void onReadyQueueUpdated(List<Process> ready) {
+    }
+
+    /**
+     * Writes all buffered rows to the file.
+     */
+    public void flush() {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(pending));
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        pending.setLength(0);
+        lastFlush = System.nanoTime();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (UncheckedIOException ex) {
+            channel.close();
+            throw ex.getCause();
+        }
+        channel.close();
+    }
+}
@@ -0,0 +1,11 @@
+package com.bestchat.sjf.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bestchat.sjf.Aging")
+@Label("Aging Promotion")
+@Description("A waiting process was promoted one priority level; Priority is the new level")
+public final class AgingEvent extends SchedulingDecisionEvent {
+}
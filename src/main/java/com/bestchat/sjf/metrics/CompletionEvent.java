@@ -0,0 +1,13 @@
+package com.bestchat.sjf.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bestchat.sjf.Completion")
+@Label("Completion")
+@Description("A process ran to the end of its burst")
+public final class CompletionEvent extends SchedulingDecisionEvent {
+    @Label("Turnaround Time")
+    public int turnaroundTime;
+}
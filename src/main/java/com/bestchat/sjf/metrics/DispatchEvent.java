@@ -0,0 +1,11 @@
+package com.bestchat.sjf.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bestchat.sjf.Dispatch")
+@Label("Dispatch")
+@Description("A ready process was given a CPU core")
+public final class DispatchEvent extends SchedulingDecisionEvent {
+}
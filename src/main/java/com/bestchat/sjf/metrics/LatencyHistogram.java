@@ -0,0 +1,129 @@
+package com.bestchat.sjf.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Histogram of non-negative long values with fixed relative precision, in the style of HdrHistogram: values below
+ * 64 get a bucket each, and every power of two above that is split into 32 equal buckets, so any recorded value
+ * is reported within about 3% using under 2000 counters and no allocation per value.
+ * <p>
+ * One thread records; any thread may {@link #copy()} the histogram at the same time and read the copy. Counters
+ * are written with opaque access, which costs no more than a plain store, so the copy may be a few values behind
+ * but never sees a torn counter.
+ */
+public class LatencyHistogram {
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - (SUB_BUCKET_BITS + 1)) * SUB_BUCKETS;
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MAX = 2;
+
+    private final long[] counts;
+    private final long[] totals;
+
+    public LatencyHistogram() {
+        this(new long[BUCKETS], new long[3]);
+    }
+
+    private LatencyHistogram(long[] counts, long[] totals) {
+        this.counts = counts;
+        this.totals = totals;
+    }
+
+    /**
+     * Records a value; negative values count as zero. Only the recording thread may call it.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        int bucket = bucketOf(v);
+        CELLS.setOpaque(counts, bucket, (long) CELLS.getOpaque(counts, bucket) + 1);
+        CELLS.setOpaque(totals, COUNT, (long) CELLS.getOpaque(totals, COUNT) + 1);
+        CELLS.setOpaque(totals, SUM, (long) CELLS.getOpaque(totals, SUM) + v);
+        if (v > (long) CELLS.getOpaque(totals, MAX)) {
+            CELLS.setOpaque(totals, MAX, v);
+        }
+    }
+
+    /**
+     * Forgets every recorded value. Only the recording thread may call it.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            CELLS.setOpaque(counts, bucket, 0L);
+        }
+        for (int total = 0; total < totals.length; total++) {
+            CELLS.setOpaque(totals, total, 0L);
+        }
+    }
+
+    /**
+     * Returns a point-in-time copy that is safe to query while this histogram keeps recording.
+     */
+    public LatencyHistogram copy() {
+        long[] countsCopy = new long[counts.length];
+        long count = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            countsCopy[bucket] = (long) CELLS.getOpaque(counts, bucket);
+            count += countsCopy[bucket];
+        }
+        // The total count is derived from the buckets so that percentiles of the copy are self-consistent.
+        long[] totalsCopy = {count, (long) CELLS.getOpaque(totals, SUM), (long) CELLS.getOpaque(totals, MAX)};
+        return new LatencyHistogram(countsCopy, totalsCopy);
+    }
+
+    public long count() {
+        return (long) CELLS.getOpaque(totals, COUNT);
+    }
+
+    public long max() {
+        return (long) CELLS.getOpaque(totals, MAX);
+    }
+
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) (long) CELLS.getOpaque(totals, SUM) / count;
+    }
+
+    /**
+     * Returns the smallest bucket bound that at least {@code percentile} percent of the values do not exceed,
+     * or 0 for an empty histogram.
+     */
+    public long percentile(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += (long) CELLS.getOpaque(counts, bucket);
+            if (seen >= rank) {
+                return Math.min(highestValueIn(bucket), max());
+            }
+        }
+        return max();
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long lowest = (long) (SUB_BUCKETS + (bucket - LINEAR_LIMIT) % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bestchat.sjf.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.bestchat.sjf.Preemption")
+@Label("Preemption")
+@Description("A running process went back to the ready queue in favour of a better candidate; Process is the candidate")
+public final class PreemptionEvent extends SchedulingDecisionEvent {
+    @Label("Preempted Process")
+    public String preempted;
+}
@@ -0,0 +1,30 @@
+package com.bestchat.sjf.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Common fields of the JFR events a scheduler emits for its decisions. The events are off even in a running
+ * recording until it enables them by name ({@code com.bestchat.sjf.Dispatch} and so on), since a long simulation
+ * makes millions of decisions. The scheduler checks {@link #shouldCommit()} before filling in any field, so a run
+ * without them pays only for an allocation that escape analysis removes.
+ */
+@Category({"SJF Simulator", "Scheduler"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class SchedulingDecisionEvent extends Event {
+    @Label("Simulation Time")
+    public int simulationTime;
+
+    @Label("Process")
+    public String process;
+
+    @Label("Priority")
+    public int priority;
+
+    @Label("Core")
+    public int core;
+}
@@ -0,0 +1,130 @@
+package com.bestchat.sjf.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Live measurements of a simulation: wall time per scheduler step, time spent notifying listeners, ready-queue
+ * depth after each step, and how many bytes the thread driving the engine allocated. The engine records into it
+ * from whichever thread runs the simulation; {@link #snapshot()} may be called from any other thread at any time.
+ */
+public class SimulationMetrics {
+    private static final VarHandle LONG = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int STEPS = 0;
+    private static final int ALLOCATED = 1;
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
+    private final LatencyHistogram stepTime = new LatencyHistogram();
+    private final LatencyHistogram publishTime = new LatencyHistogram();
+    private final LatencyHistogram readyQueueDepth = new LatencyHistogram();
+    private final long[] counters = new long[2];
+    private long sampledThread = -1;
+    private long sampledBytes;
+
+    /**
+     * Records one scheduler step and the number of processes left waiting after it.
+     */
+    public void recordStep(long nanos, int readyProcesses) {
+        stepTime.record(nanos);
+        readyQueueDepth.record(readyProcesses);
+        LONG.setOpaque(counters, STEPS, (long) LONG.getOpaque(counters, STEPS) + 1);
+    }
+
+    /**
+     * Records how long one round of listener notifications took.
+     */
+    public void recordPublish(long nanos) {
+        publishTime.record(nanos);
+    }
+
+    /**
+     * Sets the calling thread's allocation baseline, so that whatever it allocated before, such as UI work between
+     * two steps, is not counted.
+     */
+    public void startAllocationSample() {
+        if (ALLOCATIONS != null) {
+            sampledThread = Thread.currentThread().getId();
+            sampledBytes = ALLOCATIONS.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Adds what the calling thread allocated since its baseline and moves the baseline to now. Does nothing but
+     * set the baseline when the previous sample was taken on another thread.
+     */
+    public void sampleAllocations() {
+        if (ALLOCATIONS == null) {
+            return;
+        }
+        long thread = Thread.currentThread().getId();
+        long bytes = ALLOCATIONS.getCurrentThreadAllocatedBytes();
+        if (thread == sampledThread && bytes >= sampledBytes) {
+            LONG.setOpaque(counters, ALLOCATED, (long) LONG.getOpaque(counters, ALLOCATED) + bytes - sampledBytes);
+        }
+        sampledThread = thread;
+        sampledBytes = bytes;
+    }
+
+    /**
+     * Starts over from empty histograms and zero counters; called by the engine when a workload is (re)loaded.
+     */
+    public void reset() {
+        stepTime.reset();
+        publishTime.reset();
+        readyQueueDepth.reset();
+        LONG.setOpaque(counters, STEPS, 0L);
+        LONG.setOpaque(counters, ALLOCATED, 0L);
+        sampledThread = -1;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(System.nanoTime(), (long) LONG.getOpaque(counters, STEPS),
+                (long) LONG.getOpaque(counters, ALLOCATED), stepTime.copy(), publishTime.copy(), readyQueueDepth.copy());
+    }
+
+    /**
+     * Whether allocation sampling is supported by this JVM.
+     */
+    public static boolean allocationsMeasured() {
+        return ALLOCATIONS != null;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean counter && counter.isThreadAllocatedMemorySupported()) {
+            counter.setThreadAllocatedMemoryEnabled(true);
+            return counter;
+        }
+        return null;
+    }
+
+    /**
+     * Metrics at one moment. Rates come from the difference between two snapshots.
+     *
+     * @param nanoTime        {@link System#nanoTime()} when the snapshot was taken
+     * @param steps           scheduler steps since the last reset
+     * @param allocatedBytes  bytes allocated by the driving thread since the last reset
+     * @param stepTime        wall time per step, in nanoseconds
+     * @param publishTime     wall time per round of listener notifications, in nanoseconds
+     * @param readyQueueDepth processes waiting in ready queues after each step
+     */
+    public record Snapshot(long nanoTime, long steps, long allocatedBytes, LatencyHistogram stepTime,
+                           LatencyHistogram publishTime, LatencyHistogram readyQueueDepth) {
+
+        public double stepsPerSecond(Snapshot earlier) {
+            return perSecond(steps - earlier.steps, earlier);
+        }
+
+        public double allocatedBytesPerSecond(Snapshot earlier) {
+            return perSecond(allocatedBytes - earlier.allocatedBytes, earlier);
+        }
+
+        private double perSecond(long delta, Snapshot earlier) {
+            long elapsed = nanoTime - earlier.nanoTime;
+            // A reset between the two snapshots makes the delta negative; report nothing rather than a bogus rate.
+            return elapsed <= 0 || delta < 0 ? 0 : delta * 1e9 / elapsed;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.bestchat.sjf.metrics;
+
+/**
+ * Single-pass summary of a stream of values: count, mean and variance by Welford's update, exact extremes, and a
+ * {@link TDigest} for quantiles. Memory does not grow with the number of values, and two distributions built on
+ * different threads combine with {@link #merge} into what one distribution fed with both streams would report.
+ * Not thread-safe.
+ */
+public class StreamingDistribution {
+    private final TDigest digest;
+    private long count;
+    private double mean;
+    private double squaredDeviations;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public StreamingDistribution() {
+        this(TDigest.DEFAULT_COMPRESSION);
+    }
+
+    public StreamingDistribution(double compression) {
+        this.digest = new TDigest(compression);
+    }
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        digest.add(value);
+    }
+
+    /**
+     * Folds the other distribution into this one, combining the moments with Chan's pairwise formula.
+     */
+    public void merge(StreamingDistribution other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        squaredDeviations += other.squaredDeviations + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        digest.merge(other.digest);
+    }
+
+    public void reset() {
+        count = 0;
+        mean = 0;
+        squaredDeviations = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+        digest.reset();
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Sample variance, or 0 with fewer than two values.
+     */
+    public double variance() {
+        return count < 2 ? 0 : squaredDeviations / (count - 1);
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    public double quantile(double q) {
+        return count == 0 ? 0 : digest.quantile(q);
+    }
+
+    public Summary summary() {
+        if (count == 0) {
+            return new Summary(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        return new Summary(count, mean, standardDeviation(), min, max,
+                quantile(0.50), quantile(0.95), quantile(0.99), quantile(0.999));
+    }
+
+    /**
+     * Immutable view of a distribution; quantiles are t-digest estimates, everything else is exact.
+     */
+    public record Summary(long count, double mean, double standardDeviation, double min, double max,
+                          double p50, double p95, double p99, double p999) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.bestchat.sjf.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch after Dunning's merging t-digest. Values are buffered and periodically merged into a
+ * sorted list of centroids whose size is bounded by the compression, independent of how many values were added.
+ * Centroids near the extremes are kept small (the arcsine scale function), so tail quantiles such as p99.9 stay
+ * accurate while the middle of the distribution is summarised coarsely.
+ * <p>
+ * The sketch is deterministic: the same values added and merged in the same order give the same answers.
+ * It is not thread-safe; give each thread its own digest and {@link #merge} them afterwards.
+ */
+public class TDigest {
+    public static final double DEFAULT_COMPRESSION = 200;
+
+    private final double compression;
+    private final double[] buffer;
+    private int buffered;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private double mergedWeight;
+    private double[] workMeans;
+    private double[] workWeights;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException("Степень сжатия должна быть не меньше 10");
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) + 1;
+        this.buffer = new double[5 * capacity];
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.workMeans = new double[capacity + buffer.length];
+        this.workWeights = new double[capacity + buffer.length];
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Значение не может быть NaN");
+        }
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        buffer[buffered++] = value;
+        if (buffered == buffer.length) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds everything the other digest has seen; the other digest is left unchanged apart from being flushed.
+     */
+    public void merge(TDigest other) {
+        other.flush();
+        if (other.centroids == 0) {
+            return;
+        }
+        flush();
+        ensureWorkCapacity(centroids + other.centroids);
+        int n = mergeSorted(means, weights, centroids, other.means, other.weights, other.centroids);
+        compress(n, mergedWeight + other.mergedWeight);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        buffered = 0;
+        centroids = 0;
+        mergedWeight = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    public long count() {
+        return (long) mergedWeight + buffered;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Returns an estimate of the value below which the fraction {@code q} of the values lie, or NaN when empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Квантиль должен быть от 0 до 1");
+        }
+        flush();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double index = q * mergedWeight;
+        if (index < 1) {
+            return min;
+        }
+        if (index > mergedWeight - 1) {
+            return max;
+        }
+        // Each centroid stands for its weight spread evenly around its mean; interpolate between neighbouring centres.
+        double firstCentre = weights[0] / 2;
+        if (index < firstCentre) {
+            return min + (means[0] - min) * (index - 1) / Math.max(firstCentre - 1, 1e-9);
+        }
+        double cumulative = 0;
+        for (int i = 0; i < centroids - 1; i++) {
+            double left = cumulative + weights[i] / 2;
+            double right = cumulative + weights[i] + weights[i + 1] / 2;
+            if (index <= right) {
+                return means[i] + (means[i + 1] - means[i]) * (index - left) / (right - left);
+            }
+            cumulative += weights[i];
+        }
+        int last = centroids - 1;
+        double lastCentre = mergedWeight - weights[last] / 2;
+        return means[last] + (max - means[last]) * (index - lastCentre) / Math.max(mergedWeight - 1 - lastCentre, 1e-9);
+    }
+
+    private void flush() {
+        if (buffered == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        ensureWorkCapacity(centroids + buffered);
+        // Buffered values all weigh 1, so they merge with the centroids without a weights array of their own.
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < centroids || j < buffered) {
+            if (j == buffered || (i < centroids && means[i] <= buffer[j])) {
+                workMeans[n] = means[i];
+                workWeights[n++] = weights[i++];
+            } else {
+                workMeans[n] = buffer[j++];
+                workWeights[n++] = 1;
+            }
+        }
+        double total = mergedWeight + buffered;
+        buffered = 0;
+        compress(n, total);
+    }
+
+    private int mergeSorted(double[] leftMeans, double[] leftWeights, int leftSize,
+                            double[] rightMeans, double[] rightWeights, int rightSize) {
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < leftSize || j < rightSize) {
+            if (j == rightSize || (i < leftSize && leftMeans[i] <= rightMeans[j])) {
+                workMeans[n] = leftMeans[i];
+                workWeights[n++] = leftWeights[i++];
+            } else {
+                workMeans[n] = rightMeans[j];
+                workWeights[n++] = rightWeights[j++];
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Greedily merges the first {@code n} sorted work entries into centroids, growing each centroid while it stays
+     * within one unit of the scale function.
+     */
+    private void compress(int n, double total) {
+        int count = 0;
+        double soFar = 0;
+        double limit = total * quantileOf(scale(0) + 1);
+        double mean = workMeans[0];
+        double weight = workWeights[0];
+        for (int i = 1; i < n; i++) {
+            double next = workWeights[i];
+            if (soFar + weight + next <= limit) {
+                weight += next;
+                mean += (workMeans[i] - mean) * next / weight;
+            } else {
+                count = emit(count, mean, weight);
+                soFar += weight;
+                limit = total * quantileOf(scale(soFar / total) + 1);
+                mean = workMeans[i];
+                weight = next;
+            }
+        }
+        centroids = emit(count, mean, weight);
+        mergedWeight = total;
+    }
+
+    private int emit(int count, double mean, double weight) {
+        if (count == means.length) {
+            means = Arrays.copyOf(means, count * 2);
+            weights = Arrays.copyOf(weights, count * 2);
+        }
+        means[count] = mean;
+        weights[count] = weight;
+        return count + 1;
+    }
+
+    private void ensureWorkCapacity(int n) {
+        if (n > workMeans.length) {
+            workMeans = new double[n];
+            workWeights = new double[n];
+        }
+    }
+
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+    }
+
+    private double quantileOf(double k) {
+        if (k >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Objects;
 /**
  * Represents a process definition and its runtime attributes during scheduling simulation.
  * Immutable identity fields capture the original problem, while mutable fields reflect runtime state.
+ * Processes held by a scheduler are views over a row of its {@link ProcessTable}.
  */
 public class Process {
     private final String id;
@@ -17,6 +18,7 @@ public class Process {
     private Integer startTime;
     private Integer finishTime;
     private int waitingTime;
+    private int readySince = -1;
     private ProcessState state;
 
     public Process(String id, int arrivalTime, int burstTime, int priority) {
@@ -39,10 +41,25 @@ public class Process {
         copy.startTime = null;
         copy.finishTime = null;
         copy.waitingTime = 0;
+        copy.readySince = -1;
         copy.state = ProcessState.NEW;
         return copy;
     }
 
+    /**
+     * Returns the dense index of this process within the scheduler's workload, or -1 for a standalone process.
+     */
+    public int getHandle() {
+        return -1;
+    }
+
+    /**
+     * Returns the CPU core the process is queued on or last ran on, or -1 if no scheduler assigned it one.
+     */
+    public int getCore() {
+        return -1;
+    }
+
     public String getId() {
         return id;
     }
@@ -91,16 +108,59 @@ public class Process {
         this.finishTime = finishTime;
     }
 
+    /**
+     * Returns the waiting time settled so far. While the process sits in the ready queue the
+     * scheduler settles it lazily; use {@link #getWaitingTime(int)} for the live value.
+     */
     public int getWaitingTime() {
         return waitingTime;
     }
 
-    public void incrementWaitingTime() {
-        this.waitingTime++;
+    /**
+     * Returns the waiting time as of the given virtual time, including the current stay in READY.
+     */
+    public int getWaitingTime(int time) {
+        return readySince < 0 ? waitingTime : waitingTime + time - readySince;
+    }
+
+    /**
+     * Moves the process into READY and starts accumulating waiting time from the given moment.
+     */
+    public void markReady(int time) {
+        this.state = ProcessState.READY;
+        this.readySince = time;
+    }
+
+    /**
+     * Stops accumulating waiting time when the process leaves the ready queue.
+     */
+    public void markDispatched(int time) {
+        settleWaitingTime(time);
+        this.readySince = -1;
+    }
+
+    /**
+     * Folds the waiting time accumulated up to the given moment into {@link #getWaitingTime()}.
+     */
+    public void settleWaitingTime(int time) {
+        if (readySince >= 0) {
+            waitingTime += time - readySince;
+            readySince = time;
+        }
+    }
+
+    /**
+     * Returns the moment from which the live waiting time would have accumulated without interruption,
+     * i.e. the time at which {@link #getWaitingTime(int)} was zero. Only meaningful while READY; it does not
+     * change while the process stays queued, which makes it a stable key for aging deadlines.
+     */
+    public int getWaitingEpoch() {
+        return readySince - waitingTime;
     }
 
     public void resetWaitingTime() {
         this.waitingTime = 0;
+        this.readySince = -1;
     }
 
     public ProcessState getState() {
@@ -112,9 +172,10 @@ public class Process {
     }
 
     public int getTurnaroundTime() {
-        if (finishTime == null) {
+        Integer finish = getFinishTime();
+        if (finish == null) {
             return 0;
         }
-        return finishTime - arrivalTime;
+        return finish - arrivalTime;
     }
 }
@@ -0,0 +1,43 @@
+package com.bestchat.sjf.model;
+
+/**
+ * Immutable copy of a process's observable state, safe to hand from the simulation thread to the UI.
+ * A queued process is only reported again when its state changes, so its waiting time is also kept as the moment it
+ * started counting from ({@code waitingEpoch}, {@code -1} unless READY); see {@link #waitingTime(int)}.
+ */
+public record ProcessSnapshot(
+        String id,
+        int arrivalTime,
+        int burstTime,
+        int priority,
+        int remainingTime,
+        Integer startTime,
+        Integer finishTime,
+        int waitingTime,
+        int waitingEpoch,
+        int turnaroundTime,
+        ProcessState state
+) {
+    public static ProcessSnapshot of(Process process) {
+        return new ProcessSnapshot(
+                process.getId(),
+                process.getArrivalTime(),
+                process.getBurstTime(),
+                process.getPriority(),
+                process.getRemainingTime(),
+                process.getStartTime(),
+                process.getFinishTime(),
+                process.getWaitingTime(),
+                process.getState() == ProcessState.READY ? process.getWaitingEpoch() : -1,
+                process.getTurnaroundTime(),
+                process.getState()
+        );
+    }
+
+    /**
+     * Returns the waiting time as of the given virtual time, which keeps growing while the process stays queued.
+     */
+    public int waitingTime(int time) {
+        return waitingEpoch < 0 ? waitingTime : time - waitingEpoch;
+    }
+}
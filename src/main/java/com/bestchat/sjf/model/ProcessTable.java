@@ -0,0 +1,446 @@
+package com.bestchat.sjf.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays storage for a whole workload: one primitive column per attribute, rows addressed by a dense
+ * int handle. Unlike a list of {@link Process} objects it needs no object header, boxed time or pointer per process,
+ * and ids are shared with the definitions they were copied from rather than duplicated. Unset start and finish
+ * times are stored as {@link #UNSET}. {@link #view(int)} exposes a row as a {@link Process} for code that works
+ * with process objects, such as the UI and CSV export.
+ */
+public class ProcessTable {
+    /**
+     * Marker for a start or finish time that has not happened yet.
+     */
+    public static final int UNSET = Integer.MIN_VALUE;
+    private static final ProcessState[] STATES = ProcessState.values();
+
+    private String[] ids;
+    private int[] arrivalTimes;
+    private int[] burstTimes;
+    private int[] basePriorities;
+    private int[] priorities;
+    private int[] remainingTimes;
+    private int[] startTimes;
+    private int[] finishTimes;
+    private int[] waitingTimes;
+    private int[] readySince;
+    private int[] cores;
+    private byte[] states;
+    private int size;
+    private int[] released = new int[0];
+    private int releasedCount;
+    private boolean sharedDefinitions;
+
+    public ProcessTable() {
+        this(16);
+    }
+
+    public ProcessTable(int capacity) {
+        int rows = Math.max(1, capacity);
+        ids = new String[rows];
+        arrivalTimes = new int[rows];
+        burstTimes = new int[rows];
+        basePriorities = new int[rows];
+        allocateRuntime(rows);
+    }
+
+    private ProcessTable(int size, String[] ids, int[] arrivalTimes, int[] burstTimes, int[] basePriorities) {
+        allocateRuntime(Math.max(1, size));
+        this.ids = ids;
+        this.arrivalTimes = arrivalTimes;
+        this.burstTimes = burstTimes;
+        this.basePriorities = basePriorities;
+        this.size = size;
+        this.sharedDefinitions = true;
+        resetAll();
+    }
+
+    /**
+     * Copies process definitions into a new table; runtime attributes start from their initial values.
+     */
+    public static ProcessTable of(List<Process> definitions) {
+        ProcessTable table = new ProcessTable(definitions.size());
+        for (Process process : definitions) {
+            table.add(process.getId(), process.getArrivalTime(), process.getBurstTime(), process.getBasePriority());
+        }
+        return table;
+    }
+
+    /**
+     * Appends a process definition and returns its handle. A row freed by {@link #release(int)} is filled
+     * before the table grows.
+     */
+    public int add(String id, int arrivalTime, int burstTime, int priority) {
+        requireOwnDefinitions();
+        int handle;
+        if (releasedCount > 0) {
+            handle = released[--releasedCount];
+        } else {
+            if (size == ids.length) {
+                grow(size << 1);
+            }
+            handle = size++;
+        }
+        ids[handle] = id;
+        arrivalTimes[handle] = arrivalTime;
+        burstTimes[handle] = burstTime;
+        basePriorities[handle] = priority;
+        resetRuntime(handle);
+        return handle;
+    }
+
+    /**
+     * Appends every row of another table, keeping their order.
+     */
+    public void addAll(ProcessTable other) {
+        requireOwnDefinitions();
+        if (size + other.size > ids.length) {
+            grow(Math.max(size + other.size, size << 1));
+        }
+        System.arraycopy(other.ids, 0, ids, size, other.size);
+        System.arraycopy(other.arrivalTimes, 0, arrivalTimes, size, other.size);
+        System.arraycopy(other.burstTimes, 0, burstTimes, size, other.size);
+        System.arraycopy(other.basePriorities, 0, basePriorities, size, other.size);
+        System.arraycopy(other.priorities, 0, priorities, size, other.size);
+        System.arraycopy(other.remainingTimes, 0, remainingTimes, size, other.size);
+        System.arraycopy(other.startTimes, 0, startTimes, size, other.size);
+        System.arraycopy(other.finishTimes, 0, finishTimes, size, other.size);
+        System.arraycopy(other.waitingTimes, 0, waitingTimes, size, other.size);
+        System.arraycopy(other.readySince, 0, readySince, size, other.size);
+        System.arraycopy(other.cores, 0, cores, size, other.size);
+        System.arraycopy(other.states, 0, states, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Returns a table with the same definitions ordered by arrival time (stable for equal arrivals) and runtime
+     * attributes at their initial values; returns this table itself, untouched, when it is already in order.
+     * Callers that are about to run the result reset it themselves.
+     */
+    public ProcessTable sortedByArrival() {
+        if (isSortedByArrival()) {
+            return this;
+        }
+        Integer[] order = new Integer[size];
+        for (int handle = 0; handle < size; handle++) {
+            order[handle] = handle;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(arrivalTimes[a], arrivalTimes[b]));
+        ProcessTable copy = new ProcessTable(size);
+        for (int handle : order) {
+            copy.add(ids[handle], arrivalTimes[handle], burstTimes[handle], basePriorities[handle]);
+        }
+        return copy;
+    }
+
+    public boolean isSortedByArrival() {
+        for (int handle = 1; handle < size; handle++) {
+            if (arrivalTimes[handle - 1] > arrivalTimes[handle]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a table over the same definition columns with its own runtime columns, all at their initial values.
+     * Definitions are not copied, so any number of simulations can run over one workload side by side; in exchange
+     * neither table accepts new rows afterwards.
+     */
+    public ProcessTable runtimeCopy() {
+        ProcessTable copy = new ProcessTable(size, ids, arrivalTimes, burstTimes, basePriorities);
+        sharedDefinitions = true;
+        return copy;
+    }
+
+    /**
+     * Removes every row but keeps the allocated columns, so the table can be refilled without new allocations.
+     */
+    public void clear() {
+        requireOwnDefinitions();
+        Arrays.fill(ids, 0, size, null);
+        size = 0;
+        releasedCount = 0;
+    }
+
+    /**
+     * Drops every row from {@code size} on, keeping the allocated columns.
+     */
+    public void truncate(int size) {
+        requireOwnDefinitions();
+        Arrays.fill(ids, size, this.size, null);
+        this.size = Math.min(this.size, size);
+        // Freed rows past the new end are gone with it, and must not be handed out by add.
+        int kept = 0;
+        for (int i = 0; i < releasedCount; i++) {
+            if (released[i] < this.size) {
+                released[kept++] = released[i];
+            }
+        }
+        releasedCount = kept;
+    }
+
+    /**
+     * Frees a row for reuse by the next {@link #add}, so a table fed by an unbounded stream only grows to the number
+     * of processes alive at once. The handle keeps counting towards {@link #size()}, and views of the row must not
+     * be used afterwards.
+     */
+    public void release(int handle) {
+        requireOwnDefinitions();
+        ids[handle] = null;
+        if (releasedCount == released.length) {
+            released = Arrays.copyOf(released, Math.max(16, releasedCount * 2));
+        }
+        released[releasedCount++] = handle;
+    }
+
+    public boolean isReleased(int handle) {
+        return ids[handle] == null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Restores the runtime attributes of every row to their initial values.
+     */
+    public void resetAll() {
+        for (int handle = 0; handle < size; handle++) {
+            resetRuntime(handle);
+        }
+    }
+
+    public void resetRuntime(int handle) {
+        priorities[handle] = basePriorities[handle];
+        remainingTimes[handle] = burstTimes[handle];
+        startTimes[handle] = UNSET;
+        finishTimes[handle] = UNSET;
+        waitingTimes[handle] = 0;
+        readySince[handle] = -1;
+        cores[handle] = -1;
+        states[handle] = (byte) ProcessState.NEW.ordinal();
+    }
+
+    /**
+     * Copies the runtime columns of rows {@code [from, to)}, for example to checkpoint a running simulation.
+     */
+    public RuntimeColumns copyRuntime(int from, int to) {
+        return new RuntimeColumns(
+                Arrays.copyOfRange(priorities, from, to),
+                Arrays.copyOfRange(remainingTimes, from, to),
+                Arrays.copyOfRange(startTimes, from, to),
+                Arrays.copyOfRange(finishTimes, from, to),
+                Arrays.copyOfRange(waitingTimes, from, to),
+                Arrays.copyOfRange(readySince, from, to),
+                Arrays.copyOfRange(cores, from, to),
+                Arrays.copyOfRange(states, from, to));
+    }
+
+    /**
+     * Writes runtime columns taken by {@link #copyRuntime} back, starting at row {@code from}.
+     */
+    public void restoreRuntime(RuntimeColumns columns, int from) {
+        int rows = columns.rows();
+        System.arraycopy(columns.priorities(), 0, priorities, from, rows);
+        System.arraycopy(columns.remainingTimes(), 0, remainingTimes, from, rows);
+        System.arraycopy(columns.startTimes(), 0, startTimes, from, rows);
+        System.arraycopy(columns.finishTimes(), 0, finishTimes, from, rows);
+        System.arraycopy(columns.waitingTimes(), 0, waitingTimes, from, rows);
+        System.arraycopy(columns.readySince(), 0, readySince, from, rows);
+        System.arraycopy(columns.cores(), 0, cores, from, rows);
+        System.arraycopy(columns.states(), 0, states, from, rows);
+    }
+
+    public String getId(int handle) {
+        return ids[handle];
+    }
+
+    public int getArrivalTime(int handle) {
+        return arrivalTimes[handle];
+    }
+
+    public int getBurstTime(int handle) {
+        return burstTimes[handle];
+    }
+
+    public int getBasePriority(int handle) {
+        return basePriorities[handle];
+    }
+
+    public int getPriority(int handle) {
+        return priorities[handle];
+    }
+
+    public void setPriority(int handle, int priority) {
+        priorities[handle] = priority;
+    }
+
+    public int getRemainingTime(int handle) {
+        return remainingTimes[handle];
+    }
+
+    public void setRemainingTime(int handle, int remainingTime) {
+        remainingTimes[handle] = remainingTime;
+    }
+
+    /**
+     * Returns the start time, or {@link #UNSET}.
+     */
+    public int getStartTime(int handle) {
+        return startTimes[handle];
+    }
+
+    public void setStartTime(int handle, int startTime) {
+        startTimes[handle] = startTime;
+    }
+
+    /**
+     * Returns the finish time, or {@link #UNSET}.
+     */
+    public int getFinishTime(int handle) {
+        return finishTimes[handle];
+    }
+
+    public void setFinishTime(int handle, int finishTime) {
+        finishTimes[handle] = finishTime;
+    }
+
+    /**
+     * Returns the settled waiting time; see {@link Process#getWaitingTime()}.
+     */
+    public int getWaitingTime(int handle) {
+        return waitingTimes[handle];
+    }
+
+    /**
+     * Returns the waiting time as of the given virtual time; see {@link Process#getWaitingTime(int)}.
+     */
+    public int getWaitingTime(int handle, int time) {
+        return readySince[handle] < 0 ? waitingTimes[handle] : waitingTimes[handle] + time - readySince[handle];
+    }
+
+    public void markReady(int handle, int time) {
+        states[handle] = (byte) ProcessState.READY.ordinal();
+        readySince[handle] = time;
+    }
+
+    public void markDispatched(int handle, int time) {
+        settleWaitingTime(handle, time);
+        readySince[handle] = -1;
+    }
+
+    public void settleWaitingTime(int handle, int time) {
+        if (readySince[handle] >= 0) {
+            waitingTimes[handle] += time - readySince[handle];
+            readySince[handle] = time;
+        }
+    }
+
+    /**
+     * Returns the moment the live waiting time would have been zero; see {@link Process#getWaitingEpoch()}.
+     */
+    public int getWaitingEpoch(int handle) {
+        return readySince[handle] - waitingTimes[handle];
+    }
+
+    public void resetWaitingTime(int handle) {
+        waitingTimes[handle] = 0;
+        readySince[handle] = -1;
+    }
+
+    /**
+     * Returns the core the process is queued on or last ran on, or -1 before a multi-core scheduler assigned one.
+     */
+    public int getCore(int handle) {
+        return cores[handle];
+    }
+
+    public void setCore(int handle, int core) {
+        cores[handle] = core;
+    }
+
+    public ProcessState getState(int handle) {
+        return STATES[states[handle]];
+    }
+
+    public void setState(int handle, ProcessState state) {
+        states[handle] = (byte) state.ordinal();
+    }
+
+    /**
+     * Returns a {@link Process} backed by the given row. Views are created on demand; two views of the same row
+     * are equal and see each other's changes.
+     */
+    public Process view(int handle) {
+        if (handle < 0 || handle >= size) {
+            throw new IndexOutOfBoundsException("Процесс с дескриптором " + handle + " отсутствует в таблице");
+        }
+        return new ProcessTableRow(this, handle);
+    }
+
+    /**
+     * Returns standalone copies of the definitions, for code that needs independent {@link Process} objects.
+     */
+    public List<Process> toProcesses() {
+        List<Process> processes = new ArrayList<>(size);
+        for (int handle = 0; handle < size; handle++) {
+            processes.add(new Process(ids[handle], arrivalTimes[handle], burstTimes[handle], basePriorities[handle]));
+        }
+        return processes;
+    }
+
+    /**
+     * Runtime columns of a range of rows, detached from the table.
+     */
+    public record RuntimeColumns(int[] priorities, int[] remainingTimes, int[] startTimes, int[] finishTimes,
+                                 int[] waitingTimes, int[] readySince, int[] cores, byte[] states) {
+        public int rows() {
+            return states.length;
+        }
+
+        public long sizeInBytes() {
+            return rows() * (7L * Integer.BYTES + 1);
+        }
+    }
+
+    private void requireOwnDefinitions() {
+        if (sharedDefinitions) {
+            throw new IllegalStateException("Таблица разделяет определения процессов с другой таблицей");
+        }
+    }
+
+    private void allocateRuntime(int capacity) {
+        priorities = new int[capacity];
+        remainingTimes = new int[capacity];
+        startTimes = new int[capacity];
+        finishTimes = new int[capacity];
+        waitingTimes = new int[capacity];
+        readySince = new int[capacity];
+        cores = new int[capacity];
+        states = new byte[capacity];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+        burstTimes = Arrays.copyOf(burstTimes, capacity);
+        basePriorities = Arrays.copyOf(basePriorities, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        remainingTimes = Arrays.copyOf(remainingTimes, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        finishTimes = Arrays.copyOf(finishTimes, capacity);
+        waitingTimes = Arrays.copyOf(waitingTimes, capacity);
+        readySince = Arrays.copyOf(readySince, capacity);
+        cores = Arrays.copyOf(cores, capacity);
+        states = Arrays.copyOf(states, capacity);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bestchat.sjf.model;
+
+/**
+ * {@link Process} whose runtime attributes live in a row of a {@link ProcessTable}. The definition fields are
+ * copied on creation since they never change; everything else reads and writes the table.
+ */
+final class ProcessTableRow extends Process {
+    private final ProcessTable table;
+    private final int handle;
+
+    ProcessTableRow(ProcessTable table, int handle) {
+        super(table.getId(handle), table.getArrivalTime(handle), table.getBurstTime(handle), table.getBasePriority(handle));
+        this.table = table;
+        this.handle = handle;
+    }
+
+    @Override
+    public int getHandle() {
+        return handle;
+    }
+
+    @Override
+    public int getCore() {
+        return table.getCore(handle);
+    }
+
+    @Override
+    public int getPriority() {
+        return table.getPriority(handle);
+    }
+
+    @Override
+    public void setPriority(int priority) {
+        table.setPriority(handle, priority);
+    }
+
+    @Override
+    public int getRemainingTime() {
+        return table.getRemainingTime(handle);
+    }
+
+    @Override
+    public void setRemainingTime(int remainingTime) {
+        table.setRemainingTime(handle, remainingTime);
+    }
+
+    @Override
+    public Integer getStartTime() {
+        int start = table.getStartTime(handle);
+        return start == ProcessTable.UNSET ? null : start;
+    }
+
+    @Override
+    public void setStartTime(Integer startTime) {
+        table.setStartTime(handle, startTime == null ? ProcessTable.UNSET : startTime);
+    }
+
+    @Override
+    public Integer getFinishTime() {
+        int finish = table.getFinishTime(handle);
+        return finish == ProcessTable.UNSET ? null : finish;
+    }
+
+    @Override
+    public void setFinishTime(Integer finishTime) {
+        table.setFinishTime(handle, finishTime == null ? ProcessTable.UNSET : finishTime);
+    }
+
+    @Override
+    public int getWaitingTime() {
+        return table.getWaitingTime(handle);
+    }
+
+    @Override
+    public int getWaitingTime(int time) {
+        return table.getWaitingTime(handle, time);
+    }
+
+    @Override
+    public void markReady(int time) {
+        table.markReady(handle, time);
+    }
+
+    @Override
+    public void markDispatched(int time) {
+        table.markDispatched(handle, time);
+    }
+
+    @Override
+    public void settleWaitingTime(int time) {
+        table.settleWaitingTime(handle, time);
+    }
+
+    @Override
+    public int getWaitingEpoch() {
+        return table.getWaitingEpoch(handle);
+    }
+
+    @Override
+    public void resetWaitingTime() {
+        table.resetWaitingTime(handle);
+    }
+
+    @Override
+    public ProcessState getState() {
+        return table.getState(handle);
+    }
+
+    @Override
+    public void setState(ProcessState state) {
+        table.setState(handle, state);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ProcessTableRow row && row.table == table && row.handle == handle;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(table) * 31 + handle;
+    }
+}
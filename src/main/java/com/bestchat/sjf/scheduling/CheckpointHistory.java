@@ -0,0 +1,108 @@
+package com.bestchat.sjf.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpoints of one run in time order, taken roughly every {@code interval} time units. When they outgrow the
+ * memory budget every second checkpoint is dropped and the spacing doubles, so the history keeps covering the
+ * whole run with fewer, farther apart checkpoints instead of forgetting its beginning. The first checkpoint is
+ * always kept.
+ */
+final class CheckpointHistory {
+    private final List<SchedulerCheckpoint> checkpoints = new ArrayList<>();
+    private int interval;
+    private long memoryBudget;
+    private int spacing;
+    private long bytes;
+
+    void configure(int interval, long memoryBudget) {
+        if (interval < 0 || memoryBudget < 0) {
+            throw new IllegalArgumentException("Интервал и бюджет памяти контрольных точек не могут быть отрицательными");
+        }
+        this.interval = interval;
+        this.memoryBudget = memoryBudget;
+        this.spacing = interval;
+        clear();
+    }
+
+    boolean isEnabled() {
+        return interval > 0;
+    }
+
+    /**
+     * Tells whether a checkpoint should be taken at the given time. Nothing is due while the clock is behind the
+     * newest checkpoint, since replaying a known stretch of the run would only reproduce checkpoints already held.
+     */
+    boolean isDue(int time) {
+        if (interval == 0) {
+            return false;
+        }
+        return checkpoints.isEmpty() || time >= checkpoints.get(checkpoints.size() - 1).time() + spacing;
+    }
+
+    void add(SchedulerCheckpoint checkpoint) {
+        checkpoints.add(checkpoint);
+        bytes += checkpoint.sizeInBytes();
+        while (bytes > memoryBudget && checkpoints.size() > 1) {
+            if (checkpoints.size() == 2) {
+                bytes -= checkpoints.remove(1).sizeInBytes();
+            } else {
+                thin();
+            }
+        }
+    }
+
+    /**
+     * Returns the newest checkpoint taken at or before the given time, or {@code null}.
+     */
+    SchedulerCheckpoint latestAtOrBefore(int time) {
+        int low = 0;
+        int high = checkpoints.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (checkpoints.get(mid).time() <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low == 0 ? null : checkpoints.get(low - 1);
+    }
+
+    /**
+     * Forgets the checkpoints later than the given time, once the run has taken a different course from there.
+     */
+    void discardAfter(int time) {
+        while (!checkpoints.isEmpty() && checkpoints.get(checkpoints.size() - 1).time() > time) {
+            bytes -= checkpoints.remove(checkpoints.size() - 1).sizeInBytes();
+        }
+    }
+
+    void clear() {
+        checkpoints.clear();
+        bytes = 0;
+        spacing = interval;
+    }
+
+    int size() {
+        return checkpoints.size();
+    }
+
+    long sizeInBytes() {
+        return bytes;
+    }
+
+    private void thin() {
+        int kept = 1;
+        for (int i = 1; i < checkpoints.size(); i++) {
+            if (i % 2 == 0) {
+                checkpoints.set(kept++, checkpoints.get(i));
+            } else {
+                bytes -= checkpoints.get(i).sizeInBytes();
+            }
+        }
+        checkpoints.subList(kept, checkpoints.size()).clear();
+        spacing = (int) Math.min(Integer.MAX_VALUE, spacing * 2L);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bestchat.sjf.scheduling;
+
+/**
+ * Per-core counters of a scheduler run.
+ *
+ * @param time       virtual time the counters refer to
+ * @param busyTime   time units each core spent running a process, indexed by core
+ * @param migrations how many times a queued process was moved to another core's run queue
+ */
+public record CoreStatistics(int time, long[] busyTime, long migrations) {
+
+    public int cores() {
+        return busyTime.length;
+    }
+
+    /**
+     * Returns the share of elapsed time the core was busy, between 0 and 1.
+     */
+    public double utilization(int core) {
+        return time == 0 ? 0 : (double) busyTime[core] / time;
+    }
+}
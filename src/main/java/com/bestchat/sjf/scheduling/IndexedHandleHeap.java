@@ -0,0 +1,216 @@
+package com.bestchat.sjf.scheduling;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Binary min-heap of process handles where every element knows its own slot, so that a process whose key
+ * changed while queued can be re-positioned or removed in O(log n) instead of rebuilding the queue.
+ * Slots are kept in an int array indexed by handle (-1 when not queued). Heaps may share one slot array,
+ * in which case a handle belongs to at most one of them; heaps with separate slot arrays (for example the
+ * ready queue and the aging timers) can hold the same handle concurrently.
+ */
+public class IndexedHandleHeap {
+    private final HandleOrder order;
+    private final int[] slots;
+    private int[] heap = new int[16];
+    private int size;
+
+    /**
+     * Creates a heap for handles {@code 0 .. capacity - 1} with its own slot array.
+     */
+    public IndexedHandleHeap(HandleOrder order, int capacity) {
+        this(order, newSlots(capacity));
+    }
+
+    /**
+     * Creates a heap that records slots in the given array, which must be filled with -1 for handles not queued.
+     */
+    public IndexedHandleHeap(HandleOrder order, int[] slots) {
+        this.order = order;
+        this.slots = slots;
+    }
+
+    public static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        return slots;
+    }
+
+    public void add(int handle) {
+        if (slots[handle] >= 0) {
+            throw new IllegalStateException("Процесс с дескриптором " + handle + " уже находится в очереди");
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        place(handle, size);
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Returns the first handle, or -1 when the heap is empty.
+     */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * Removes and returns the first handle, or returns -1 when the heap is empty.
+     */
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int head = heap[0];
+        removeAt(0);
+        return head;
+    }
+
+    public boolean contains(int handle) {
+        int index = slots[handle];
+        return index >= 0 && index < size && heap[index] == handle;
+    }
+
+    public boolean remove(int handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        removeAt(slots[handle]);
+        return true;
+    }
+
+    /**
+     * Restores heap order after the key of a queued process became smaller (higher scheduling precedence).
+     */
+    public void decreaseKey(int handle) {
+        requireQueued(handle);
+        siftUp(slots[handle]);
+    }
+
+    /**
+     * Restores heap order after the key of a queued process changed in either direction.
+     */
+    public void update(int handle) {
+        requireQueued(handle);
+        int index = slots[handle];
+        siftUp(index);
+        if (slots[handle] == index) {
+            siftDown(index);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slots[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the queued handles in priority order without disturbing the heap.
+     */
+    public int[] toSortedArray() {
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = heap[i];
+        }
+        Arrays.sort(boxed, order::compare);
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    /**
+     * Returns the queued handles in heap order. Adding them to an empty heap in this order rebuilds this heap exactly,
+     * because every handle then lands below a parent that is no worse than itself.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * Visits the queued handles in heap (not priority) order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(heap[i]);
+        }
+    }
+
+    private void removeAt(int index) {
+        int removed = heap[index];
+        size--;
+        int last = heap[size];
+        slots[removed] = -1;
+        if (index == size) {
+            return;
+        }
+        place(last, index);
+        siftUp(index);
+        if (slots[last] == index) {
+            siftDown(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        int moving = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(moving, heap[parent]) >= 0) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(moving, index);
+    }
+
+    private void siftDown(int index) {
+        int moving = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && order.compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (order.compare(moving, heap[child]) <= 0) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(moving, index);
+    }
+
+    private void place(int handle, int index) {
+        heap[index] = handle;
+        slots[handle] = index;
+    }
+
+    private void requireQueued(int handle) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("Процесс с дескриптором " + handle + " отсутствует в очереди");
+        }
+    }
+
+    /**
+     * Ordering of two process handles, typically by reading columns of a {@link com.bestchat.sjf.model.ProcessTable}.
+     */
+    @FunctionalInterface
+    public interface HandleOrder {
+        int compare(int left, int right);
+    }
+}
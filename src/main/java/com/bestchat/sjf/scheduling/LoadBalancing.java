@@ -0,0 +1,16 @@
+package com.bestchat.sjf.scheduling;
+
+/**
+ * Defines how a multi-core scheduler keeps its per-core run queues balanced.
+ */
+public enum LoadBalancing {
+    /**
+     * After every step a balancer moves the most urgent queued process from the most loaded core to the least
+     * loaded one until their loads differ by at most one.
+     */
+    PUSH_MIGRATION,
+    /**
+     * A core that has nothing to run takes the most urgent queued process from the core with the longest queue.
+     */
+    WORK_STEALING
+}
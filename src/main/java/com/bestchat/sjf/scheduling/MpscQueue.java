@@ -0,0 +1,72 @@
+package com.bestchat.sjf.scheduling;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free queue for many producer threads and a single consumer, after Dmitry Vyukov's intrusive
+ * MPSC queue. A producer links its node with one atomic swap of the tail and never retries, so producers do not
+ * slow each other down beyond contention on that one reference; the consumer walks the list without any atomics.
+ * <p>
+ * An element becomes visible to {@link #poll()} only once its producer has linked it to its predecessor, so a poll
+ * racing with an offer may briefly miss an element that {@link #isEmpty()} already counts.
+ */
+public class MpscQueue<E> {
+    private final AtomicReference<Node<E>> tail;
+    private Node<E> head;
+
+    public MpscQueue() {
+        Node<E> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Appends an element; safe to call from any thread.
+     */
+    public void offer(E element) {
+        Node<E> node = new Node<>(element);
+        tail.getAndSet(node).next = node;
+    }
+
+    /**
+     * Removes and returns the oldest linked element, or returns {@code null}. Only the consumer thread may call it.
+     */
+    public E poll() {
+        Node<E> next = head.next;
+        if (next == null) {
+            return null;
+        }
+        E element = next.value;
+        next.value = null;
+        head = next;
+        return element;
+    }
+
+    /**
+     * Drops every linked element. Only the consumer thread may call it.
+     */
+    public void clear() {
+        Node<E> next;
+        while ((next = head.next) != null) {
+            next.value = null;
+            head = next;
+        }
+    }
+
+    /**
+     * Returns whether no offer is pending, including ones whose element is not linked yet. Only the consumer
+     * thread may call it.
+     */
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    private static final class Node<E> {
+        private E value;
+        private volatile Node<E> next;
+
+        private Node(E value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.bestchat.sjf.scheduling;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+
+/**
+ * Multi-level ready queue with one bucket per priority level, in the spirit of the Linux O(1) scheduler.
+ * A bitmap marks non-empty levels so the best level is found with a couple of word scans; inside a level
+ * processes are ordered by remaining time and then arrival. Priorities are expected to be small integers;
+ * the level array grows to cover whatever priorities are actually enqueued. Processes are handles into a
+ * {@link ProcessTable}, and all levels share one slot array since a process sits in at most one level.
+ */
+public class PriorityBucketQueue {
+    /**
+     * Order in which queued processes are dispatched: priority first, then remaining time, then arrival.
+     */
+    public static final Comparator<Process> DISPATCH_ORDER = Comparator
+            .comparingInt(Process::getPriority)
+            .thenComparingInt(Process::getRemainingTime)
+            .thenComparingInt(Process::getArrivalTime);
+
+    private final ProcessTable table;
+    private final IndexedHandleHeap.HandleOrder levelOrder;
+    private final int[] slots;
+    private IndexedHandleHeap[] levels = new IndexedHandleHeap[0];
+    private long[] occupied = new long[0];
+    private int basePriority;
+    private int size;
+
+    public PriorityBucketQueue(ProcessTable table) {
+        this(table, IndexedHandleHeap.newSlots(table.size()));
+    }
+
+    /**
+     * Creates a queue that records heap slots in the given array, so that several queues over the same table
+     * (one per CPU core, for example) need only one slot per process between them.
+     */
+    public PriorityBucketQueue(ProcessTable table, int[] slots) {
+        this.table = table;
+        this.slots = slots;
+        this.levelOrder = (left, right) -> {
+            int byRemaining = Integer.compare(table.getRemainingTime(left), table.getRemainingTime(right));
+            return byRemaining != 0 ? byRemaining : Integer.compare(table.getArrivalTime(left), table.getArrivalTime(right));
+        };
+    }
+
+    public void add(int handle) {
+        int level = levelOf(table.getPriority(handle));
+        IndexedHandleHeap bucket = levels[level];
+        if (bucket == null) {
+            bucket = new IndexedHandleHeap(levelOrder, slots);
+            levels[level] = bucket;
+        }
+        bucket.add(handle);
+        occupied[level >>> 6] |= 1L << level;
+        size++;
+    }
+
+    /**
+     * Returns the handle that would be dispatched next, or -1 when the queue is empty.
+     */
+    public int peek() {
+        int level = firstOccupiedLevel();
+        return level < 0 ? -1 : levels[level].peek();
+    }
+
+    /**
+     * Removes and returns the handle to dispatch next, or returns -1 when the queue is empty.
+     */
+    public int poll() {
+        int level = firstOccupiedLevel();
+        if (level < 0) {
+            return -1;
+        }
+        int head = levels[level].poll();
+        afterRemoval(level);
+        return head;
+    }
+
+    public boolean remove(int handle) {
+        int level = table.getPriority(handle) - basePriority;
+        if (level < 0 || level >= levels.length || levels[level] == null || !levels[level].remove(handle)) {
+            return false;
+        }
+        afterRemoval(level);
+        return true;
+    }
+
+    /**
+     * Moves a queued process to another priority level in O(log k), where k is the size of the two levels involved.
+     */
+    public void changePriority(int handle, int priority) {
+        if (!remove(handle)) {
+            throw new IllegalArgumentException("Процесс " + table.getId(handle) + " отсутствует в очереди");
+        }
+        table.setPriority(handle, priority);
+        add(handle);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        for (IndexedHandleHeap level : levels) {
+            if (level != null) {
+                level.clear();
+            }
+        }
+        Arrays.fill(occupied, 0L);
+        size = 0;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (IndexedHandleHeap level : levels) {
+            if (level != null) {
+                level.forEach(action);
+            }
+        }
+    }
+
+    /**
+     * Returns the queued handles level by level in heap order; adding them back in this order rebuilds the queue
+     * exactly, ties included (see {@link IndexedHandleHeap#toArray()}).
+     */
+    public int[] toArray() {
+        int[] handles = new int[size];
+        int count = 0;
+        for (IndexedHandleHeap level : levels) {
+            if (level != null && !level.isEmpty()) {
+                int[] bucket = level.toArray();
+                System.arraycopy(bucket, 0, handles, count, bucket.length);
+                count += bucket.length;
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Returns the queued handles in dispatch order without disturbing the queue.
+     */
+    public int[] toSortedArray() {
+        int[] sorted = new int[size];
+        int count = 0;
+        for (IndexedHandleHeap level : levels) {
+            if (level != null && !level.isEmpty()) {
+                int[] bucket = level.toSortedArray();
+                System.arraycopy(bucket, 0, sorted, count, bucket.length);
+                count += bucket.length;
+            }
+        }
+        return sorted;
+    }
+
+    private void afterRemoval(int level) {
+        size--;
+        if (levels[level].isEmpty()) {
+            occupied[level >>> 6] &= ~(1L << level);
+        }
+    }
+
+    private int firstOccupiedLevel() {
+        if (size == 0) {
+            return -1;
+        }
+        for (int word = 0; word < occupied.length; word++) {
+            if (occupied[word] != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(occupied[word]);
+            }
+        }
+        return -1;
+    }
+
+    private int levelOf(int priority) {
+        if (levels.length == 0) {
+            basePriority = Math.min(priority, 1);
+        }
+        if (priority < basePriority) {
+            rebase(priority);
+        }
+        int level = priority - basePriority;
+        if (level >= levels.length) {
+            int capacity = Math.max(64, Integer.highestOneBit(level) << 1);
+            levels = Arrays.copyOf(levels, capacity);
+            occupied = Arrays.copyOf(occupied, capacity >>> 6);
+        }
+        return level;
+    }
+
+    private void rebase(int priority) {
+        int shift = basePriority - priority;
+        int capacity = Math.max(64, Integer.highestOneBit(levels.length + shift) << 1);
+        IndexedHandleHeap[] shifted = new IndexedHandleHeap[capacity];
+        System.arraycopy(levels, 0, shifted, shift, levels.length);
+        long[] shiftedOccupied = new long[capacity >>> 6];
+        for (int level = 0; level < shifted.length; level++) {
+            if (shifted[level] != null && !shifted[level].isEmpty()) {
+                shiftedOccupied[level >>> 6] |= 1L << level;
+            }
+        }
+        levels = shifted;
+        occupied = shiftedOccupied;
+        basePriority = priority;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bestchat.sjf.scheduling;
+
+/**
+ * Incremental change applied to a scheduler's ready queue.
+ */
+public enum ReadyQueueChange {
+    ENQUEUED,
+    DEQUEUED,
+    REPRIORITISED
+}
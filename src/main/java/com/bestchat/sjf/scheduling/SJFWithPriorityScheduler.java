@@ -1,60 +1,299 @@
 package com.bestchat.sjf.scheduling;
 
+import com.bestchat.sjf.metrics.AgingEvent;
+import com.bestchat.sjf.metrics.CompletionEvent;
+import com.bestchat.sjf.metrics.DispatchEvent;
+import com.bestchat.sjf.metrics.PreemptionEvent;
+import com.bestchat.sjf.metrics.SchedulingDecisionEvent;
 import com.bestchat.sjf.model.Process;
 import com.bestchat.sjf.model.ProcessState;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.workload.WorkloadSource;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Scheduler implementing SJF with priorities in preemptive and non-preemptive modes.
+ * The workload lives in a {@link ProcessTable} and the queues hold row handles; {@link Process} objects are only
+ * created as row views when a caller asks for one.
+ * <p>
+ * The scheduler can model several CPU cores. Each core has its own ready queue and makes its own dispatch and
+ * preemption decisions, so no step touches a single queue shared by all cores; arrivals are spread round-robin
+ * and a {@link LoadBalancing} policy moves queued processes between cores. With one core it behaves exactly
+ * like a single-CPU scheduler.
+ * <p>
+ * The workload is either a whole table loaded up front or a {@link WorkloadSource} that is pulled from as the clock
+ * reaches each arrival. In the latter case the table only holds processes that are alive, because the row of a
+ * finished process is handed to the next arrival once no pending notification refers to it.
+ * <p>
+ * Other threads may {@link #submit} processes while the simulation runs. Submissions go through a lock-free
+ * {@link MpscQueue} and are drained at the start of each step, so only the thread that steps the scheduler ever
+ * touches the table and the queues.
+ * <p>
+ * Dispatches, preemptions, aging promotions and completions are also reported as JFR events (see
+ * {@link SchedulingDecisionEvent}), which cost next to nothing unless a flight recording enables them.
+ * <p>
+ * With checkpointing on, the state is copied every few time units into a {@link CheckpointHistory}, and
+ * {@link #seek} restores the nearest checkpoint and replays the rest. Submissions are logged with the time they
+ * were picked up so replaying reproduces them. A streamed workload cannot be checkpointed, since the source has no
+ * position to return to; seeking back then replays from the start.
  */
 public class SJFWithPriorityScheduler implements Scheduler {
 
     private final SchedulingMode mode;
     private final boolean agingEnabled;
     private final int agingThreshold;
+    private final TimeAdvanceMode timeAdvance;
+    private final int cores;
+    private final LoadBalancing balancing;
 
-    private List<Process> processes = new ArrayList<>();
-    private PriorityQueue<Process> readyQueue;
-    private final List<String> events = new ArrayList<>();
-    private Process current;
+    private ProcessTable table = new ProcessTable();
+    private WorkloadSource source;
+    private int scheduledRows;
+    private final MpscQueue<Submission> submissions = new MpscQueue<>();
+    private final List<Pickup> pickups = new ArrayList<>();
+    private int replayedPickups;
+    private final CheckpointHistory checkpoints = new CheckpointHistory();
+    private PriorityBucketQueue[] readyQueues = newReadyQueues(table, 1, 0);
+    private IndexedHandleHeap agingTimers = newAgingTimers(table, 0);
+    private int queueCapacity;
+    private int[] retired = new int[16];
+    private int retiredCount;
+    private final SchedulerEventBuffer events = new SchedulerEventBuffer();
+    private final SchedulerEventFormatter formatter = new SchedulerEventFormatter(this::getProcess);
+    private int[] changed = new int[16];
+    private int changedCount;
+    private final BitSet changedHandles = new BitSet();
+    private int[] queueChangeHandles = new int[16];
+    private final List<ReadyQueueChange> queueChanges = new ArrayList<>();
+    private final int[] running;
+    private final long[] busyTime;
+    private int runningCount;
+    private long migrations;
+    private int nextArrivalCore;
     private int arrivalIndex;
     private int time;
-    private int completed;
+    private long arrived;
+    private long completed;
 
     public SJFWithPriorityScheduler(SchedulingMode mode, boolean agingEnabled, int agingThreshold) {
+        this(mode, agingEnabled, agingThreshold, TimeAdvanceMode.TICK);
+    }
+
+    public SJFWithPriorityScheduler(SchedulingMode mode, boolean agingEnabled, int agingThreshold, TimeAdvanceMode timeAdvance) {
+        this(mode, agingEnabled, agingThreshold, timeAdvance, 1, LoadBalancing.WORK_STEALING);
+    }
+
+    public SJFWithPriorityScheduler(SchedulingMode mode, boolean agingEnabled, int agingThreshold, TimeAdvanceMode timeAdvance,
+                                    int cores, LoadBalancing balancing) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("Число ядер должно быть положительным");
+        }
         this.mode = mode;
         this.agingEnabled = agingEnabled;
         this.agingThreshold = agingThreshold;
-        resetQueue();
+        this.timeAdvance = timeAdvance;
+        this.cores = cores;
+        this.balancing = balancing;
+        this.running = new int[cores];
+        this.busyTime = new long[cores];
+        Arrays.fill(running, -1);
     }
 
     @Override
     public void setProcesses(List<Process> processes) {
-        this.processes = processes.stream().map(Process::copyForRestart).sorted(Comparator.comparingInt(Process::getArrivalTime)).toList();
+        setProcessTable(ProcessTable.of(processes));
+    }
+
+    @Override
+    public void setProcessTable(ProcessTable processes) {
+        ProcessTable sorted = processes.sortedByArrival();
+        // A table refilled in place for the next replication keeps its queues, which only hold handles.
+        if (sorted != table || source != null || sorted.size() > queueCapacity) {
+            this.table = sorted;
+            allocateQueues(table.size());
+        }
+        this.source = null;
+        this.scheduledRows = table.size();
+        reset();
+    }
+
+    @Override
+    public void setWorkloadSource(WorkloadSource source) {
+        this.source = source;
+        this.table = new ProcessTable();
+        allocateQueues(16);
         reset();
     }
 
+    @Override
+    public int updateProcessTable(ProcessTable processes) {
+        ProcessTable sorted = processes.sortedByArrival();
+        int changedAt = source == null ? firstChangedArrival(sorted) : 0;
+        if (changedAt == WorkloadSource.EXHAUSTED && pickups.isEmpty()) {
+            return time;
+        }
+        int limit = Math.min(changedAt, time);
+        if (!pickups.isEmpty()) {
+            limit = Math.min(limit, pickups.get(0).time());
+        }
+        SchedulerCheckpoint checkpoint = checkpoints.latestAtOrBefore(limit);
+        sorted.resetAll();
+        this.table = sorted;
+        this.source = null;
+        this.scheduledRows = sorted.size();
+        allocateQueues(sorted.size());
+        submissions.clear();
+        pickups.clear();
+        if (checkpoint == null) {
+            checkpoints.clear();
+            rewind();
+            return time;
+        }
+        // Checkpoints up to this one hold no submitted rows and only rows that arrived before the first change,
+        // which sit at the same handles in the new table; later ones describe the old workload.
+        checkpoints.discardAfter(checkpoint.time());
+        // The new table was reset above, so nothing past the checkpoint's arrivals needs resetting.
+        this.arrivalIndex = checkpoint.arrivalIndex();
+        restore(checkpoint);
+        return time;
+    }
+
+    /**
+     * Returns the earliest arrival time at which the given sorted workload differs from the loaded one, or
+     * {@link WorkloadSource#EXHAUSTED} when they are the same. Both are in arrival order, so the first differing row
+     * decides: every later row arrives no earlier than it.
+     */
+    private int firstChangedArrival(ProcessTable other) {
+        int common = Math.min(scheduledRows, other.size());
+        for (int handle = 0; handle < common; handle++) {
+            if (!Objects.equals(table.getId(handle), other.getId(handle))
+                    || table.getArrivalTime(handle) != other.getArrivalTime(handle)
+                    || table.getBurstTime(handle) != other.getBurstTime(handle)
+                    || table.getBasePriority(handle) != other.getBasePriority(handle)) {
+                return Math.min(table.getArrivalTime(handle), other.getArrivalTime(handle));
+            }
+        }
+        if (scheduledRows > common) {
+            return table.getArrivalTime(common);
+        }
+        return other.size() > common ? other.getArrivalTime(common) : WorkloadSource.EXHAUSTED;
+    }
+
     @Override
     public void reset() {
-        resetQueue();
+        submissions.clear();
+        pickups.clear();
+        checkpoints.clear();
+        rewind();
+    }
+
+    /**
+     * Returns to time 0 like {@link #reset()}, but keeps the submission log for replay and the checkpoints.
+     */
+    private void rewind() {
+        for (PriorityBucketQueue readyQueue : readyQueues) {
+            readyQueue.clear();
+        }
+        agingTimers.clear();
         this.time = 0;
         this.completed = 0;
         this.arrivalIndex = 0;
-        this.current = null;
-        for (Process process : processes) {
-            process.setRemainingTime(process.getBurstTime());
-            process.setFinishTime(null);
-            process.setStartTime(null);
-            process.setPriority(process.getBasePriority());
-            process.setState(ProcessState.NEW);
-            process.resetWaitingTime();
+        this.nextArrivalCore = 0;
+        this.runningCount = 0;
+        this.migrations = 0;
+        Arrays.fill(running, -1);
+        Arrays.fill(busyTime, 0);
+        this.arrived = 0;
+        this.retiredCount = 0;
+        this.replayedPickups = 0;
+        if (source != null) {
+            table.clear();
+            source.rewind();
+        } else {
+            if (table.size() > scheduledRows) {
+                table.truncate(scheduledRows);
+            }
+            table.resetAll();
         }
-        events.clear();
+        discardNotifications();
+    }
+
+    @Override
+    public void submit(String id, int burstTime, int priority) {
+        Objects.requireNonNull(id, "id");
+        if (burstTime <= 0) {
+            throw new IllegalArgumentException("Длительность процесса должна быть положительной");
+        }
+        submissions.offer(new Submission(id, burstTime, priority));
+    }
+
+    @Override
+    public void setCheckpointing(int interval, long memoryBudgetBytes) {
+        checkpoints.configure(interval, memoryBudgetBytes);
+    }
+
+    @Override
+    public void seek(int target) {
+        SchedulerCheckpoint checkpoint = checkpoints.latestAtOrBefore(target);
+        // Jumping ahead is only safe while no pending submission is about to change what lies ahead.
+        if (checkpoint != null && (target < time || checkpoint.time() > time && submissions.isEmpty())) {
+            restore(checkpoint);
+        } else if (target < time) {
+            rewind();
+        }
+        while (time < target && !isFinished()) {
+            step();
+            discardNotifications();
+        }
+    }
+
+    private void allocateQueues(int capacity) {
+        this.readyQueues = newReadyQueues(table, cores, capacity);
+        this.agingTimers = newAgingTimers(table, capacity);
+        this.queueCapacity = capacity;
+    }
+
+    /**
+     * Makes room in the queues for a handle beyond their capacity, which only happens while a streamed workload
+     * has more processes alive than ever before. Handles are re-added in heap order, and since a handle added
+     * below an equal or better parent stays where it is, every heap comes out exactly as it was.
+     */
+    private void ensureQueueCapacity(int handle) {
+        if (handle < queueCapacity) {
+            return;
+        }
+        PriorityBucketQueue[] oldQueues = readyQueues;
+        IndexedHandleHeap oldTimers = agingTimers;
+        allocateQueues(Math.max(handle + 1, queueCapacity * 2));
+        for (int core = 0; core < cores; core++) {
+            oldQueues[core].forEach(readyQueues[core]::add);
+        }
+        oldTimers.forEach(agingTimers::add);
+    }
+
+    /**
+     * Creates one ready queue per core. A queued process sits in exactly one of them, so they share a slot array.
+     */
+    private static PriorityBucketQueue[] newReadyQueues(ProcessTable table, int cores, int capacity) {
+        int[] slots = IndexedHandleHeap.newSlots(capacity);
+        PriorityBucketQueue[] queues = new PriorityBucketQueue[cores];
+        for (int core = 0; core < cores; core++) {
+            queues[core] = new PriorityBucketQueue(table, slots);
+        }
+        return queues;
+    }
+
+    private static IndexedHandleHeap newAgingTimers(ProcessTable table, int capacity) {
+        return new IndexedHandleHeap(
+                (left, right) -> Integer.compare(table.getWaitingEpoch(left), table.getWaitingEpoch(right)), capacity);
     }
 
     @Override
@@ -62,117 +301,486 @@ public class SJFWithPriorityScheduler implements Scheduler {
         if (isFinished()) {
             return Optional.empty();
         }
+        if (checkpoints.isDue(time) && source == null) {
+            checkpoints.add(checkpoint());
+        }
 
+        recycleRetired();
         addArrivals();
+        addSubmissions();
         applyAging();
+        if (cores > 1) {
+            balance();
+        }
 
-        if (mode == SchedulingMode.PREEMPTIVE) {
-            preemptiveDecision();
-        } else {
-            nonPreemptiveDecision();
+        for (int core = 0; core < cores; core++) {
+            if (mode == SchedulingMode.PREEMPTIVE) {
+                preemptiveDecision(core);
+            } else {
+                nonPreemptiveDecision(core);
+            }
         }
 
-        if (current == null) {
-            time++;
+        if (runningCount == 0) {
+            int nextArrival = nextArrivalTime();
+            time = timeAdvance == TimeAdvanceMode.NEXT_EVENT && nextArrival != WorkloadSource.EXHAUSTED
+                    ? nextArrival
+                    : time + 1;
             return Optional.empty();
         }
 
-        runCurrent();
-        time++;
+        int slice = timeAdvance == TimeAdvanceMode.NEXT_EVENT ? ticksUntilNextEvent() : 1;
+        for (int core = 0; core < cores; core++) {
+            if (running[core] >= 0) {
+                runCurrent(core, slice);
+            }
+        }
+        time += slice;
 
-        if (current.getRemainingTime() == 0) {
-            current.setFinishTime(time);
-            current.setState(ProcessState.FINISHED);
-            events.add("t=" + time + ": Процесс " + current.getId() + " завершён");
-            completed++;
-            current = null;
+        int first = -1;
+        for (int core = 0; core < cores; core++) {
+            int current = running[core];
+            if (current >= 0 && table.getRemainingTime(current) == 0) {
+                table.setFinishTime(current, time);
+                table.setState(current, ProcessState.FINISHED);
+                events.append(SchedulerEventKind.FINISHED, time, current, -1, 0);
+                emitCompletion(current, core);
+                markChanged(current);
+                completed++;
+                retire(current);
+                running[core] = -1;
+                runningCount--;
+            } else if (first < 0 && current >= 0) {
+                first = current;
+            }
         }
 
-        return Optional.ofNullable(current);
+        return first < 0 ? Optional.empty() : Optional.of(table.view(first));
+    }
+
+    private void runCurrent(int core, int slice) {
+        int current = running[core];
+        if (table.getStartTime(current) == ProcessTable.UNSET) {
+            table.setStartTime(current, time);
+            events.append(SchedulerEventKind.STARTED, time, current, -1, table.getPriority(current));
+        }
+        table.setState(current, ProcessState.RUNNING);
+        table.setRemainingTime(current, table.getRemainingTime(current) - slice);
+        busyTime[core] += slice;
+        markChanged(current);
     }
 
-    private void runCurrent() {
-        if (current.getStartTime() == null) {
-            current.setStartTime(time);
-            events.add("t=" + time + ": Процесс " + current.getId() + " запущен (появление=" + current.getArrivalTime()
-                    + ", длительность=" + current.getBurstTime() + ", приоритет=" + current.getPriority() + ")");
+    /**
+     * Computes how many ticks the running processes can run before anything observable changes:
+     * a completion, the next arrival, or a ready process crossing the aging threshold.
+     * Within that window the tick-by-tick loop would make the same decision on every tick.
+     */
+    private int ticksUntilNextEvent() {
+        int slice = Integer.MAX_VALUE;
+        for (int current : running) {
+            if (current >= 0) {
+                slice = Math.min(slice, table.getRemainingTime(current));
+            }
+        }
+        int nextArrival = nextArrivalTime();
+        if (nextArrival != WorkloadSource.EXHAUSTED) {
+            slice = Math.min(slice, nextArrival - time);
+        }
+        if (agingActive() && !agingTimers.isEmpty()) {
+            slice = Math.min(slice, agingDeadline(agingTimers.peek()) - time);
         }
-        current.setState(ProcessState.RUNNING);
-        current.setRemainingTime(current.getRemainingTime() - 1);
-        readyQueue.forEach(Process::incrementWaitingTime);
+        return Math.max(1, slice);
     }
 
-    private void preemptiveDecision() {
-        Process candidate = readyQueue.peek();
-        if (candidate != null && shouldPreempt(candidate)) {
-            if (current != null) {
-                current.setState(ProcessState.READY);
-                readyQueue.add(current);
-                events.add("t=" + time + ": Процесс " + candidate.getId() + " вытеснил " + current.getId());
+    private void preemptiveDecision(int core) {
+        int current = running[core];
+        int candidate = readyQueues[core].peek();
+        if (candidate >= 0 && shouldPreempt(candidate, current)) {
+            if (current >= 0) {
+                enqueue(current, core);
+                events.append(SchedulerEventKind.PREEMPTED, time, candidate, current, 0);
+                emitPreemption(candidate, current, core);
             }
-            current = readyQueue.poll();
-        } else if (current == null && !readyQueue.isEmpty()) {
-            current = readyQueue.poll();
+            dispatchNext(core);
+        } else if (current < 0 && !readyQueues[core].isEmpty()) {
+            dispatchNext(core);
+        }
+    }
+
+    private void nonPreemptiveDecision(int core) {
+        if (running[core] < 0 && !readyQueues[core].isEmpty()) {
+            dispatchNext(core);
         }
     }
 
-    private void nonPreemptiveDecision() {
-        if (current == null && !readyQueue.isEmpty()) {
-            current = readyQueue.poll();
+    private void enqueue(int handle, int core) {
+        table.setCore(handle, core);
+        table.markReady(handle, time);
+        readyQueues[core].add(handle);
+        if (agingActive() && table.getPriority(handle) > 1) {
+            agingTimers.add(handle);
         }
+        markChanged(handle);
+        recordQueueChange(ReadyQueueChange.ENQUEUED, handle);
     }
 
-    private boolean shouldPreempt(Process candidate) {
-        if (current == null) {
+    private void dispatchNext(int core) {
+        if (running[core] < 0) {
+            runningCount++;
+        }
+        int current = readyQueues[core].poll();
+        running[core] = current;
+        agingTimers.remove(current);
+        table.markDispatched(current, time);
+        recordQueueChange(ReadyQueueChange.DEQUEUED, current);
+        emitDispatch(current, core);
+    }
+
+    private boolean shouldPreempt(int candidate, int current) {
+        if (current < 0) {
             return true;
         }
-        if (candidate.getPriority() < current.getPriority()) {
+        if (table.getPriority(candidate) < table.getPriority(current)) {
             return true;
         }
-        if (candidate.getPriority() == current.getPriority()) {
-            return candidate.getRemainingTime() < current.getRemainingTime();
+        if (table.getPriority(candidate) == table.getPriority(current)) {
+            return table.getRemainingTime(candidate) < table.getRemainingTime(current);
         }
         return false;
     }
 
+    /**
+     * Promotes exactly the processes whose aging deadline has expired. Deadlines live in a heap keyed by
+     * the waiting epoch, so processes that are still below the threshold are never looked at.
+     */
     private void applyAging() {
-        if (!agingEnabled || agingThreshold <= 0) {
+        if (!agingActive()) {
             return;
         }
-        for (Process ready : readyQueue) {
-            if (ready.getWaitingTime() >= agingThreshold && ready.getPriority() > 1) {
-                ready.setPriority(ready.getPriority() - 1);
-                ready.resetWaitingTime();
-                events.add("t=" + time + ": Старение приоритета повысило процесс " + ready.getId());
+        while (!agingTimers.isEmpty() && agingDeadline(agingTimers.peek()) <= time) {
+            int ready = agingTimers.peek();
+            readyQueues[table.getCore(ready)].changePriority(ready, table.getPriority(ready) - 1);
+            table.resetWaitingTime(ready);
+            table.markReady(ready, time);
+            if (table.getPriority(ready) > 1) {
+                agingTimers.update(ready);
+            } else {
+                agingTimers.remove(ready);
             }
+            events.append(SchedulerEventKind.AGED, time, ready, -1, table.getPriority(ready));
+            emitAging(ready);
+            markChanged(ready);
+            recordQueueChange(ReadyQueueChange.REPRIORITISED, ready);
         }
     }
 
+    private boolean agingActive() {
+        return agingEnabled && agingThreshold > 0;
+    }
+
+    private int agingDeadline(int ready) {
+        return table.getWaitingEpoch(ready) + agingThreshold;
+    }
+
     private void addArrivals() {
-        while (arrivalIndex < processes.size() && processes.get(arrivalIndex).getArrivalTime() <= time) {
-            Process process = processes.get(arrivalIndex);
-            process.setState(ProcessState.READY);
-            readyQueue.add(process);
-            events.add("t=" + time + ": Процесс " + process.getId() + " поступил в систему");
-            arrivalIndex++;
+        while (nextArrivalTime() <= time) {
+            int handle;
+            if (source != null) {
+                handle = source.next(table);
+                ensureQueueCapacity(handle);
+            } else {
+                handle = arrivalIndex++;
+            }
+            enqueue(handle, nextArrivalCore);
+            events.append(SchedulerEventKind.ARRIVED, time, handle, -1, 0);
+            nextArrivalCore = nextArrivalCore + 1 == cores ? 0 : nextArrivalCore + 1;
+            arrived++;
+        }
+    }
+
+    /**
+     * Admits the logged submissions that were picked up by now in an earlier pass over this stretch of the run,
+     * then the new ones. A new submission makes the logged rest of the run and later checkpoints obsolete.
+     */
+    private void addSubmissions() {
+        while (replayedPickups < pickups.size() && pickups.get(replayedPickups).time() <= time) {
+            admit(pickups.get(replayedPickups++).submission());
+        }
+        Submission submission;
+        while ((submission = submissions.poll()) != null) {
+            pickups.subList(replayedPickups, pickups.size()).clear();
+            checkpoints.discardAfter(time);
+            pickups.add(new Pickup(time, submission));
+            replayedPickups++;
+            admit(submission);
+        }
+    }
+
+    private void admit(Submission submission) {
+        int handle = table.add(submission.id(), time, submission.burstTime(), submission.priority());
+        ensureQueueCapacity(handle);
+        enqueue(handle, nextArrivalCore);
+        events.append(SchedulerEventKind.ARRIVED, time, handle, -1, 0);
+        nextArrivalCore = nextArrivalCore + 1 == cores ? 0 : nextArrivalCore + 1;
+        arrived++;
+    }
+
+    /**
+     * Returns when the next process arrives, or {@link WorkloadSource#EXHAUSTED} when none is left.
+     */
+    private int nextArrivalTime() {
+        if (source != null) {
+            return source.peekArrivalTime();
+        }
+        return arrivalIndex < scheduledRows ? table.getArrivalTime(arrivalIndex) : WorkloadSource.EXHAUSTED;
+    }
+
+    private void retire(int handle) {
+        if (source == null) {
+            return;
+        }
+        if (retiredCount == retired.length) {
+            retired = Arrays.copyOf(retired, retiredCount * 2);
+        }
+        retired[retiredCount++] = handle;
+    }
+
+    /**
+     * Hands the rows of finished streamed processes back to the table, but only once the events, changed
+     * processes and queue changes that could still name them have all been drained or discarded.
+     */
+    private void recycleRetired() {
+        if (retiredCount == 0 || !events.isEmpty() || changedCount > 0 || !queueChanges.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < retiredCount; i++) {
+            table.release(retired[i]);
+        }
+        retiredCount = 0;
+    }
+
+    private SchedulerCheckpoint checkpoint() {
+        int submitted = table.size() - scheduledRows;
+        String[] ids = new String[submitted];
+        int[] arrivals = new int[submitted];
+        int[] bursts = new int[submitted];
+        int[] priorities = new int[submitted];
+        for (int i = 0; i < submitted; i++) {
+            int handle = scheduledRows + i;
+            ids[i] = table.getId(handle);
+            arrivals[i] = table.getArrivalTime(handle);
+            bursts[i] = table.getBurstTime(handle);
+            priorities[i] = table.getBasePriority(handle);
+        }
+        int[][] queues = new int[cores][];
+        for (int core = 0; core < cores; core++) {
+            queues[core] = readyQueues[core].toArray();
+        }
+        return new SchedulerCheckpoint(time, arrivalIndex, table.copyRuntime(0, arrivalIndex),
+                table.copyRuntime(scheduledRows, table.size()), ids, arrivals, bursts, priorities, replayedPickups,
+                queues, agingTimers.toArray(), running.clone(), busyTime.clone(), runningCount, migrations,
+                nextArrivalCore, arrived, completed);
+    }
+
+    /**
+     * Puts the scheduler back into a checkpointed state. Rows between the checkpoint's and the current arrival
+     * index are the only ones besides the copied ranges that may differ, so they are reset and the rest is left as is.
+     */
+    private void restore(SchedulerCheckpoint checkpoint) {
+        for (PriorityBucketQueue readyQueue : readyQueues) {
+            readyQueue.clear();
+        }
+        agingTimers.clear();
+        if (table.size() != scheduledRows) {
+            table.truncate(scheduledRows);
+        }
+        String[] ids = checkpoint.submittedIds();
+        for (int i = 0; i < ids.length; i++) {
+            table.add(ids[i], checkpoint.submittedArrivals()[i], checkpoint.submittedBursts()[i],
+                    checkpoint.submittedPriorities()[i]);
+        }
+        table.restoreRuntime(checkpoint.arrivedRows(), 0);
+        table.restoreRuntime(checkpoint.submittedRows(), scheduledRows);
+        for (int handle = checkpoint.arrivalIndex(); handle < arrivalIndex; handle++) {
+            table.resetRuntime(handle);
+        }
+        if (table.size() > 0) {
+            ensureQueueCapacity(table.size() - 1);
+        }
+        // Queues compare by the table columns, so they are rebuilt only once the rows are back.
+        int[][] queues = checkpoint.readyQueues();
+        for (int core = 0; core < cores; core++) {
+            for (int handle : queues[core]) {
+                readyQueues[core].add(handle);
+            }
+        }
+        for (int handle : checkpoint.agingTimers()) {
+            agingTimers.add(handle);
+        }
+        System.arraycopy(checkpoint.running(), 0, running, 0, cores);
+        System.arraycopy(checkpoint.busyTime(), 0, busyTime, 0, cores);
+        this.time = checkpoint.time();
+        this.arrivalIndex = checkpoint.arrivalIndex();
+        this.replayedPickups = checkpoint.replayedPickups();
+        this.runningCount = checkpoint.runningCount();
+        this.migrations = checkpoint.migrations();
+        this.nextArrivalCore = checkpoint.nextArrivalCore();
+        this.arrived = checkpoint.arrived();
+        this.completed = checkpoint.completed();
+        discardNotifications();
+    }
+
+    private void balance() {
+        if (balancing == LoadBalancing.PUSH_MIGRATION) {
+            pushMigrate();
+        } else {
+            stealWork();
+        }
+    }
+
+    /**
+     * Moves queued processes from the most to the least loaded core, counting a running process as load,
+     * until no two cores differ by more than one process.
+     */
+    private void pushMigrate() {
+        while (true) {
+            int busiest = -1;
+            int idlest = 0;
+            for (int core = 0; core < cores; core++) {
+                if (!readyQueues[core].isEmpty() && (busiest < 0 || load(core) > load(busiest))) {
+                    busiest = core;
+                }
+                if (load(core) < load(idlest)) {
+                    idlest = core;
+                }
+            }
+            if (busiest < 0 || load(busiest) - load(idlest) <= 1) {
+                return;
+            }
+            migrate(readyQueues[busiest].peek(), busiest, idlest);
+        }
+    }
+
+    /**
+     * Lets every core with nothing to run take the head of the longest queue on another core. A queue is only
+     * robbed of processes its own core could not start right now.
+     */
+    private void stealWork() {
+        for (int thief = 0; thief < cores; thief++) {
+            if (running[thief] >= 0 || !readyQueues[thief].isEmpty()) {
+                continue;
+            }
+            int victim = -1;
+            int longest = 0;
+            for (int core = 0; core < cores; core++) {
+                int spare = readyQueues[core].size() - (running[core] < 0 ? 1 : 0);
+                if (spare > longest) {
+                    victim = core;
+                    longest = spare;
+                }
+            }
+            if (victim < 0) {
+                return;
+            }
+            migrate(readyQueues[victim].peek(), victim, thief);
+        }
+    }
+
+    private int load(int core) {
+        return readyQueues[core].size() + (running[core] >= 0 ? 1 : 0);
+    }
+
+    private void migrate(int handle, int from, int to) {
+        readyQueues[from].remove(handle);
+        table.setCore(handle, to);
+        readyQueues[to].add(handle);
+        migrations++;
+        events.append(SchedulerEventKind.MIGRATED, time, handle, -1, to);
+        markChanged(handle);
+    }
+
+    private void emitDispatch(int handle, int core) {
+        DispatchEvent event = new DispatchEvent();
+        if (event.shouldCommit()) {
+            commit(event, handle, core);
+        }
+    }
+
+    private void emitAging(int handle) {
+        AgingEvent event = new AgingEvent();
+        if (event.shouldCommit()) {
+            commit(event, handle, table.getCore(handle));
+        }
+    }
+
+    private void emitPreemption(int candidate, int preempted, int core) {
+        PreemptionEvent event = new PreemptionEvent();
+        if (event.shouldCommit()) {
+            event.preempted = table.getId(preempted);
+            commit(event, candidate, core);
+        }
+    }
+
+    private void emitCompletion(int handle, int core) {
+        CompletionEvent event = new CompletionEvent();
+        if (event.shouldCommit()) {
+            event.turnaroundTime = time - table.getArrivalTime(handle);
+            commit(event, handle, core);
+        }
+    }
+
+    private void commit(SchedulingDecisionEvent event, int handle, int core) {
+        event.simulationTime = time;
+        event.process = table.getId(handle);
+        event.priority = table.getPriority(handle);
+        event.core = core;
+        event.commit();
+    }
+
+    private void markChanged(int handle) {
+        if (!changedHandles.get(handle)) {
+            changedHandles.set(handle);
+            if (changedCount == changed.length) {
+                changed = Arrays.copyOf(changed, changedCount * 2);
+            }
+            changed[changedCount++] = handle;
+        }
+    }
+
+    private void recordQueueChange(ReadyQueueChange change, int handle) {
+        if (queueChanges.size() == queueChangeHandles.length) {
+            queueChangeHandles = Arrays.copyOf(queueChangeHandles, queueChanges.size() * 2);
         }
+        queueChangeHandles[queueChanges.size()] = handle;
+        queueChanges.add(change);
     }
 
-    private void resetQueue() {
-        readyQueue = new PriorityQueue<>(Comparator
-                .comparingInt(Process::getPriority)
-                .thenComparingInt(Process::getRemainingTime)
-                .thenComparingInt(Process::getArrivalTime));
+    /**
+     * Waiting time is tracked from the moment a process entered READY rather than per tick,
+     * so it only needs to be brought up to date when someone outside the scheduler looks at it.
+     */
+    private void settleWaitingTimes() {
+        for (PriorityBucketQueue readyQueue : readyQueues) {
+            readyQueue.forEach(ready -> table.settleWaitingTime(ready, time));
+        }
     }
 
     @Override
     public boolean isFinished() {
-        return completed == processes.size();
+        return completed == arrived && nextArrivalTime() == WorkloadSource.EXHAUSTED && submissions.isEmpty()
+                && replayedPickups == pickups.size();
     }
 
     @Override
     public List<Process> snapshot() {
-        return new ArrayList<>(processes);
+        settleWaitingTimes();
+        List<Process> rows = new ArrayList<>(table.size());
+        for (int handle = 0; handle < table.size(); handle++) {
+            if (source == null || !table.isReleased(handle)) {
+                rows.add(table.view(handle));
+            }
+        }
+        return rows;
     }
 
     @Override
@@ -182,16 +790,85 @@ public class SJFWithPriorityScheduler implements Scheduler {
 
     @Override
     public List<String> consumeEvents() {
-        List<String> copy = new ArrayList<>(events);
+        List<String> lines = new ArrayList<>(events.size());
+        events.drain(event -> lines.add(formatter.format(event)));
+        return lines;
+    }
+
+    @Override
+    public void drainEvents(Consumer<SchedulerEvent> consumer) {
+        events.drain(consumer);
+    }
+
+    @Override
+    public void drainChangedProcesses(Consumer<Process> consumer) {
+        for (int i = 0; i < changedCount; i++) {
+            consumer.accept(table.view(changed[i]));
+        }
+        changedCount = 0;
+        changedHandles.clear();
+    }
+
+    @Override
+    public void drainReadyQueueChanges(BiConsumer<ReadyQueueChange, Process> consumer) {
+        for (int i = 0; i < queueChanges.size(); i++) {
+            consumer.accept(queueChanges.get(i), table.view(queueChangeHandles[i]));
+        }
+        queueChanges.clear();
+    }
+
+    @Override
+    public void discardNotifications() {
         events.clear();
-        return copy;
+        changedCount = 0;
+        changedHandles.clear();
+        queueChanges.clear();
+    }
+
+    @Override
+    public Process getProcess(int handle) {
+        return table.view(handle);
     }
 
     @Override
     public List<Process> readyQueueSnapshot() {
-        return readyQueue.stream().sorted(Comparator
-                .comparingInt(Process::getPriority)
-                .thenComparingInt(Process::getRemainingTime)
-                .thenComparingInt(Process::getArrivalTime)).toList();
+        settleWaitingTimes();
+        List<Process> rows = new ArrayList<>();
+        for (PriorityBucketQueue readyQueue : readyQueues) {
+            for (int handle : readyQueue.toSortedArray()) {
+                rows.add(table.view(handle));
+            }
+        }
+        if (cores > 1) {
+            rows.sort(PriorityBucketQueue.DISPATCH_ORDER);
+        }
+        return rows;
+    }
+
+    @Override
+    public int readyQueueSize() {
+        int size = 0;
+        for (PriorityBucketQueue readyQueue : readyQueues) {
+            size += readyQueue.size();
+        }
+        return size;
+    }
+
+    public int getCoreCount() {
+        return cores;
+    }
+
+    @Override
+    public CoreStatistics coreStatistics() {
+        return new CoreStatistics(time, busyTime.clone(), migrations);
+    }
+
+    private record Submission(String id, int burstTime, int priority) {
+    }
+
+    /**
+     * A submission together with the time it was picked up, kept so seeking can replay it.
+     */
+    private record Pickup(int time, Submission submission) {
     }
 }
@@ -1,9 +1,13 @@
 package com.bestchat.sjf.scheduling;
 
 import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.workload.WorkloadSource;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * Common contract for CPU schedulers used by the simulation engine.
@@ -11,10 +15,55 @@ import java.util.Optional;
 public interface Scheduler {
     void setProcesses(List<Process> processes);
 
+    /**
+     * Loads a workload that is already in columnar form, without materialising a {@link Process} per row.
+     * The scheduler may reorder and reset the table's runtime columns.
+     */
+    void setProcessTable(ProcessTable processes);
+
+    /**
+     * Pulls the workload from a source as the clock reaches each arrival, so the workload is never held in full.
+     * Rows of finished processes are reused once every notification about them has been drained or discarded.
+     */
+    void setWorkloadSource(WorkloadSource source);
+
+    /**
+     * Replaces the workload with an edited version of it without starting over. The run goes back to the latest
+     * checkpoint the edit cannot have affected: one taken no later than the earliest arrival that differs between
+     * the two workloads, the first online submission, and the current time. Running on from the returned time ends
+     * in the same state as loading the new workload and running it from the start. Online submissions are dropped,
+     * as when loading a table; without a usable checkpoint the run restarts at 0.
+     *
+     * @return the time the run resumes from
+     */
+    int updateProcessTable(ProcessTable processes);
+
     void reset();
 
+    /**
+     * Adds a process to the running simulation. Safe to call from any thread, concurrently with the thread that
+     * steps the scheduler: the process arrives at the next step boundary, with the clock time of that step as its
+     * arrival time. Submissions not yet picked up are dropped by {@link #reset()}.
+     */
+    void submit(String id, int burstTime, int priority);
+
     Optional<Process> step();
 
+    /**
+     * Keeps a checkpoint of the scheduler state about every {@code interval} time units while the simulation runs,
+     * holding at most {@code memoryBudgetBytes} of them, so that {@link #seek(int)} replays only from the nearest
+     * checkpoint instead of from the start. An interval of 0 turns checkpoints off. Existing checkpoints are dropped.
+     */
+    void setCheckpointing(int interval, long memoryBudgetBytes);
+
+    /**
+     * Moves the simulation to the given time, backwards or forwards, as if it had been run from the start up to
+     * there. Processes submitted online are replayed at the times they originally arrived; a new submission after
+     * seeking back replaces whatever the run did after that point. Notifications produced on the way are discarded.
+     * In next-event mode the clock may stop past the target, as with stepping.
+     */
+    void seek(int time);
+
     boolean isFinished();
 
     int getCurrentTime();
@@ -23,5 +72,39 @@ public interface Scheduler {
 
     List<String> consumeEvents();
 
+    /**
+     * Hands the typed events recorded since the last drain to the consumer, oldest first.
+     * Shares the same buffer as {@link #consumeEvents()}, which formats them as text instead.
+     */
+    void drainEvents(Consumer<SchedulerEvent> consumer);
+
+    /**
+     * Hands every process whose observable state changed since the last drain to the consumer, each once.
+     */
+    void drainChangedProcesses(Consumer<Process> consumer);
+
+    /**
+     * Hands the ready-queue changes recorded since the last drain to the consumer in the order they happened.
+     */
+    void drainReadyQueueChanges(BiConsumer<ReadyQueueChange, Process> consumer);
+
+    /**
+     * Drops the events, changed processes and ready-queue changes recorded since the last drain, for callers
+     * that run a simulation without observing it.
+     */
+    void discardNotifications();
+
+    Process getProcess(int handle);
+
     List<Process> readyQueueSnapshot();
+
+    /**
+     * Returns how many processes are waiting in ready queues, without building a snapshot.
+     */
+    int readyQueueSize();
+
+    /**
+     * Returns how busy each CPU core has been so far and how often processes moved between cores.
+     */
+    CoreStatistics coreStatistics();
 }
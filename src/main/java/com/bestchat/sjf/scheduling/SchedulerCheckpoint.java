@@ -0,0 +1,37 @@
+package com.bestchat.sjf.scheduling;
+
+import com.bestchat.sjf.model.ProcessTable;
+
+/**
+ * Full state of a {@link SJFWithPriorityScheduler} between two steps. Rows that have not arrived yet are still at
+ * their initial values and are left out, so only the arrived prefix of the workload and the rows of online
+ * submissions are copied. Queues are stored in heap order, which rebuilds them exactly, ties included.
+ *
+ * @param time             virtual time of the next step
+ * @param arrivalIndex     number of workload rows that have arrived
+ * @param arrivedRows      runtime columns of rows {@code [0, arrivalIndex)}
+ * @param submittedRows    runtime columns of the rows added by submissions, which follow the workload rows
+ * @param submittedIds     ids of the submitted rows; with the arrival, burst and priority columns that follow they let
+ *                         a checkpoint ahead of the current state be restored
+ * @param replayedPickups  how many logged submissions had been picked up
+ * @param readyQueues      queued handles of every core, in heap order
+ * @param agingTimers      handles waiting for promotion, in heap order
+ */
+record SchedulerCheckpoint(int time, int arrivalIndex, ProcessTable.RuntimeColumns arrivedRows,
+                           ProcessTable.RuntimeColumns submittedRows, String[] submittedIds,
+                           int[] submittedArrivals, int[] submittedBursts, int[] submittedPriorities,
+                           int replayedPickups, int[][] readyQueues, int[] agingTimers, int[] running,
+                           long[] busyTime, int runningCount, long migrations, int nextArrivalCore,
+                           long arrived, long completed) {
+
+    long sizeInBytes() {
+        long bytes = arrivedRows.sizeInBytes() + submittedRows.sizeInBytes()
+                + (long) submittedIds.length * (Long.BYTES + 3 * Integer.BYTES)
+                + (long) agingTimers.length * Integer.BYTES
+                + (long) running.length * (Integer.BYTES + Long.BYTES);
+        for (int[] queue : readyQueues) {
+            bytes += (long) queue.length * Integer.BYTES;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bestchat.sjf.scheduling;
+
+/**
+ * Typed scheduling event. Processes are referenced by their handle within the scheduler's workload
+ * (see {@link Scheduler#getProcess(int)}), so recording an event never builds text.
+ *
+ * @param kind    what happened
+ * @param time    virtual time of the event
+ * @param process handle of the process the event is about
+ * @param related handle of the second process involved (the preempted one for {@link SchedulerEventKind#PREEMPTED}), or -1
+ * @param value   kind-specific value: the priority at start for {@link SchedulerEventKind#STARTED},
+ *                the new priority for {@link SchedulerEventKind#AGED}, the target core for
+ *                {@link SchedulerEventKind#MIGRATED}, otherwise 0
+ */
+public record SchedulerEvent(SchedulerEventKind kind, int time, int process, int related, int value) {
+}
@@ -0,0 +1,108 @@
+package com.bestchat.sjf.scheduling;
+
+import java.util.function.Consumer;
+
+/**
+ * Growable ring buffer that stores scheduler events as parallel primitive columns.
+ * Appending allocates nothing once the buffer has reached its working size; {@link SchedulerEvent}
+ * records are only materialized when the events are drained.
+ */
+public class SchedulerEventBuffer {
+    private static final SchedulerEventKind[] KINDS = SchedulerEventKind.values();
+
+    private byte[] kinds;
+    private int[] times;
+    private int[] processes;
+    private int[] related;
+    private int[] values;
+    private int head;
+    private int size;
+
+    public SchedulerEventBuffer() {
+        this(64);
+    }
+
+    public SchedulerEventBuffer(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+        kinds = new byte[capacity];
+        times = new int[capacity];
+        processes = new int[capacity];
+        related = new int[capacity];
+        values = new int[capacity];
+    }
+
+    public void append(SchedulerEventKind kind, int time, int process, int relatedProcess, int value) {
+        if (size == kinds.length) {
+            grow();
+        }
+        int slot = (head + size) & (kinds.length - 1);
+        kinds[slot] = (byte) kind.ordinal();
+        times[slot] = time;
+        processes[slot] = process;
+        related[slot] = relatedProcess;
+        values[slot] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Removes and returns the oldest event, or {@code null} when the buffer is empty.
+     */
+    public SchedulerEvent poll() {
+        if (size == 0) {
+            return null;
+        }
+        SchedulerEvent event = new SchedulerEvent(KINDS[kinds[head]], times[head], processes[head], related[head], values[head]);
+        head = (head + 1) & (kinds.length - 1);
+        size--;
+        return event;
+    }
+
+    /**
+     * Hands every buffered event to the consumer in recording order and empties the buffer.
+     */
+    public void drain(Consumer<SchedulerEvent> consumer) {
+        while (size > 0) {
+            consumer.accept(poll());
+        }
+        head = 0;
+    }
+
+    private void grow() {
+        int capacity = kinds.length;
+        kinds = unroll(kinds, capacity);
+        times = unroll(times, capacity);
+        processes = unroll(processes, capacity);
+        related = unroll(related, capacity);
+        values = unroll(values, capacity);
+        head = 0;
+    }
+
+    private byte[] unroll(byte[] column, int capacity) {
+        byte[] grown = new byte[capacity * 2];
+        int tail = capacity - head;
+        System.arraycopy(column, head, grown, 0, tail);
+        System.arraycopy(column, 0, grown, tail, head);
+        return grown;
+    }
+
+    private int[] unroll(int[] column, int capacity) {
+        int[] grown = new int[capacity * 2];
+        int tail = capacity - head;
+        System.arraycopy(column, head, grown, 0, tail);
+        System.arraycopy(column, 0, grown, tail, head);
+        return grown;
+    }
+}
@@ -0,0 +1,38 @@
+package com.bestchat.sjf.scheduling;
+
+import com.bestchat.sjf.model.Process;
+
+import java.util.function.IntFunction;
+
+/**
+ * Renders typed scheduler events as human-readable log lines. Formatting is deferred until
+ * something actually displays or logs an event.
+ */
+public class SchedulerEventFormatter {
+    private final IntFunction<Process> processLookup;
+
+    public SchedulerEventFormatter(IntFunction<Process> processLookup) {
+        this.processLookup = processLookup;
+    }
+
+    /**
+     * Returns the id of the process behind the given handle.
+     */
+    public String processId(int handle) {
+        return processLookup.apply(handle).getId();
+    }
+
+    public String format(SchedulerEvent event) {
+        Process process = processLookup.apply(event.process());
+        String prefix = "t=" + event.time() + ": ";
+        return switch (event.kind()) {
+            case ARRIVED -> prefix + "Процесс " + process.getId() + " поступил в систему";
+            case STARTED -> prefix + "Процесс " + process.getId() + " запущен (появление=" + process.getArrivalTime()
+                    + ", длительность=" + process.getBurstTime() + ", приоритет=" + event.value() + ")";
+            case PREEMPTED -> prefix + "Процесс " + process.getId() + " вытеснил " + processLookup.apply(event.related()).getId();
+            case AGED -> prefix + "Старение приоритета повысило процесс " + process.getId();
+            case FINISHED -> prefix + "Процесс " + process.getId() + " завершён";
+            case MIGRATED -> prefix + "Процесс " + process.getId() + " перенесён на ядро " + event.value();
+        };
+    }
+}
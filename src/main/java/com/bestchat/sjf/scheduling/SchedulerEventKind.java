@@ -0,0 +1,13 @@
+package com.bestchat.sjf.scheduling;
+
+/**
+ * Kinds of scheduling decisions reported by a scheduler.
+ */
+public enum SchedulerEventKind {
+    ARRIVED,
+    STARTED,
+    PREEMPTED,
+    AGED,
+    FINISHED,
+    MIGRATED
+}
@@ -0,0 +1,15 @@
+package com.bestchat.sjf.scheduling;
+
+/**
+ * Defines how far the scheduler moves virtual time on a single step.
+ */
+public enum TimeAdvanceMode {
+    /**
+     * Advances time by exactly one unit per step.
+     */
+    TICK,
+    /**
+     * Jumps straight to the next point where the schedule can change: an arrival, a completion or an aging threshold.
+     */
+    NEXT_EVENT
+}
@@ -0,0 +1,83 @@
+package com.bestchat.sjf.simulation;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a {@link SimulationEngine} as fast as possible on a dedicated daemon thread.
+ * Listeners are notified on that thread, so UI code must hand the state over to its own thread.
+ */
+public class BackgroundDriver implements AutoCloseable {
+    private final SimulationEngine engine;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "simulation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CompletableFuture<Void> run = CompletableFuture.completedFuture(null);
+    private int target = Integer.MAX_VALUE;
+
+    public BackgroundDriver(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Starts running the workload to completion, or returns the run already in progress.
+     */
+    public synchronized CompletableFuture<Void> start() {
+        return runUntil(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts running up to the given time (see {@link SimulationEngine#runUntil(int)}), or returns the run already
+     * in progress.
+     */
+    public synchronized CompletableFuture<Void> runUntil(int time) {
+        if (run.isDone()) {
+            target = time;
+            run = CompletableFuture.runAsync(() -> engine.runUntil(time), executor);
+        }
+        return run;
+    }
+
+    /**
+     * Carries on towards the time the last run was started for, for example after a {@link #pause()} to change the
+     * engine from another thread.
+     */
+    public synchronized CompletableFuture<Void> resume() {
+        return runUntil(target);
+    }
+
+    public synchronized boolean isRunning() {
+        return !run.isDone();
+    }
+
+    /**
+     * Stops the run in progress and waits until the simulation thread has left the engine,
+     * after which the engine may be used from the calling thread again.
+     */
+    public synchronized void pause() {
+        // A run that has not entered the engine yet would clear the stop flag, so keep asking until it is done.
+        while (!run.isDone()) {
+            engine.stop();
+            try {
+                run.get(1, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException ex) {
+                // Failures are reported to whoever observes the future returned by start().
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pause();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.metrics.StreamingDistribution;
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessState;
+
+import java.util.List;
+
+/**
+ * Running distributions of waiting, turnaround and response time over finished processes, updated as completions
+ * arrive instead of from the full results table. Attach it to a {@link SimulationEngine} as a listener, or feed it
+ * directly with {@link #record(int, int, int)}; memory stays constant however many processes finish. Recording is
+ * synchronized so a UI thread can read a {@link #report()} while the simulation thread keeps adding, and statistics
+ * collected on separate threads combine with {@link #merge}.
+ */
+public class CompletionStatistics implements SimulationListener {
+    private final StreamingDistribution waitingTime = new StreamingDistribution();
+    private final StreamingDistribution turnaroundTime = new StreamingDistribution();
+    private final StreamingDistribution responseTime = new StreamingDistribution();
+
+    @Override
+    public void onProcessStateChanged(Process process) {
+        if (process.getState() == ProcessState.FINISHED) {
+            record(process);
+        }
+    }
+
+    @Override
+    public void onTimeAdvanced(int time) {
+    }
+
+    @Override
+    public void onSchedulingEvent(String message) {
+    }
+
+    @Override
+    public void onReadyQueueUpdated(List<Process> ready) {
+    }
+
+    public void record(Process process) {
+        record(process.getWaitingTime(), process.getTurnaroundTime(), process.getStartTime() - process.getArrivalTime());
+    }
+
+    /**
+     * Records one finished process; response time is the delay from arrival to the first dispatch.
+     */
+    public synchronized void record(int waiting, int turnaround, int response) {
+        waitingTime.add(waiting);
+        turnaroundTime.add(turnaround);
+        responseTime.add(response);
+    }
+
+    /**
+     * Adds everything the other statistics have recorded. Two instances must not be merged into each other
+     * concurrently.
+     */
+    public void merge(CompletionStatistics other) {
+        synchronized (other) {
+            synchronized (this) {
+                waitingTime.merge(other.waitingTime);
+                turnaroundTime.merge(other.turnaroundTime);
+                responseTime.merge(other.responseTime);
+            }
+        }
+    }
+
+    public synchronized void reset() {
+        waitingTime.reset();
+        turnaroundTime.reset();
+        responseTime.reset();
+    }
+
+    public synchronized long completed() {
+        return waitingTime.count();
+    }
+
+    public synchronized Report report() {
+        return new Report(waitingTime.count(), waitingTime.summary(), turnaroundTime.summary(), responseTime.summary());
+    }
+
+    public record Report(long completed, StreamingDistribution.Summary waitingTime,
+                         StreamingDistribution.Summary turnaroundTime, StreamingDistribution.Summary responseTime) {
+    }
+}
@@ -0,0 +1,414 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
+import com.bestchat.sjf.scheduling.SchedulerEventKind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded log of typed scheduler events, addressed by a sequence number that keeps growing for the lifetime of the log.
+ * Events are kept column-wise in fixed-size segments. Once more than {@code capacity} events are held in memory, the
+ * oldest segment is either dropped or, when a spill directory was given, written to a temporary file and read back on
+ * demand. Every sealed segment keeps a small summary (the process ids and event kinds it contains), so a search only
+ * opens segments that can match and then compares primitive columns instead of formatted lines.
+ * Not thread-safe.
+ */
+public class EventLogStore implements AutoCloseable {
+    private static final int DEFAULT_SEGMENT_SIZE = 4096;
+    private static final int BYTES_PER_EVENT = 1 + 4 * Integer.BYTES;
+    private static final SchedulerEventKind[] KINDS = SchedulerEventKind.values();
+
+    private final int capacity;
+    private final int segmentSize;
+    private final FileChannel spill;
+    private final List<Segment> segments = new ArrayList<>();
+    private long firstSequence;
+    private long nextSequence;
+    private long spillEnd;
+    private int inMemory;
+    private Segment loaded;
+    private Columns loadedColumns;
+
+    /**
+     * Creates a log that keeps at most {@code capacity} events, discarding the oldest ones.
+     */
+    public EventLogStore(int capacity) {
+        this(capacity, DEFAULT_SEGMENT_SIZE, (FileChannel) null);
+    }
+
+    /**
+     * Creates a log that keeps at most {@code capacity} events in memory and spills older ones to a temporary file
+     * in the given directory. The file is deleted when the log is closed.
+     */
+    public EventLogStore(int capacity, Path spillDirectory) throws IOException {
+        this(capacity, DEFAULT_SEGMENT_SIZE, spillDirectory);
+    }
+
+    EventLogStore(int capacity, int segmentSize, Path spillDirectory) throws IOException {
+        this(capacity, segmentSize, spillDirectory == null ? null : openSpillFile(spillDirectory));
+    }
+
+    private EventLogStore(int capacity, int segmentSize, FileChannel spill) {
+        if (capacity <= 0 || segmentSize <= 0) {
+            throw new IllegalArgumentException("Ёмкость журнала и размер сегмента должны быть положительными");
+        }
+        this.capacity = capacity;
+        // A segment never holds more than the whole in-memory budget, so eviction never touches the active one.
+        this.segmentSize = Math.min(segmentSize, capacity);
+        this.spill = spill;
+    }
+
+    private static FileChannel openSpillFile(Path directory) throws IOException {
+        return FileChannel.open(Files.createTempFile(directory, "sjf-events", ".bin"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * Appends an event. Events formatted by different formatters (that is, recorded for different workloads) never
+     * share a segment, so each of them is later rendered with the formatter it was recorded with.
+     */
+    public void append(SchedulerEvent event, SchedulerEventFormatter formatter) {
+        Segment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (active == null || active.columns.count == segmentSize || active.formatter != formatter) {
+            if (active != null) {
+                active.seal();
+            }
+            active = new Segment(formatter, nextSequence, segmentSize);
+            segments.add(active);
+        }
+        active.columns.add(event);
+        nextSequence++;
+        inMemory++;
+        while (inMemory > capacity && segments.size() > 1) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Returns the sequence number of the oldest event still available.
+     */
+    public long firstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * Returns the sequence number the next appended event will get.
+     */
+    public long nextSequence() {
+        return nextSequence;
+    }
+
+    public long size() {
+        return nextSequence - firstSequence;
+    }
+
+    public boolean isEmpty() {
+        return nextSequence == firstSequence;
+    }
+
+    public SchedulerEvent get(long sequence) {
+        Segment segment = segmentOf(sequence);
+        return columnsOf(segment).get((int) (sequence - segment.firstSequence));
+    }
+
+    public String format(long sequence) {
+        Segment segment = segmentOf(sequence);
+        return segment.formatter.format(columnsOf(segment).get((int) (sequence - segment.firstSequence)));
+    }
+
+    /**
+     * Tells whether an event concerns the given process and has the given kind; {@code null} matches anything.
+     */
+    public boolean matches(long sequence, String processId, SchedulerEventKind kind) {
+        Segment segment = segmentOf(sequence);
+        Columns columns = columnsOf(segment);
+        int offset = (int) (sequence - segment.firstSequence);
+        if (kind != null && columns.kinds[offset] != kind.ordinal()) {
+            return false;
+        }
+        if (processId == null) {
+            return true;
+        }
+        SchedulerEventFormatter formatter = segment.formatter;
+        return processId.equals(formatter.processId(columns.processes[offset]))
+                || columns.related[offset] >= 0 && processId.equals(formatter.processId(columns.related[offset]));
+    }
+
+    /**
+     * Returns, in order, the sequence numbers of all available events that concern the given process and have the
+     * given kind; {@code null} matches anything. A preemption concerns both processes involved.
+     */
+    public long[] find(String processId, SchedulerEventKind kind) {
+        long[] found = new long[16];
+        int count = 0;
+        for (Segment segment : segments) {
+            Summary summary = segment.summary();
+            if (kind != null && (summary.kindMask & 1 << kind.ordinal()) == 0) {
+                continue;
+            }
+            int handle = -1;
+            if (processId != null) {
+                int position = Arrays.binarySearch(summary.ids, processId);
+                if (position < 0) {
+                    continue;
+                }
+                handle = summary.handles[position];
+            }
+            Columns columns = columnsOf(segment);
+            for (int offset = 0; offset < columns.count; offset++) {
+                if (kind != null && columns.kinds[offset] != kind.ordinal()) {
+                    continue;
+                }
+                if (handle >= 0 && columns.processes[offset] != handle && columns.related[offset] != handle) {
+                    continue;
+                }
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count << 1);
+                }
+                found[count++] = segment.firstSequence + offset;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    public void clear() {
+        segments.clear();
+        firstSequence = nextSequence;
+        inMemory = 0;
+        loaded = null;
+        loadedColumns = null;
+        if (spill != null) {
+            try {
+                spill.truncate(0);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            spillEnd = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    private void evictOldest() {
+        if (spill == null) {
+            Segment oldest = segments.remove(0);
+            firstSequence = oldest.firstSequence + oldest.columns.count;
+            inMemory -= oldest.columns.count;
+            return;
+        }
+        for (int i = 0; i < segments.size() - 1; i++) {
+            Segment segment = segments.get(i);
+            if (segment.columns != null) {
+                inMemory -= segment.columns.count;
+                writeToSpill(segment);
+                return;
+            }
+        }
+    }
+
+    private void writeToSpill(Segment segment) {
+        Columns columns = segment.columns;
+        ByteBuffer buffer = ByteBuffer.allocate(columns.count * BYTES_PER_EVENT);
+        buffer.put(columns.kinds, 0, columns.count);
+        buffer.asIntBuffer()
+                .put(columns.times, 0, columns.count)
+                .put(columns.processes, 0, columns.count)
+                .put(columns.related, 0, columns.count)
+                .put(columns.values, 0, columns.count);
+        buffer.clear();
+        try {
+            long position = spillEnd;
+            while (buffer.hasRemaining()) {
+                position += spill.write(buffer, position);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        segment.spillPosition = spillEnd;
+        segment.spilledCount = columns.count;
+        segment.columns = null;
+        spillEnd += buffer.capacity();
+    }
+
+    private Columns columnsOf(Segment segment) {
+        if (segment.columns != null) {
+            return segment.columns;
+        }
+        if (loaded != segment) {
+            loadedColumns = readFromSpill(segment);
+            loaded = segment;
+        }
+        return loadedColumns;
+    }
+
+    private Columns readFromSpill(Segment segment) {
+        int count = segment.spilledCount;
+        ByteBuffer buffer = ByteBuffer.allocate(count * BYTES_PER_EVENT);
+        try {
+            long position = segment.spillPosition;
+            while (buffer.hasRemaining()) {
+                int read = spill.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Файл журнала событий обрезан");
+                }
+                position += read;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.flip();
+        Columns columns = new Columns(count);
+        buffer.get(columns.kinds, 0, count);
+        buffer.asIntBuffer()
+                .get(columns.times, 0, count)
+                .get(columns.processes, 0, count)
+                .get(columns.related, 0, count)
+                .get(columns.values, 0, count);
+        columns.count = count;
+        return columns;
+    }
+
+    private Segment segmentOf(long sequence) {
+        if (sequence < firstSequence || sequence >= nextSequence) {
+            throw new IndexOutOfBoundsException("Событие " + sequence + " отсутствует в журнале");
+        }
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).firstSequence <= sequence) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    private static final class Segment {
+        private final SchedulerEventFormatter formatter;
+        private final long firstSequence;
+        private Columns columns;
+        private Summary summary;
+        private long spillPosition = -1;
+        private int spilledCount;
+
+        Segment(SchedulerEventFormatter formatter, long firstSequence, int capacity) {
+            this.formatter = formatter;
+            this.firstSequence = firstSequence;
+            this.columns = new Columns(capacity);
+        }
+
+        void seal() {
+            summary = Summary.of(columns, formatter);
+        }
+
+        /**
+         * Sealed segments keep their summary; the one still being appended to is summarised on demand.
+         */
+        Summary summary() {
+            return summary != null ? summary : Summary.of(columns, formatter);
+        }
+    }
+
+    private static final class Columns {
+        private byte[] kinds;
+        private int[] times;
+        private int[] processes;
+        private int[] related;
+        private int[] values;
+        private int count;
+
+        Columns(int capacity) {
+            kinds = new byte[capacity];
+            times = new int[capacity];
+            processes = new int[capacity];
+            related = new int[capacity];
+            values = new int[capacity];
+        }
+
+        void add(SchedulerEvent event) {
+            if (count == kinds.length) {
+                int grown = Math.max(16, count << 1);
+                kinds = Arrays.copyOf(kinds, grown);
+                times = Arrays.copyOf(times, grown);
+                processes = Arrays.copyOf(processes, grown);
+                related = Arrays.copyOf(related, grown);
+                values = Arrays.copyOf(values, grown);
+            }
+            kinds[count] = (byte) event.kind().ordinal();
+            times[count] = event.time();
+            processes[count] = event.process();
+            related[count] = event.related();
+            values[count] = event.value();
+            count++;
+        }
+
+        SchedulerEvent get(int offset) {
+            return new SchedulerEvent(KINDS[kinds[offset]], times[offset], processes[offset], related[offset], values[offset]);
+        }
+    }
+
+    /**
+     * Process ids (sorted, with their handles) and event kinds occurring in a segment.
+     */
+    private static final class Summary {
+        private final String[] ids;
+        private final int[] handles;
+        private final int kindMask;
+
+        private Summary(String[] ids, int[] handles, int kindMask) {
+            this.ids = ids;
+            this.handles = handles;
+            this.kindMask = kindMask;
+        }
+
+        static Summary of(Columns columns, SchedulerEventFormatter formatter) {
+            int[] distinct = new int[columns.count * 2];
+            int count = 0;
+            int kindMask = 0;
+            for (int offset = 0; offset < columns.count; offset++) {
+                kindMask |= 1 << columns.kinds[offset];
+                distinct[count++] = columns.processes[offset];
+                if (columns.related[offset] >= 0) {
+                    distinct[count++] = columns.related[offset];
+                }
+            }
+            int[] handles = Arrays.stream(distinct, 0, count).distinct().toArray();
+            Integer[] order = new Integer[handles.length];
+            String[] names = new String[handles.length];
+            int named = 0;
+            for (int i = 0; i < handles.length; i++) {
+                names[i] = formatter.processId(handles[i]);
+                // A row the table has already released has no id left to search for.
+                if (names[i] != null) {
+                    order[named++] = i;
+                }
+            }
+            Arrays.sort(order, 0, named, (a, b) -> names[a].compareTo(names[b]));
+            String[] ids = new String[named];
+            int[] sortedHandles = new int[named];
+            for (int i = 0; i < named; i++) {
+                ids[i] = names[order[i]];
+                sortedHandles[i] = handles[order[i]];
+            }
+            return new Summary(ids, sortedHandles, kindMask);
+        }
+    }
+}
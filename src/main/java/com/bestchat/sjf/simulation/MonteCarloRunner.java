@@ -0,0 +1,229 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.TimeAdvanceMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs many independent replications of a random workload and summarises waiting and turnaround time across them.
+ * Replication {@code i} draws its workload from a generator seeded with a mix of the base seed and {@code i}, so a
+ * report depends only on the seed and not on how replications were spread over threads. Replications are split into
+ * one contiguous range per worker, and each worker reuses its process table, scheduler and sort buffers for every
+ * replication in its range.
+ * <p>
+ * Besides the per-replication estimates the report pools every finished process of every replication into one
+ * {@link CompletionStatistics}. Quantile sketches depend on the order they are merged in, so the replications are cut
+ * into a fixed number of chunks that does not depend on the thread count; each chunk has its own statistics, worker
+ * ranges are whole chunks, and the chunks are merged in order at the end.
+ */
+public class MonteCarloRunner {
+    private static final double Z_95 = 1.959964;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int CHUNKS = 64;
+
+    private final Executor executor;
+    private final int parallelism;
+
+    public MonteCarloRunner() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public MonteCarloRunner(Executor executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным");
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    public Report run(WorkloadSpec workload, ParameterSweep.Configuration configuration, int replications, long seed) {
+        return runAsync(workload, configuration, replications, seed).join();
+    }
+
+    public CompletableFuture<Report> runAsync(WorkloadSpec workload, ParameterSweep.Configuration configuration,
+                                              int replications, long seed) {
+        if (replications <= 0) {
+            throw new IllegalArgumentException("Число прогонов должно быть положительным");
+        }
+        // One row per replication and statistic: mean, p50, p95, p99 of waiting, then the same of turnaround.
+        double[][] samples = new double[8][replications];
+        int chunks = Math.min(CHUNKS, replications);
+        CompletionStatistics[] pooled = new CompletionStatistics[chunks];
+        int workers = Math.min(parallelism, chunks);
+        List<CompletableFuture<Void>> ranges = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int fromChunk = chunks * worker / workers;
+            int toChunk = chunks * (worker + 1) / workers;
+            ranges.add(CompletableFuture.runAsync(() -> {
+                Worker runner = new Worker(workload, configuration);
+                for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+                    pooled[chunk] = new CompletionStatistics();
+                    runner.run(chunkStart(replications, chunks, chunk), chunkStart(replications, chunks, chunk + 1),
+                            seed, samples, pooled[chunk]);
+                }
+            }, executor));
+        }
+        return CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new))
+                .thenApply(done -> new Report(replications,
+                        summarise(samples[0], samples[1], samples[2], samples[3]),
+                        summarise(samples[4], samples[5], samples[6], samples[7]),
+                        pool(pooled)));
+    }
+
+    private static int chunkStart(int replications, int chunks, int chunk) {
+        return (int) ((long) replications * chunk / chunks);
+    }
+
+    private static CompletionStatistics.Report pool(CompletionStatistics[] chunks) {
+        CompletionStatistics total = new CompletionStatistics();
+        for (CompletionStatistics chunk : chunks) {
+            total.merge(chunk);
+        }
+        return total.report();
+    }
+
+    private static Summary summarise(double[] means, double[] p50, double[] p95, double[] p99) {
+        return new Summary(estimate(means), estimate(p50), estimate(p95), estimate(p99));
+    }
+
+    /**
+     * Mean over replications with a 95% confidence interval from the normal approximation.
+     */
+    static Estimate estimate(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        double mean = sum / values.length;
+        if (values.length < 2) {
+            return new Estimate(mean, mean, mean);
+        }
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        double halfWidth = Z_95 * Math.sqrt(squares / (values.length - 1) / values.length);
+        return new Estimate(mean, mean - halfWidth, mean + halfWidth);
+    }
+
+    /**
+     * Seed of one replication: the base seed and the index mixed like {@code SplittableRandom} mixes its state,
+     * so neighbouring replications get unrelated streams.
+     */
+    static long replicationSeed(long seed, int replication) {
+        long z = seed + (replication + 1L) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Per-thread state reused across the replications of one range.
+     */
+    private static final class Worker {
+        private final WorkloadSpec workload;
+        private final String[] ids;
+        private final ProcessTable table;
+        private final SimulationEngine engine;
+        private final int[] waiting;
+        private final int[] turnaround;
+
+        private Worker(WorkloadSpec workload, ParameterSweep.Configuration configuration) {
+            this.workload = workload;
+            this.ids = new String[workload.processes()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = "R" + i;
+            }
+            this.table = new ProcessTable(workload.processes());
+            this.engine = new SimulationEngine(new SJFWithPriorityScheduler(configuration.mode(),
+                    configuration.agingEnabled(), configuration.agingThreshold(), TimeAdvanceMode.NEXT_EVENT));
+            this.waiting = new int[workload.processes()];
+            this.turnaround = new int[workload.processes()];
+        }
+
+        private void run(int from, int to, long seed, double[][] samples, CompletionStatistics pooled) {
+            for (int replication = from; replication < to; replication++) {
+                generate(new SplittableRandom(replicationSeed(seed, replication)));
+                engine.loadWorkload(table);
+                engine.runToCompletion();
+                int n = table.size();
+                for (int handle = 0; handle < n; handle++) {
+                    waiting[handle] = table.getWaitingTime(handle);
+                    turnaround[handle] = table.getFinishTime(handle) - table.getArrivalTime(handle);
+                    pooled.record(waiting[handle], turnaround[handle],
+                            table.getStartTime(handle) - table.getArrivalTime(handle));
+                }
+                record(waiting, n, samples, 0, replication);
+                record(turnaround, n, samples, 4, replication);
+            }
+        }
+
+        /**
+         * Refills the table with a fresh workload in arrival order; ids are the same in every replication.
+         */
+        private void generate(SplittableRandom random) {
+            table.clear();
+            double clock = 0;
+            for (String id : ids) {
+                clock -= Math.log(1 - random.nextDouble()) / workload.arrivalRate();
+                table.add(id, (int) clock, random.nextInt(workload.minBurst(), workload.maxBurst() + 1),
+                        random.nextInt(1, workload.priorityLevels() + 1));
+            }
+        }
+
+        private static void record(int[] values, int n, double[][] samples, int row, int replication) {
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += values[i];
+            }
+            Arrays.sort(values, 0, n);
+            samples[row][replication] = n == 0 ? 0 : (double) sum / n;
+            samples[row + 1][replication] = percentile(values, n, 0.50);
+            samples[row + 2][replication] = percentile(values, n, 0.95);
+            samples[row + 3][replication] = percentile(values, n, 0.99);
+        }
+
+        /**
+         * Nearest-rank percentile of the first {@code n} sorted values.
+         */
+        private static int percentile(int[] sorted, int n, double p) {
+            return n == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(p * n) - 1)];
+        }
+    }
+
+    /**
+     * Random workload shape: arrivals form a Poisson process with the given rate per time unit, bursts are uniform
+     * in {@code [minBurst, maxBurst]} and priorities uniform in {@code [1, priorityLevels]}.
+     */
+    public record WorkloadSpec(int processes, double arrivalRate, int minBurst, int maxBurst, int priorityLevels) {
+        public WorkloadSpec {
+            if (processes < 0 || arrivalRate <= 0 || minBurst <= 0 || maxBurst < minBurst || priorityLevels <= 0) {
+                throw new IllegalArgumentException("Некорректные параметры рабочей нагрузки");
+            }
+        }
+    }
+
+    /**
+     * Mean of a statistic over replications with the bounds of its 95% confidence interval.
+     */
+    public record Estimate(double mean, double lower, double upper) {
+    }
+
+    public record Summary(Estimate mean, Estimate p50, Estimate p95, Estimate p99) {
+    }
+
+    /**
+     * @param pooled distributions over all processes of all replications taken together
+     */
+    public record Report(int replications, Summary waitingTime, Summary turnaroundTime,
+                         CompletionStatistics.Report pooled) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.LoadBalancing;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.scheduling.TimeAdvanceMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs one workload under a grid of scheduler configurations in parallel and collects aggregate metrics.
+ * Every configuration gets its own scheduler and runtime columns, while the process definitions are shared by all
+ * runs (see {@link ProcessTable#runtimeCopy()}). Runs use {@link TimeAdvanceMode#NEXT_EVENT}, which produces the same
+ * schedule as the tick loop in far fewer steps. With a {@link SimulationResultCache} a configuration that was already
+ * run on the same workload is not simulated again.
+ */
+public class ParameterSweep {
+    private final Executor executor;
+    private final SimulationResultCache cache;
+
+    public ParameterSweep() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParameterSweep(Executor executor) {
+        this(executor, null);
+    }
+
+    /**
+     * @param cache finished runs to reuse and to add to, or {@code null} to always simulate
+     */
+    public ParameterSweep(Executor executor, SimulationResultCache cache) {
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    /**
+     * Builds the grid mode × aging: for every mode one run without aging and one run per aging threshold.
+     */
+    public static List<Configuration> grid(List<SchedulingMode> modes, List<Integer> agingThresholds) {
+        List<Configuration> grid = new ArrayList<>();
+        for (SchedulingMode mode : modes) {
+            grid.add(new Configuration(mode, false, 0));
+            for (int threshold : agingThresholds) {
+                grid.add(new Configuration(mode, true, threshold));
+            }
+        }
+        return grid;
+    }
+
+    public List<Result> run(List<Process> workload, List<Configuration> configurations) {
+        return runAsync(ProcessTable.of(workload), configurations).join();
+    }
+
+    /**
+     * Starts every configuration on the executor. Results come back in the order of {@code configurations}.
+     * The workload table shares its definitions with the runs, so it no longer accepts new rows afterwards.
+     */
+    public CompletableFuture<List<Result>> runAsync(ProcessTable workload, List<Configuration> configurations) {
+        // Sorting once up front means every runtime copy is already in arrival order and the schedulers use it as is.
+        ProcessTable definitions = workload.sortedByArrival();
+        String digest = cache == null ? null : SimulationResultCache.workloadDigest(definitions);
+        List<CompletableFuture<Result>> runs = new ArrayList<>(configurations.size());
+        for (Configuration configuration : configurations) {
+            ProcessTable table = definitions.runtimeCopy();
+            runs.add(CompletableFuture.supplyAsync(
+                    () -> runOne(configuration, 1, LoadBalancing.WORK_STEALING, table, digest), executor));
+        }
+        return CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new))
+                .thenApply(done -> runs.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Runs one configuration on the given number of cores, for example to get the final metrics of the setup shown in
+     * the UI without stepping through it. Like {@link #runAsync(ProcessTable, List)} it stops the workload table from
+     * accepting new rows.
+     */
+    public CompletableFuture<Result> runAsync(ProcessTable workload, Configuration configuration, int cores,
+                                              LoadBalancing balancing) {
+        ProcessTable table = workload.sortedByArrival().runtimeCopy();
+        return CompletableFuture.supplyAsync(() -> runOne(configuration, cores, balancing, table,
+                cache == null ? null : SimulationResultCache.workloadDigest(table)), executor);
+    }
+
+    private Result runOne(Configuration configuration, int cores, LoadBalancing balancing, ProcessTable table,
+                          String digest) {
+        String key = cache == null ? null : SimulationResultCache.key(digest, configuration, cores, balancing);
+        if (key != null) {
+            SimulationResultCache.CachedRun cached = cache.get(key);
+            if (cached != null && cached.schedule().rows() == table.size()) {
+                return new Result(configuration, cached.metrics());
+            }
+        }
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(configuration.mode(),
+                configuration.agingEnabled(), configuration.agingThreshold(), TimeAdvanceMode.NEXT_EVENT, cores,
+                balancing);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        engine.loadWorkload(table);
+        engine.runToCompletion();
+        if (key == null) {
+            return new Result(configuration, RunMetrics.of(table));
+        }
+        SimulationResultCache.CachedRun run = SimulationResultCache.CachedRun.of(table);
+        cache.put(key, run);
+        return new Result(configuration, run.metrics());
+    }
+
+    /**
+     * One point of the sweep grid.
+     */
+    public record Configuration(SchedulingMode mode, boolean agingEnabled, int agingThreshold) {
+    }
+
+    public record Result(Configuration configuration, RunMetrics metrics) {
+    }
+}
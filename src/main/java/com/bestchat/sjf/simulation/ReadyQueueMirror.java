@@ -0,0 +1,103 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.PriorityBucketQueue;
+import com.bestchat.sjf.scheduling.ReadyQueueChange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps the ready queue sorted in dispatch order from incremental ready-queue notifications.
+ * Several processes can be re-prioritised within one batch, so a touched process is taken out right away and only
+ * re-inserted on {@link #flush()}, once every stale key has left the queue. Each queued process is filed under the
+ * key it had when it was inserted and indexed by that key, so taking it out later, after its live key has moved on,
+ * costs a lookup instead of a scan.
+ * Call {@link #flush()} from {@link SimulationListener#onTimeAdvanced(int)}, which closes each batch.
+ */
+public class ReadyQueueMirror {
+    private final TreeMap<Key, Process> sorted = new TreeMap<>();
+    private final Map<Process, Key> keys = new HashMap<>();
+    private final Set<Process> pending = new LinkedHashSet<>();
+    private long insertions;
+
+    public void reset(List<Process> ready) {
+        pending.clear();
+        sorted.clear();
+        keys.clear();
+        ready.forEach(this::insert);
+    }
+
+    public void apply(ReadyQueueChange change, Process process) {
+        switch (change) {
+            case ENQUEUED -> pending.add(process);
+            case DEQUEUED -> {
+                if (!pending.remove(process)) {
+                    remove(process);
+                }
+            }
+            case REPRIORITISED -> {
+                if (pending.add(process)) {
+                    remove(process);
+                }
+            }
+        }
+    }
+
+    public void flush() {
+        pending.forEach(this::insert);
+        pending.clear();
+    }
+
+    public int size() {
+        return sorted.size();
+    }
+
+    /**
+     * Returns up to {@code limit} processes from the front of the queue, in dispatch order.
+     */
+    public List<Process> head(int limit) {
+        List<Process> head = new ArrayList<>(Math.min(limit, sorted.size()));
+        Iterator<Process> processes = sorted.values().iterator();
+        while (head.size() < limit && processes.hasNext()) {
+            head.add(processes.next());
+        }
+        return head;
+    }
+
+    private void insert(Process process) {
+        Key key = new Key(process.getPriority(), process.getRemainingTime(), process.getArrivalTime(), insertions++);
+        sorted.put(key, process);
+        keys.put(process, key);
+    }
+
+    private void remove(Process process) {
+        Key key = keys.remove(process);
+        if (key != null) {
+            sorted.remove(key);
+        }
+    }
+
+    /**
+     * {@link PriorityBucketQueue#DISPATCH_ORDER} of a process when it was inserted; ties keep insertion order.
+     */
+    private record Key(int priority, int remainingTime, int arrivalTime, long insertion) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int order = Integer.compare(priority, other.priority);
+            if (order == 0) {
+                order = Integer.compare(remainingTime, other.remainingTime);
+            }
+            if (order == 0) {
+                order = Integer.compare(arrivalTime, other.arrivalTime);
+            }
+            return order != 0 ? order : Long.compare(insertion, other.insertion);
+        }
+    }
+}
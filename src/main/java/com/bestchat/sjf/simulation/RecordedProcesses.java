@@ -0,0 +1,44 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.Scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Definitions of the processes named by published events, copied at the moment each event is published. Formatting
+ * an event later, after the scheduler has loaded another workload or moved a handle to another process, still shows
+ * the process the event was recorded for. Written by the thread driving the engine and read by whoever formats.
+ */
+final class RecordedProcesses {
+    private String[] ids = new String[16];
+    private int[] arrivalTimes = new int[16];
+    private int[] burstTimes = new int[16];
+    private int[] priorities = new int[16];
+
+    void record(int handle, Scheduler scheduler) {
+        if (handle < 0) {
+            return;
+        }
+        if (handle >= ids.length) {
+            int capacity = Math.max(handle + 1, ids.length << 1);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+            burstTimes = Arrays.copyOf(burstTimes, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        Process process = scheduler.getProcess(handle);
+        arrivalTimes[handle] = process.getArrivalTime();
+        burstTimes[handle] = process.getBurstTime();
+        priorities[handle] = process.getBasePriority();
+        ids[handle] = process.getId();
+    }
+
+    Process get(int handle) {
+        String[] known = ids;
+        if (handle >= known.length || known[handle] == null) {
+            throw new IndexOutOfBoundsException("Процесс " + handle + " не упоминается в событиях");
+        }
+        return new Process(known[handle], arrivalTimes[handle], burstTimes[handle], priorities[handle]);
+    }
+}
@@ -0,0 +1,44 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.ProcessTable;
+
+/**
+ * Aggregate results of one simulation run.
+ *
+ * @param processes             number of processes in the workload
+ * @param completed             number of processes that finished
+ * @param averageWaitingTime    mean time spent in the ready queue
+ * @param averageTurnaroundTime mean time from arrival to completion, over finished processes
+ * @param maxWaitingTime        longest time a single process spent in the ready queue
+ * @param makespan              time at which the last process finished
+ */
+public record RunMetrics(int processes, int completed, double averageWaitingTime, double averageTurnaroundTime,
+                         int maxWaitingTime, int makespan) {
+
+    /**
+     * Computes the metrics from the settled runtime columns of a finished (or stopped) run.
+     */
+    public static RunMetrics of(ProcessTable table) {
+        int completed = 0;
+        long waiting = 0;
+        long turnaround = 0;
+        int maxWaiting = 0;
+        int makespan = 0;
+        for (int handle = 0; handle < table.size(); handle++) {
+            int waited = table.getWaitingTime(handle);
+            waiting += waited;
+            maxWaiting = Math.max(maxWaiting, waited);
+            int finish = table.getFinishTime(handle);
+            if (finish != ProcessTable.UNSET) {
+                completed++;
+                turnaround += finish - table.getArrivalTime(handle);
+                makespan = Math.max(makespan, finish);
+            }
+        }
+        int processes = table.size();
+        return new RunMetrics(processes, completed,
+                processes == 0 ? 0 : (double) waiting / processes,
+                completed == 0 ? 0 : (double) turnaround / completed,
+                maxWaiting, makespan);
+    }
+}
@@ -1,28 +1,44 @@
 package com.bestchat.sjf.simulation;
 
+import com.bestchat.sjf.metrics.SimulationMetrics;
 import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.CoreStatistics;
+import com.bestchat.sjf.scheduling.ReadyQueueChange;
 import com.bestchat.sjf.scheduling.Scheduler;
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
+import com.bestchat.sjf.workload.WorkloadSource;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.util.Duration;
-
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 /**
  * Drives the simulation loop and bridges the scheduler with the UI through listeners.
+ * The engine has no dependency on a UI toolkit: {@link #step()} advances one scheduler step and notifies
+ * listeners immediately, while {@link #runUntil(int)} and {@link #runToCompletion()} run as fast as possible
+ * on the calling thread and notify listeners once per batch of steps. Only processes and ready-queue entries that
+ * changed since the previous notification are reported; full snapshots are sent when a workload is loaded, and
+ * after {@link #reset()}, {@link #seek(int)} and {@link #updateProcesses(List)}. Paced playback is provided by
+ * adapters such as {@link TimelineDriver}. Listeners are called on whichever thread drives the engine.
+ * Attaching {@link SimulationMetrics} makes the engine time every step and every round of notifications; without
+ * it nothing is measured.
  */
 public class SimulationEngine {
     private final Scheduler scheduler;
-    private final List<SimulationListener> listeners = new ArrayList<>();
-    private Timeline timeline;
-    private double speedMultiplier = 1.0;
-    private List<Process> originalDefinition = new ArrayList<>();
+    private RecordedProcesses recordedProcesses;
+    private SchedulerEventFormatter eventFormatter;
+    private final List<SimulationListener> listeners = new CopyOnWriteArrayList<>();
+    private int batchSize = 1024;
+    private SimulationMetrics metrics;
+    private volatile boolean stopRequested;
 
     public SimulationEngine(Scheduler scheduler) {
         this.scheduler = scheduler;
+        startEventRecording();
     }
 
     public void addListener(SimulationListener listener) {
@@ -33,52 +49,212 @@ public class SimulationEngine {
         listeners.remove(listener);
     }
 
+    /**
+     * Starts recording into the given metrics, or stops recording when {@code null}. Call it while the engine is
+     * not running.
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
     public void loadProcesses(List<Process> processes) {
-        this.originalDefinition = processes;
+        resetMetrics();
         scheduler.setProcesses(processes);
+        startEventRecording();
+        notifyAllProcesses();
+        notifyReadyQueue();
+        notifyTime();
+    }
+
+    /**
+     * Loads a columnar workload, for example one read by {@code CsvIoService#loadTable}; the engine takes
+     * ownership of the table.
+     */
+    public void loadWorkload(ProcessTable processes) {
+        resetMetrics();
+        scheduler.setProcessTable(processes);
+        startEventRecording();
+        notifyAllProcesses();
+        notifyReadyQueue();
+        notifyTime();
+    }
+
+    /**
+     * Loads a workload that is generated lazily while the simulation runs, such as a
+     * {@link com.bestchat.sjf.workload.SyntheticWorkload}. Processes only show up in snapshots once they have arrived.
+     */
+    public void loadSource(WorkloadSource source) {
+        resetMetrics();
+        scheduler.setWorkloadSource(source);
+        startEventRecording();
         notifyAllProcesses();
+        notifyReadyQueue();
         notifyTime();
     }
 
+    /**
+     * Applies an edited workload while keeping the part of the run the edit cannot have changed (see
+     * {@link Scheduler#updateProcessTable}), then sends listeners full snapshots of the state it resumes from.
+     * Running on, for example with {@code runUntil} up to the previous time, re-simulates only the rest and gives
+     * the same result as loading the new workload and running it from the start.
+     *
+     * @return the time the run resumes from
+     */
+    public int updateProcesses(List<Process> processes) {
+        int resumed = scheduler.updateProcessTable(ProcessTable.of(processes));
+        startEventRecording();
+        notifyAllProcesses();
+        notifyReadyQueue();
+        notifyTime();
+        return resumed;
+    }
+
+    /**
+     * Submits a process to the running simulation from any thread; see {@link Scheduler#submit}.
+     */
+    public void submit(String id, int burstTime, int priority) {
+        scheduler.submit(id, burstTime, priority);
+    }
+
     public void reset() {
-        scheduler.setProcesses(originalDefinition);
+        resetMetrics();
+        scheduler.reset();
+        startEventRecording();
         notifyAllProcesses();
+        notifyReadyQueue();
+        notifyTime();
+    }
+
+    /**
+     * Turns on periodic checkpoints of the scheduler state so {@link #seek(int)} is fast; see
+     * {@link Scheduler#setCheckpointing}. Call it while the engine is not running.
+     */
+    public void setCheckpointing(int interval, long memoryBudgetBytes) {
+        scheduler.setCheckpointing(interval, memoryBudgetBytes);
+    }
+
+    /**
+     * Moves the simulation to the given time (see {@link Scheduler#seek}) and then sends listeners full snapshots,
+     * as after a reset. Call it while the engine is not running.
+     */
+    public void seek(int time) {
+        scheduler.seek(time);
+        startEventRecording();
+        notifyAllProcesses();
+        notifyReadyQueue();
         notifyTime();
     }
 
-    public void setSpeedMultiplier(double speedMultiplier) {
-        this.speedMultiplier = speedMultiplier;
-        if (timeline != null) {
-            startContinuous();
+    /**
+     * Sets how many scheduler steps {@link #runUntil(int)} performs between two listener notifications.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
         }
+        this.batchSize = batchSize;
     }
 
-    public void startContinuous() {
-        if (timeline != null) {
-            timeline.stop();
+    public boolean isFinished() {
+        return scheduler.isFinished();
+    }
+
+    public void step() {
+        SimulationMetrics recorder = metrics;
+        Optional<Process> running;
+        if (recorder == null) {
+            running = scheduler.step();
+        } else {
+            recorder.startAllocationSample();
+            running = timedStep(recorder);
         }
-        timeline = new Timeline(new KeyFrame(Duration.millis(500 / speedMultiplier), e -> step()));
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
+        publish();
+        running.ifPresent(this::notifyProcess);
     }
 
-    public void pause() {
-        if (timeline != null) {
-            timeline.stop();
+    /**
+     * Runs the scheduler on the calling thread until its clock reaches the given time, the workload completes,
+     * or {@link #stop()} is called. Listeners see the accumulated state once per batch and once at the end.
+     * In next-event mode the clock may overshoot the target by the length of the last step.
+     */
+    public void runUntil(int time) {
+        stopRequested = false;
+        SimulationMetrics recorder = metrics;
+        if (recorder != null) {
+            recorder.startAllocationSample();
+        }
+        int pending = 0;
+        while (!stopRequested && !scheduler.isFinished() && scheduler.getCurrentTime() < time) {
+            if (recorder == null) {
+                scheduler.step();
+            } else {
+                timedStep(recorder);
+            }
+            if (++pending == batchSize) {
+                publish();
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            publish();
         }
     }
 
-    public void step() {
+    public void runToCompletion() {
+        runUntil(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Runs the workload to completion on the given executor.
+     */
+    public CompletableFuture<Void> runToCompletionAsync(Executor executor) {
+        return CompletableFuture.runAsync(this::runToCompletion, executor);
+    }
+
+    /**
+     * Asks a run started by {@link #runUntil(int)} to return after the current step.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    private Optional<Process> timedStep(SimulationMetrics recorder) {
+        long start = System.nanoTime();
         Optional<Process> running = scheduler.step();
-        for (Process process : scheduler.snapshot()) {
-            notifyProcess(process);
+        recorder.recordStep(System.nanoTime() - start, scheduler.readyQueueSize());
+        return running;
+    }
+
+    private void publish() {
+        SimulationMetrics recorder = metrics;
+        if (recorder == null) {
+            notifyListeners();
+            return;
         }
-        scheduler.consumeEvents().forEach(this::notifyEvent);
-        notifyReadyQueue();
+        long start = System.nanoTime();
+        notifyListeners();
+        recorder.recordPublish(System.nanoTime() - start);
+        recorder.sampleAllocations();
+    }
+
+    private void notifyListeners() {
+        if (listeners.isEmpty()) {
+            scheduler.discardNotifications();
+            return;
+        }
+        scheduler.drainChangedProcesses(this::notifyProcess);
+        scheduler.drainEvents(this::notifyEvent);
+        scheduler.drainReadyQueueChanges(this::notifyReadyQueueChange);
         notifyTime();
-        running.ifPresent(this::notifyProcess);
-        if (scheduler.isFinished()) {
-            pause();
+    }
+
+    private void resetMetrics() {
+        if (metrics != null) {
+            metrics.reset();
         }
     }
 
@@ -86,16 +262,40 @@ public class SimulationEngine {
         listeners.forEach(l -> l.onProcessStateChanged(process));
     }
 
-    private void notifyEvent(String event) {
-        listeners.forEach(l -> l.onSchedulingEvent(event));
+    /**
+     * Starts a new formatter for the events published from now on. Events already handed to listeners keep the
+     * formatter they came with, which describes the processes as they were when those events were published.
+     */
+    private void startEventRecording() {
+        RecordedProcesses recorded = new RecordedProcesses();
+        recordedProcesses = recorded;
+        eventFormatter = new SchedulerEventFormatter(recorded::get);
+    }
+
+    private void notifyEvent(SchedulerEvent event) {
+        recordedProcesses.record(event.process(), scheduler);
+        recordedProcesses.record(event.related(), scheduler);
+        listeners.forEach(l -> l.onSchedulerEvent(event, eventFormatter));
     }
 
     private void notifyTime() {
+        if (!listeners.isEmpty()) {
+            CoreStatistics statistics = scheduler.coreStatistics();
+            listeners.forEach(l -> l.onCoreStatistics(statistics));
+        }
         listeners.forEach(l -> l.onTimeAdvanced(scheduler.getCurrentTime()));
     }
 
+    private void notifyReadyQueueChange(ReadyQueueChange change, Process process) {
+        listeners.forEach(l -> l.onReadyQueueChanged(change, process));
+    }
+
     private void notifyReadyQueue() {
-        listeners.forEach(l -> l.onReadyQueueUpdated(scheduler.readyQueueSnapshot()));
+        if (listeners.isEmpty()) {
+            return;
+        }
+        List<Process> ready = scheduler.readyQueueSnapshot();
+        listeners.forEach(l -> l.onReadyQueueUpdated(ready));
     }
 
     private void notifyAllProcesses() {
@@ -1,6 +1,10 @@
 package com.bestchat.sjf.simulation;
 
 import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.CoreStatistics;
+import com.bestchat.sjf.scheduling.ReadyQueueChange;
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
 
 /**
  * Listener callbacks for UI updates during simulation.
@@ -12,5 +16,30 @@ public interface SimulationListener {
 
     void onSchedulingEvent(String message);
 
+    /**
+     * Typed counterpart of {@link #onSchedulingEvent(String)}. The default renders the event and forwards the text,
+     * so listeners that override this method never pay for formatting.
+     */
+    default void onSchedulerEvent(SchedulerEvent event, SchedulerEventFormatter formatter) {
+        onSchedulingEvent(formatter.format(event));
+    }
+
+    /**
+     * Receives the full ready queue in dispatch order; sent when a workload is loaded or reset.
+     */
     void onReadyQueueUpdated(java.util.List<Process> ready);
+
+    /**
+     * Receives a single ready-queue change as the simulation advances. Changes arrive in the order they happened
+     * and each batch is closed by {@link #onTimeAdvanced(int)}; keys read from the process reflect the end of the
+     * batch, so sorted views should use {@link ReadyQueueMirror}.
+     */
+    default void onReadyQueueChanged(ReadyQueueChange change, Process process) {
+    }
+
+    /**
+     * Receives per-core counters at the end of every batch, right before {@link #onTimeAdvanced(int)}.
+     */
+    default void onCoreStatistics(CoreStatistics statistics) {
+    }
 }
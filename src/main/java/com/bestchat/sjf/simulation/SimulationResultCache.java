@@ -0,0 +1,356 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.LoadBalancing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Finished runs keyed by content: a SHA-256 digest of the process definitions in arrival order together with the
+ * scheduler configuration, so an identical workload under an identical configuration is never simulated twice, and
+ * changing any field of any process gives a different key. The time advance mode is not part of the key because both
+ * modes produce the same schedule. The key also covers {@link #SCHEDULER_VERSION} and the build's implementation
+ * version, so runs stored by a build with different scheduling logic are never returned.
+ * <p>
+ * Runs are kept in an in-memory LRU bounded by the size of their columns and, when a directory is given, also as one
+ * file per key, which survives the application and is read back into memory on a miss. The files are bounded by
+ * their own budget: after each write the least recently used ones are deleted until the rest fit. The disk tier is
+ * best-effort: a file that cannot be read or written counts as a miss. The cache is safe to use from several threads.
+ */
+public class SimulationResultCache {
+    private static final int MAGIC = 'S' | 'J' << 8 | 'F' << 16 | 'R' << 24;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".run";
+    /**
+     * Magic, version, the metrics and the row count, which precede the columns of a file.
+     */
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + 4 * Integer.BYTES + 2 * Double.BYTES + Integer.BYTES;
+    /**
+     * Seven int columns and the state byte.
+     */
+    private static final int ROW_BYTES = 7 * Integer.BYTES + 1;
+    /**
+     * Bump whenever a change to the scheduler alters the schedule it produces for some workload.
+     */
+    static final int SCHEDULER_VERSION = 1;
+    private static final String BUILD_VERSION =
+            Objects.requireNonNullElse(SimulationResultCache.class.getPackage().getImplementationVersion(), "");
+
+    private final long memoryBudgetBytes;
+    private final Path directory;
+    private final long diskBudgetBytes;
+    private final LinkedHashMap<String, CachedRun> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+
+    public SimulationResultCache(long memoryBudgetBytes) {
+        this(memoryBudgetBytes, null, 0);
+    }
+
+    /**
+     * @param directory       where runs are also stored on disk, or {@code null} to keep them in memory only
+     * @param diskBudgetBytes how much the files in the directory may take together
+     */
+    public SimulationResultCache(long memoryBudgetBytes, Path directory, long diskBudgetBytes) {
+        if (memoryBudgetBytes < 0 || diskBudgetBytes < 0) {
+            throw new IllegalArgumentException("Объём кэша не может быть отрицательным");
+        }
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.directory = directory;
+        this.diskBudgetBytes = diskBudgetBytes;
+    }
+
+    /**
+     * Digest of the definitions of a table in arrival order; compute it once and combine it with each configuration
+     * through {@link #key(String, ParameterSweep.Configuration, int, LoadBalancing)}.
+     */
+    public static String workloadDigest(ProcessTable definitions) {
+        MessageDigest digest = sha256();
+        byte[] number = new byte[Integer.BYTES];
+        update(digest, number, definitions.size());
+        for (int handle : arrivalOrder(definitions)) {
+            byte[] id = definitions.getId(handle).getBytes(StandardCharsets.UTF_8);
+            update(digest, number, id.length);
+            digest.update(id);
+            update(digest, number, definitions.getArrivalTime(handle));
+            update(digest, number, definitions.getBurstTime(handle));
+            update(digest, number, definitions.getBasePriority(handle));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Handles in the order {@link ProcessTable#sortedByArrival()} would put the rows, without copying the table.
+     */
+    private static int[] arrivalOrder(ProcessTable definitions) {
+        int[] order = new int[definitions.size()];
+        for (int handle = 0; handle < order.length; handle++) {
+            order[handle] = handle;
+        }
+        if (!definitions.isSortedByArrival()) {
+            order = Arrays.stream(order).boxed()
+                    .sorted(Comparator.comparingInt(definitions::getArrivalTime))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return order;
+    }
+
+    public static String key(ProcessTable definitions, ParameterSweep.Configuration configuration, int cores,
+                             LoadBalancing balancing) {
+        return key(workloadDigest(definitions), configuration, cores, balancing);
+    }
+
+    public static String key(String workloadDigest, ParameterSweep.Configuration configuration, int cores,
+                             LoadBalancing balancing) {
+        MessageDigest digest = sha256();
+        byte[] number = new byte[Integer.BYTES];
+        digest.update(workloadDigest.getBytes(StandardCharsets.US_ASCII));
+        update(digest, number, SCHEDULER_VERSION);
+        digest.update(BUILD_VERSION.getBytes(StandardCharsets.UTF_8));
+        update(digest, number, configuration.mode().ordinal());
+        update(digest, number, configuration.agingEnabled() ? 1 : 0);
+        // The threshold is ignored without aging, so it must not split otherwise identical runs.
+        update(digest, number, configuration.agingEnabled() ? configuration.agingThreshold() : 0);
+        update(digest, number, cores);
+        // Balancing never moves anything between the run queues of a single core.
+        update(digest, number, cores == 1 ? -1 : balancing.ordinal());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the run stored under the key, looking on disk after memory, or {@code null}.
+     */
+    public CachedRun get(String key) {
+        synchronized (this) {
+            CachedRun run = memory.get(key);
+            if (run != null) {
+                memoryHits++;
+                return run;
+            }
+        }
+        CachedRun run = directory == null ? null : readFile(key);
+        synchronized (this) {
+            if (run == null) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            keepInMemory(key, run);
+            return run;
+        }
+    }
+
+    public void put(String key, CachedRun run) {
+        synchronized (this) {
+            keepInMemory(key, run);
+        }
+        if (directory != null) {
+            writeFile(key, run);
+            trimDisk();
+        }
+    }
+
+    /**
+     * Empties the memory tier; files on disk are kept.
+     */
+    public synchronized void clear() {
+        memory.clear();
+        memoryBytes = 0;
+    }
+
+    public synchronized Statistics statistics() {
+        return new Statistics(memory.size(), memoryBytes, memoryHits, diskHits, misses);
+    }
+
+    private void keepInMemory(String key, CachedRun run) {
+        CachedRun previous = memory.remove(key);
+        if (previous != null) {
+            memoryBytes -= previous.sizeInBytes();
+        }
+        long size = run.sizeInBytes();
+        if (size > memoryBudgetBytes) {
+            return;
+        }
+        Iterator<CachedRun> eldest = memory.values().iterator();
+        while (memoryBytes + size > memoryBudgetBytes) {
+            memoryBytes -= eldest.next().sizeInBytes();
+            eldest.remove();
+        }
+        memory.put(key, run);
+        memoryBytes += size;
+    }
+
+    private CachedRun readFile(String key) {
+        Path file = directory.resolve(key + SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            // The modification time orders files for trimDisk, so a read counts as a use.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ex) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long size = Files.size(file);
+            if (size < HEADER_BYTES || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            RunMetrics metrics = new RunMetrics(in.readInt(), in.readInt(), in.readDouble(), in.readDouble(),
+                    in.readInt(), in.readInt());
+            int rows = in.readInt();
+            // A truncated or corrupt file must not make us allocate whatever its row count claims.
+            if (rows < 0 || HEADER_BYTES + (long) rows * ROW_BYTES != size) {
+                return null;
+            }
+            int[][] columns = new int[7][rows];
+            for (int[] column : columns) {
+                for (int row = 0; row < rows; row++) {
+                    column[row] = in.readInt();
+                }
+            }
+            byte[] states = new byte[rows];
+            in.readFully(states);
+            return new CachedRun(new ProcessTable.RuntimeColumns(columns[0], columns[1], columns[2], columns[3],
+                    columns[4], columns[5], columns[6], states), metrics);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void writeFile(String key, CachedRun run) {
+        ProcessTable.RuntimeColumns schedule = run.schedule();
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            // Written next to the target and moved into place, so a reader never sees half a file.
+            temporary = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                RunMetrics metrics = run.metrics();
+                out.writeInt(metrics.processes());
+                out.writeInt(metrics.completed());
+                out.writeDouble(metrics.averageWaitingTime());
+                out.writeDouble(metrics.averageTurnaroundTime());
+                out.writeInt(metrics.maxWaitingTime());
+                out.writeInt(metrics.makespan());
+                out.writeInt(schedule.rows());
+                for (int[] column : new int[][]{schedule.priorities(), schedule.remainingTimes(), schedule.startTimes(),
+                        schedule.finishTimes(), schedule.waitingTimes(), schedule.readySince(), schedule.cores()}) {
+                    for (int value : column) {
+                        out.writeInt(value);
+                    }
+                }
+                out.write(schedule.states());
+            }
+            Files.move(temporary, directory.resolve(key + SUFFIX), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            // The run stays in memory; the disk tier only saves recomputation.
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            // Harmless: without the run suffix it is never read, counted or trimmed.
+        }
+    }
+
+    /**
+     * Deletes the least recently used files until the rest fit in the disk budget.
+     */
+    private void trimDisk() {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).toList();
+        } catch (IOException ex) {
+            return;
+        }
+        long[] sizes = new long[files.size()];
+        long[] used = new long[files.size()];
+        long total = 0;
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                sizes[i] = Files.size(files.get(i));
+                used[i] = Files.getLastModifiedTime(files.get(i)).toMillis();
+            } catch (IOException ex) {
+                // Deleted by another cache over the same directory in the meantime.
+            }
+            total += sizes[i];
+        }
+        Integer[] oldestFirst = new Integer[files.size()];
+        for (int i = 0; i < oldestFirst.length; i++) {
+            oldestFirst[i] = i;
+        }
+        Arrays.sort(oldestFirst, Comparator.comparingLong(i -> used[i]));
+        for (int i = 0; i < oldestFirst.length && total > diskBudgetBytes; i++) {
+            try {
+                Files.deleteIfExists(files.get(oldestFirst[i]));
+            } catch (IOException ex) {
+                continue;
+            }
+            total -= sizes[oldestFirst[i]];
+        }
+    }
+
+    private static void update(MessageDigest digest, byte[] buffer, int value) {
+        buffer[0] = (byte) (value >>> 24);
+        buffer[1] = (byte) (value >>> 16);
+        buffer[2] = (byte) (value >>> 8);
+        buffer[3] = (byte) value;
+        digest.update(buffer);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 недоступен", ex);
+        }
+    }
+
+    /**
+     * Final runtime columns of a finished run in arrival order, with the metrics computed from them.
+     */
+    public record CachedRun(ProcessTable.RuntimeColumns schedule, RunMetrics metrics) {
+        public static CachedRun of(ProcessTable table) {
+            return new CachedRun(table.copyRuntime(0, table.size()), RunMetrics.of(table));
+        }
+
+        public long sizeInBytes() {
+            return schedule.sizeInBytes();
+        }
+    }
+
+    public record Statistics(int entries, long memoryBytes, long memoryHits, long diskHits, long misses) {
+    }
+}
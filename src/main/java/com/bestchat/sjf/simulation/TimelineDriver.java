@@ -0,0 +1,49 @@
+package com.bestchat.sjf.simulation;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+/**
+ * Plays a {@link SimulationEngine} back at a human-readable pace on the JavaFX Application Thread,
+ * one scheduler step per {@link Timeline} key frame.
+ */
+public class TimelineDriver {
+    private final SimulationEngine engine;
+    private Timeline timeline;
+    private double speedMultiplier = 1.0;
+
+    public TimelineDriver(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
+    public void setSpeedMultiplier(double speedMultiplier) {
+        this.speedMultiplier = speedMultiplier;
+        if (timeline != null && timeline.getStatus() == Animation.Status.RUNNING) {
+            start();
+        }
+    }
+
+    public void start() {
+        if (timeline != null) {
+            timeline.stop();
+        }
+        timeline = new Timeline(new KeyFrame(Duration.millis(500 / speedMultiplier), e -> tick()));
+        timeline.setCycleCount(Timeline.INDEFINITE);
+        timeline.play();
+    }
+
+    public void pause() {
+        if (timeline != null) {
+            timeline.stop();
+        }
+    }
+
+    private void tick() {
+        engine.step();
+        if (engine.isFinished()) {
+            pause();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bestchat.sjf.ui;
+
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
+import com.bestchat.sjf.scheduling.SchedulerEventKind;
+import com.bestchat.sjf.simulation.EventLogStore;
+import javafx.collections.ObservableListBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only observable view of an {@link EventLogStore} for a {@code ListView}. Lines are formatted only when a cell
+ * asks for them, so the view costs the same whether the log holds a hundred events or millions. An optional filter by
+ * process id and event kind is answered from the store's index and then kept up to date as events arrive.
+ */
+public class EventLogList extends ObservableListBase<String> {
+    private final EventLogStore store;
+    private String processId;
+    private SchedulerEventKind kind;
+    private long[] matches;
+    private int matchesStart;
+    private int matchesEnd;
+    private int size;
+
+    public EventLogList(EventLogStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Appends a batch of events to the store and reports the lines that appeared and the oldest ones that were dropped.
+     */
+    public void append(List<SchedulerEvent> events, SchedulerEventFormatter formatter) {
+        long firstNew = store.nextSequence();
+        for (SchedulerEvent event : events) {
+            store.append(event, formatter);
+        }
+        int added;
+        int removed;
+        if (matches == null) {
+            int newSize = (int) Math.min(Integer.MAX_VALUE, store.size());
+            added = (int) (store.nextSequence() - Math.max(firstNew, store.firstSequence()));
+            removed = size + added - newSize;
+        } else {
+            int before = matchesEnd - matchesStart;
+            while (matchesStart < matchesEnd && matches[matchesStart] < store.firstSequence()) {
+                matchesStart++;
+            }
+            removed = before - (matchesEnd - matchesStart);
+            for (long sequence = Math.max(firstNew, store.firstSequence()); sequence < store.nextSequence(); sequence++) {
+                if (store.matches(sequence, processId, kind)) {
+                    addMatch(sequence);
+                }
+            }
+            added = matchesEnd - matchesStart - (before - removed);
+        }
+        if (added == 0 && removed == 0) {
+            return;
+        }
+        beginChange();
+        if (removed > 0) {
+            nextRemove(0, Collections.nCopies(removed, null));
+        }
+        size = size - removed + added;
+        if (added > 0) {
+            nextAdd(size - added, size);
+        }
+        endChange();
+    }
+
+    /**
+     * Shows only events about the given process and of the given kind; {@code null} for both shows everything.
+     */
+    public void setFilter(String processId, SchedulerEventKind kind) {
+        this.processId = processId == null || processId.isBlank() ? null : processId.trim();
+        this.kind = kind;
+        if (this.processId == null && kind == null) {
+            matches = null;
+        } else {
+            matches = store.find(this.processId, kind);
+            matchesStart = 0;
+            matchesEnd = matches.length;
+        }
+        replaceAll();
+    }
+
+    public void clear() {
+        store.clear();
+        if (matches != null) {
+            matchesStart = 0;
+            matchesEnd = 0;
+        }
+        replaceAll();
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return store.format(matches == null ? store.firstSequence() + index : matches[matchesStart + index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void addMatch(long sequence) {
+        if (matchesEnd == matches.length) {
+            int live = matchesEnd - matchesStart;
+            long[] target = live * 2 < matches.length ? matches : Arrays.copyOf(matches, Math.max(16, matches.length << 1));
+            System.arraycopy(matches, matchesStart, target, 0, live);
+            matches = target;
+            matchesStart = 0;
+            matchesEnd = live;
+        }
+        matches[matchesEnd++] = sequence;
+    }
+
+    private void replaceAll() {
+        int oldSize = size;
+        size = matches == null ? (int) Math.min(Integer.MAX_VALUE, store.size()) : matchesEnd - matchesStart;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, null));
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+}
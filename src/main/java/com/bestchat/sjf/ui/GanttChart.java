@@ -2,83 +2,312 @@ package com.bestchat.sjf.ui;
 
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
 import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 /**
- * Simple Gantt chart painter that visualizes CPU bursts.
+ * Gantt chart painter that visualizes CPU bursts, with one lane per CPU core.
+ * Only the visible time window is drawn, slices narrower than a pixel are summarised per pixel column,
+ * and slices appended while the scale stays the same only repaint the region they touch. The mouse wheel
+ * zooms around the cursor, dragging pans, and a double click fits the whole trace again.
+ * <p>
+ * After the simulation is moved back in time the trace is kept: a playhead marks the current time, and slices
+ * reported again while the run replays a stretch the chart already shows are skipped.
  */
 public class GanttChart extends Region {
+    private static final double AXIS_HEIGHT = 20;
+    private static final double MIN_TICK_SPACING = 80;
+    private static final double ZOOM_STEP = 1.25;
+    private static final double MIN_TIME_PER_PIXEL = 1.0 / 64;
+    private static final double MIN_FIT_SPAN = 16;
+
     private final Canvas canvas = new Canvas(800, 200);
-    private final List<Segment> segments = new ArrayList<>();
+    private final List<GanttTrace> lanes = new ArrayList<>(List.of(new GanttTrace()));
+    private final CanvasPainter painter = new CanvasPainter();
+
+    private double origin;
+    private double timePerPixel = 1;
+    private boolean fitted = true;
+    private boolean following = true;
+    private boolean fullRepaint = true;
+    private double dirtyFrom = Double.POSITIVE_INFINITY;
+    private double dragX;
+    private int playhead = -1;
 
     public GanttChart() {
         getChildren().add(canvas);
-        widthProperty().addListener((obs, oldV, newV) -> redraw());
-        heightProperty().addListener((obs, oldV, newV) -> redraw());
+        widthProperty().addListener((obs, oldV, newV) -> invalidate());
+        heightProperty().addListener((obs, oldV, newV) -> invalidate());
+        setOnScroll(e -> zoom(e.getDeltaY() > 0 ? 1 / ZOOM_STEP : ZOOM_STEP, e.getX()));
+        setOnMousePressed(e -> dragX = e.getX());
+        setOnMouseDragged(e -> {
+            pan(dragX - e.getX());
+            dragX = e.getX();
+        });
+        setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                fitToTrace();
+            }
+        });
     }
 
     public void reset() {
-        segments.clear();
-        redraw();
+        lanes.forEach(GanttTrace::clear);
+        playhead = -1;
+        origin = 0;
+        fitted = true;
+        following = true;
+        invalidate();
+    }
+
+    /**
+     * Sets how many core lanes are drawn and clears the chart.
+     */
+    public void setLaneCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Число дорожек должно быть положительным");
+        }
+        while (lanes.size() < count) {
+            lanes.add(new GanttTrace());
+        }
+        while (lanes.size() > count) {
+            lanes.remove(lanes.size() - 1);
+        }
+        reset();
     }
 
     public void addSlice(String processId, int startTime, int endTime, Color color) {
-        if (!segments.isEmpty()) {
-            Segment last = segments.get(segments.size() - 1);
-            if (Objects.equals(last.processId, processId) && last.end == startTime) {
-                last.end = endTime;
-                redraw();
-                return;
-            }
+        addSlice(0, processId, startTime, endTime, color);
+    }
+
+    public void addSlice(int lane, String processId, int startTime, int endTime, Color color) {
+        GanttTrace trace = lanes.get(lane);
+        // A replayed stretch repeats what is already drawn; only the part past the end of the lane is new.
+        startTime = Math.max(startTime, trace.endTime());
+        if (endTime <= startTime) {
+            return;
+        }
+        int index = trace.append(processId, startTime, endTime, color);
+        dirtyFrom = Math.min(dirtyFrom, trace.start(index));
+        setNeedsLayout(true);
+    }
+
+    /**
+     * Marks the current time of a simulation that has been moved back; the mark is hidden once the time reaches
+     * the end of the trace again.
+     */
+    public void setPlayhead(int time) {
+        int visible = time < endTime() ? time : -1;
+        if (visible != playhead) {
+            playhead = visible;
+            invalidate();
         }
-        segments.add(new Segment(processId, startTime, endTime, color));
-        redraw();
     }
 
-    private void redraw() {
-        double width = getWidth() <= 0 ? canvas.getWidth() : getWidth();
+    /**
+     * Drops every slice from the given time on, when the run has taken a different course from there.
+     */
+    public void truncate(int time) {
+        lanes.forEach(trace -> trace.truncate(time));
+        playhead = -1;
+        invalidate();
+    }
+
+    /**
+     * Scales the visible time span by {@code factor}, keeping the time under {@code anchorX} in place.
+     */
+    public void zoom(double factor, double anchorX) {
+        double anchorTime = origin + anchorX * timePerPixel;
+        double maxTimePerPixel = Math.max(fitSpan(), endTime()) / viewWidth();
+        timePerPixel = Math.max(MIN_TIME_PER_PIXEL, Math.min(maxTimePerPixel, timePerPixel * factor));
+        origin = anchorTime - anchorX * timePerPixel;
+        fitted = false;
+        clampOrigin();
+        invalidate();
+    }
+
+    /**
+     * Moves the visible window by the given number of pixels; positive values move towards later times.
+     */
+    public void pan(double pixels) {
+        origin += pixels * timePerPixel;
+        fitted = false;
+        clampOrigin();
+        invalidate();
+    }
+
+    /**
+     * Returns to the default view that shows the whole trace.
+     */
+    public void fitToTrace() {
+        fitted = true;
+        origin = 0;
+        invalidate();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = viewWidth();
         double height = getHeight() <= 0 ? canvas.getHeight() : getHeight();
-        canvas.setWidth(width);
-        canvas.setHeight(height);
-        GraphicsContext gc = canvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, width, height);
-        if (segments.isEmpty()) {
+        if (canvas.getWidth() != width || canvas.getHeight() != height) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+            fullRepaint = true;
+        }
+        paint(width, height);
+    }
+
+    private void invalidate() {
+        fullRepaint = true;
+        setNeedsLayout(true);
+    }
+
+    private void paint(double width, double height) {
+        double viewSpan = width * timePerPixel;
+        if (fitted) {
+            double fitTimePerPixel = fitSpan() / width;
+            if (fitTimePerPixel != timePerPixel) {
+                timePerPixel = fitTimePerPixel;
+                fullRepaint = true;
+            }
+        } else if (following && endTime() > origin + viewSpan) {
+            // Keep a live trace in view by jumping half a window at a time.
+            origin = endTime() - viewSpan / 2;
+            fullRepaint = true;
+        }
+
+        int columns = (int) Math.ceil(width);
+        int fromColumn = fullRepaint ? 0 : (int) Math.max(0, Math.floor((dirtyFrom - origin) / timePerPixel));
+        if (fromColumn < columns) {
+            double barsHeight = Math.max(0, height - AXIS_HEIGHT);
+            GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.clearRect(fromColumn, 0, width - fromColumn, barsHeight);
+            for (int lane = 0; lane < lanes.size(); lane++) {
+                painter.lane = lane;
+                lanes.get(lane).render(origin, timePerPixel, fromColumn, columns, painter);
+            }
+            paintAxis(gc, width, height);
+            paintPlayhead(gc, barsHeight);
+        }
+        fullRepaint = false;
+        dirtyFrom = Double.POSITIVE_INFINITY;
+        following = endTime() <= origin + width * timePerPixel;
+    }
+
+    private void paintAxis(GraphicsContext gc, double width, double height) {
+        double top = Math.max(0, height - AXIS_HEIGHT);
+        gc.clearRect(0, top, width, height - top);
+        gc.setStroke(Color.GRAY);
+        gc.strokeLine(0, top, width, top);
+        gc.setFill(Color.BLACK);
+        double step = tickStep(MIN_TICK_SPACING * timePerPixel);
+        for (double tick = Math.ceil(origin / step) * step; tick <= origin + width * timePerPixel; tick += step) {
+            double x = (tick - origin) / timePerPixel;
+            gc.strokeLine(x, top, x, top + 4);
+            gc.fillText(String.valueOf((long) tick), x + 2, height - 5);
+        }
+    }
+
+    private void paintPlayhead(GraphicsContext gc, double barsHeight) {
+        if (playhead < 0) {
             return;
         }
-        double maxTime = segments.get(segments.size() - 1).end;
-        double scale = width / Math.max(1, maxTime);
-        double barHeight = height * 0.6;
-        double y = (height - barHeight) / 2;
-        for (Segment segment : segments) {
-            double x = segment.start * scale;
-            double w = (segment.end - segment.start) * scale;
-            gc.setFill(segment.color);
-            gc.fillRect(x, y, w, barHeight);
-            gc.setStroke(Color.BLACK);
-            gc.strokeRect(x, y, w, barHeight);
-            gc.setFill(Color.BLACK);
-            gc.fillText(segment.processId, x + 5, y + barHeight / 2);
-            gc.fillText(String.valueOf(segment.start), x, height - 5);
-        }
-        gc.fillText(String.valueOf((int) maxTime), maxTime * scale, height - 5);
-    }
-
-    private static class Segment {
-        private final String processId;
-        private final int start;
-        private int end;
-        private final Color color;
-
-        Segment(String processId, int start, int end, Color color) {
-            this.processId = processId;
-            this.start = start;
-            this.end = end;
-            this.color = color;
+        double x = (playhead - origin) / timePerPixel;
+        gc.setStroke(Color.CRIMSON);
+        gc.strokeLine(x, 0, x, barsHeight);
+    }
+
+    /**
+     * Picks the smallest whole step of the form 1, 2 or 5 times a power of ten that is at least {@code minimum}.
+     */
+    private static double tickStep(double minimum) {
+        double step = 1;
+        while (true) {
+            for (int multiplier : new int[]{1, 2, 5}) {
+                if (step * multiplier >= minimum) {
+                    return step * multiplier;
+                }
+            }
+            step *= 10;
+        }
+    }
+
+    /**
+     * Time span shown in the fitted view. It grows in steps so that appending to a live trace rescales
+     * (and fully repaints) the chart only occasionally.
+     */
+    private double fitSpan() {
+        double span = MIN_FIT_SPAN;
+        while (span < endTime()) {
+            span *= ZOOM_STEP;
+        }
+        return span;
+    }
+
+    private int endTime() {
+        int end = 0;
+        for (GanttTrace trace : lanes) {
+            end = Math.max(end, trace.endTime());
+        }
+        return end;
+    }
+
+    private double viewWidth() {
+        return getWidth() <= 0 ? canvas.getWidth() : getWidth();
+    }
+
+    private void clampOrigin() {
+        origin = Math.max(0, Math.min(origin, endTime()));
+    }
+
+    private class CanvasPainter implements GanttTrace.Painter {
+        private int lane;
+
+        @Override
+        public void segment(int index, double x0, double x1) {
+            GanttTrace trace = lanes.get(lane);
+            GraphicsContext gc = canvas.getGraphicsContext2D();
+            double barHeight = barHeight();
+            double y = barTop(barHeight);
+            // When zoomed in far, keep the rectangle close to the canvas instead of millions of pixels wide.
+            double left = Math.max(x0, -1);
+            double w = Math.min(x1, canvas.getWidth() + 1) - left;
+            gc.setFill(trace.color(index));
+            gc.fillRect(left, y, w, barHeight);
+            if (w >= 4) {
+                gc.setStroke(Color.BLACK);
+                gc.strokeRect(left, y, w, barHeight);
+            }
+            String id = trace.processId(index);
+            if (w >= 8 * id.length() + 10) {
+                gc.setFill(Color.BLACK);
+                gc.fillText(id, left + 5, y + barHeight / 2);
+            }
+        }
+
+        @Override
+        public void column(int index, int column) {
+            GanttTrace trace = lanes.get(lane);
+            double barHeight = barHeight();
+            GraphicsContext gc = canvas.getGraphicsContext2D();
+            gc.setFill(trace.color(index));
+            gc.fillRect(column, barTop(barHeight), 1, barHeight);
+        }
+
+        private double laneHeight() {
+            return Math.max(0, canvas.getHeight() - AXIS_HEIGHT) / lanes.size();
+        }
+
+        private double barHeight() {
+            return laneHeight() * 0.6;
+        }
+
+        private double barTop(double barHeight) {
+            return lane * laneHeight() + (laneHeight() - barHeight) / 2;
         }
     }
 }
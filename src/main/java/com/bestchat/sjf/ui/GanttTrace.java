@@ -0,0 +1,161 @@
+package com.bestchat.sjf.ui;
+
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Append-only list of Gantt segments in time order, stored column-wise. Segments never overlap and their
+ * end times only grow, so the segments covering a time window are found by binary search, and a window of
+ * any length is rendered in time proportional to its width in pixels rather than to the trace length.
+ */
+public class GanttTrace {
+    private String[] processIds = new String[64];
+    private Color[] colors = new Color[64];
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int size;
+
+    /**
+     * Appends a slice, extending the last segment when the same process simply keeps running.
+     *
+     * @return index of the segment that was added or extended
+     */
+    public int append(String processId, int startTime, int endTime, Color color) {
+        if (endTime <= startTime) {
+            throw new IllegalArgumentException("Пустой интервал диаграммы: " + startTime + ".." + endTime);
+        }
+        if (size > 0) {
+            int last = size - 1;
+            if (startTime < ends[last]) {
+                throw new IllegalArgumentException("Интервалы диаграммы должны добавляться по порядку времени");
+            }
+            if (startTime == ends[last] && Objects.equals(processIds[last], processId)) {
+                ends[last] = endTime;
+                return last;
+            }
+        }
+        if (size == starts.length) {
+            int capacity = size << 1;
+            processIds = Arrays.copyOf(processIds, capacity);
+            colors = Arrays.copyOf(colors, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+        }
+        processIds[size] = processId;
+        colors[size] = color;
+        starts[size] = startTime;
+        ends[size] = endTime;
+        return size++;
+    }
+
+    /**
+     * Drops everything from the given time on, cutting the segment that runs across it.
+     */
+    public void truncate(int time) {
+        int keep = firstEndingAfter(time);
+        if (keep < size && starts[keep] < time) {
+            ends[keep] = time;
+            keep++;
+        }
+        Arrays.fill(processIds, keep, size, null);
+        Arrays.fill(colors, keep, size, null);
+        size = keep;
+    }
+
+    public void clear() {
+        Arrays.fill(processIds, 0, size, null);
+        Arrays.fill(colors, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String processId(int index) {
+        return processIds[index];
+    }
+
+    public Color color(int index) {
+        return colors[index];
+    }
+
+    public int start(int index) {
+        return starts[index];
+    }
+
+    public int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Returns the time at which the last segment ends, or 0 for an empty trace.
+     */
+    public int endTime() {
+        return size == 0 ? 0 : ends[size - 1];
+    }
+
+    /**
+     * Returns the index of the first segment that ends after the given time, or {@link #size()} if there is none.
+     */
+    public int firstEndingAfter(double time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] > time) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the segment running at the given time, or -1 if the CPU was idle.
+     */
+    public int segmentAt(double time) {
+        int index = firstEndingAfter(time);
+        return index < size && starts[index] <= time ? index : -1;
+    }
+
+    /**
+     * Walks the segments visible in pixel columns {@code [fromColumn, toColumn)} of a view whose left edge is at
+     * time {@code origin}. Segments at least one pixel wide are reported individually; a column crowded with
+     * narrower segments is reported once, with the segment running at the middle of that column.
+     */
+    public void render(double origin, double timePerPixel, int fromColumn, int toColumn, Painter painter) {
+        double toTime = origin + toColumn * timePerPixel;
+        int index = firstEndingAfter(origin + fromColumn * timePerPixel);
+        while (index < size && starts[index] < toTime) {
+            double x0 = (starts[index] - origin) / timePerPixel;
+            double x1 = (ends[index] - origin) / timePerPixel;
+            if (x1 - x0 >= 1) {
+                painter.segment(index, x0, x1);
+                index++;
+                continue;
+            }
+            int column = Math.max(fromColumn, (int) Math.floor(x0));
+            double columnStart = origin + column * timePerPixel;
+            int dominant = segmentAt(columnStart + timePerPixel / 2);
+            painter.column(dominant < 0 ? index : dominant, column);
+            index = Math.max(index + 1, firstEndingAfter(columnStart + timePerPixel));
+        }
+    }
+
+    /**
+     * Receives the drawing instructions produced by {@link #render}.
+     */
+    public interface Painter {
+        void segment(int index, double x0, double x1);
+
+        void column(int index, int column);
+    }
+}
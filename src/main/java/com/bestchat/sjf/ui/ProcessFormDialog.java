@@ -8,7 +8,7 @@ import javafx.scene.layout.GridPane;
 import java.util.Optional;
 
 /**
- * Dialog for creating a new process with validation feedback.
+ * Dialog for creating a new process, or editing an existing one, with validation feedback.
  */
 public class ProcessFormDialog extends Dialog<Process> {
     private final TextField idField = new TextField();
@@ -17,10 +17,18 @@ public class ProcessFormDialog extends Dialog<Process> {
     private final TextField priorityField = new TextField();
 
     public ProcessFormDialog() {
-        setTitle("Добавить процесс");
+        this(null);
+    }
+
+    /**
+     * Opens the form filled in with the given process, or empty for a new one when it is {@code null}.
+     */
+    public ProcessFormDialog(Process existing) {
+        setTitle(existing == null ? "Добавить процесс" : "Изменить процесс");
         setHeaderText("Введите параметры процесса");
 
-        ButtonType addButtonType = new ButtonType("Добавить", ButtonBar.ButtonData.OK_DONE);
+        ButtonType addButtonType = new ButtonType(existing == null ? "Добавить" : "Сохранить",
+                ButtonBar.ButtonData.OK_DONE);
         ButtonType cancelButtonType = new ButtonType("Отмена", ButtonBar.ButtonData.CANCEL_CLOSE);
         getDialogPane().getButtonTypes().addAll(addButtonType, cancelButtonType);
 
@@ -42,6 +50,13 @@ public class ProcessFormDialog extends Dialog<Process> {
         priorityField.setPromptText("1, 2, 3...");
         grid.add(priorityField, 1, 3);
 
+        if (existing != null) {
+            idField.setText(existing.getId());
+            arrivalField.setText(String.valueOf(existing.getArrivalTime()));
+            burstField.setText(String.valueOf(existing.getBurstTime()));
+            priorityField.setText(String.valueOf(existing.getBasePriority()));
+        }
+
         getDialogPane().setContent(grid);
 
         setResultConverter(dialogButton -> {
@@ -1,11 +1,15 @@
 package com.bestchat.sjf.ui;
 
 import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessSnapshot;
 import com.bestchat.sjf.model.ProcessState;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.IntegerBinding;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableIntegerValue;
 
 /**
  * JavaFX-friendly wrapper around {@link Process} for live table updates.
@@ -19,6 +23,7 @@ public class ProcessViewModel {
     private final IntegerProperty start = new SimpleIntegerProperty();
     private final IntegerProperty finish = new SimpleIntegerProperty();
     private final IntegerProperty waiting = new SimpleIntegerProperty();
+    private final IntegerProperty waitingEpoch = new SimpleIntegerProperty(-1);
     private final IntegerProperty turnaround = new SimpleIntegerProperty();
     private final StringProperty state = new SimpleStringProperty(ProcessState.NEW.name());
 
@@ -26,17 +31,26 @@ public class ProcessViewModel {
         updateFromProcess(process);
     }
 
+    public ProcessViewModel(ProcessSnapshot snapshot) {
+        update(snapshot);
+    }
+
     public void updateFromProcess(Process process) {
-        id.set(process.getId());
-        arrival.set(process.getArrivalTime());
-        burst.set(process.getBurstTime());
-        priority.set(process.getPriority());
-        remaining.set(process.getRemainingTime());
-        start.set(process.getStartTime() == null ? -1 : process.getStartTime());
-        finish.set(process.getFinishTime() == null ? -1 : process.getFinishTime());
-        waiting.set(process.getWaitingTime());
-        turnaround.set(process.getTurnaroundTime());
-        state.set(translateState(process.getState()));
+        update(ProcessSnapshot.of(process));
+    }
+
+    public void update(ProcessSnapshot snapshot) {
+        id.set(snapshot.id());
+        arrival.set(snapshot.arrivalTime());
+        burst.set(snapshot.burstTime());
+        priority.set(snapshot.priority());
+        remaining.set(snapshot.remainingTime());
+        start.set(snapshot.startTime() == null ? -1 : snapshot.startTime());
+        finish.set(snapshot.finishTime() == null ? -1 : snapshot.finishTime());
+        waiting.set(snapshot.waitingTime());
+        waitingEpoch.set(snapshot.waitingEpoch());
+        turnaround.set(snapshot.turnaroundTime());
+        state.set(translateState(snapshot.state()));
     }
 
     public StringProperty idProperty() {
@@ -71,6 +85,16 @@ public class ProcessViewModel {
         return waiting;
     }
 
+    /**
+     * Waiting time as of the given clock: it follows the clock while the process is queued, since a queued process
+     * is only reported again when it leaves the queue.
+     */
+    public IntegerBinding waitingTime(ObservableIntegerValue clock) {
+        return Bindings.createIntegerBinding(
+                () -> waitingEpoch.get() < 0 ? waiting.get() : clock.get() - waitingEpoch.get(),
+                clock, waiting, waitingEpoch);
+    }
+
     public IntegerProperty turnaroundProperty() {
         return turnaround;
     }
@@ -84,6 +108,7 @@ public class ProcessViewModel {
             case NEW -> "Новый";
             case READY -> "Готов";
             case RUNNING -> "Выполняется";
+            case BLOCKED -> "Заблокирован";
             case FINISHED -> "Завершён";
         };
     }
@@ -0,0 +1,269 @@
+package com.bestchat.sjf.ui;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessSnapshot;
+import com.bestchat.sjf.model.ProcessState;
+import com.bestchat.sjf.scheduling.CoreStatistics;
+import com.bestchat.sjf.scheduling.ReadyQueueChange;
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
+import com.bestchat.sjf.simulation.ReadyQueueMirror;
+import com.bestchat.sjf.simulation.SimulationListener;
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Collects simulation notifications on whatever thread drives the engine and hands them to the JavaFX
+ * Application Thread at most once per rendered frame. Each batch closed by {@link #onTimeAdvanced(int)} is
+ * published through a lock-free mailbox; if the UI has not picked up the previous frame yet, the new batch
+ * is merged into it, so a fast simulation never queues more than one pending frame.
+ */
+public class UiUpdateCoalescer implements SimulationListener {
+    private static final int READY_QUEUE_LIMIT = 200;
+    private static final long READY_QUEUE_REFRESH_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    private final AtomicReference<Frame> mailbox = new AtomicReference<>();
+    private final AnimationTimer timer;
+
+    // Everything below is owned by the simulation thread.
+    private final ReadyQueueMirror readyMirror = new ReadyQueueMirror();
+    private Frame building = new Frame();
+    private boolean readyDirty;
+    private long lastReadyRefresh;
+    private String[] activeByCore = new String[1];
+    private int lastTimeMark;
+
+    public UiUpdateCoalescer(Consumer<Frame> frameConsumer) {
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                Frame frame = mailbox.getAndSet(null);
+                if (frame != null) {
+                    frameConsumer.accept(frame);
+                }
+            }
+        };
+    }
+
+    public void start() {
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Drops everything not yet shown. Only call while no thread is driving the engine.
+     */
+    public void discardPending() {
+        mailbox.set(null);
+        building = new Frame();
+        readyMirror.reset(List.of());
+        readyDirty = false;
+        Arrays.fill(activeByCore, null);
+        lastTimeMark = 0;
+    }
+
+    /**
+     * Drops everything not yet shown and carries on from the given time, for an engine that was moved to another
+     * point of the run. Only call while no thread is driving the engine.
+     */
+    public void restartAt(int time) {
+        discardPending();
+        lastTimeMark = time;
+    }
+
+    /**
+     * Publishes the current ready queue immediately, e.g. once a fast run has stopped.
+     */
+    public void publishReadyQueue() {
+        readyDirty = true;
+        lastReadyRefresh = 0;
+        onTimeAdvanced(lastTimeMark);
+    }
+
+    @Override
+    public void onTimeAdvanced(int time) {
+        if (time > lastTimeMark) {
+            for (int core = 0; core < activeByCore.length; core++) {
+                if (activeByCore[core] != null) {
+                    building.addSlice(core, activeByCore[core], lastTimeMark, time);
+                }
+            }
+        }
+        lastTimeMark = time;
+        building.time = time;
+        readyMirror.flush();
+
+        Frame pending = mailbox.getAndSet(null);
+        long now = System.nanoTime();
+        if (readyDirty && (pending == null || now - lastReadyRefresh >= READY_QUEUE_REFRESH_NANOS)) {
+            List<ProcessSnapshot> head = new ArrayList<>(Math.min(readyMirror.size(), READY_QUEUE_LIMIT));
+            for (Process process : readyMirror.head(READY_QUEUE_LIMIT)) {
+                head.add(ProcessSnapshot.of(process));
+            }
+            building.readyQueue = head;
+            readyDirty = false;
+            lastReadyRefresh = now;
+        }
+        if (pending == null) {
+            mailbox.set(building);
+            building = new Frame();
+        } else {
+            pending.absorb(building);
+            mailbox.set(pending);
+            building.clear();
+        }
+    }
+
+    @Override
+    public void onProcessStateChanged(Process process) {
+        building.processes.put(process.getId(), ProcessSnapshot.of(process));
+        int core = Math.max(0, process.getCore());
+        if (core >= activeByCore.length) {
+            activeByCore = Arrays.copyOf(activeByCore, core + 1);
+        }
+        if (process.getState() == ProcessState.RUNNING) {
+            activeByCore[core] = process.getId();
+        } else if (process.getId().equals(activeByCore[core])) {
+            activeByCore[core] = null;
+        }
+    }
+
+    @Override
+    public void onCoreStatistics(CoreStatistics statistics) {
+        building.coreStatistics = statistics;
+    }
+
+    @Override
+    public void onSchedulingEvent(String message) {
+        // Events arrive through onSchedulerEvent and are formatted on the UI thread.
+    }
+
+    @Override
+    public void onSchedulerEvent(SchedulerEvent event, SchedulerEventFormatter formatter) {
+        building.events.add(event);
+        building.formatter = formatter;
+    }
+
+    @Override
+    public void onReadyQueueUpdated(List<Process> ready) {
+        readyMirror.reset(ready);
+        readyDirty = true;
+    }
+
+    @Override
+    public void onReadyQueueChanged(ReadyQueueChange change, Process process) {
+        readyMirror.apply(change, process);
+        readyDirty = true;
+    }
+
+    /**
+     * State accumulated since the UI last rendered.
+     */
+    public static class Frame {
+        private int time;
+        private final Map<String, ProcessSnapshot> processes = new LinkedHashMap<>();
+        private final List<SchedulerEvent> events = new ArrayList<>();
+        private SchedulerEventFormatter formatter;
+        private final List<Slice> slices = new ArrayList<>();
+        private int[] lastSliceByCore = new int[0];
+        private List<ProcessSnapshot> readyQueue;
+        private CoreStatistics coreStatistics;
+
+        public int time() {
+            return time;
+        }
+
+        public Iterable<ProcessSnapshot> processes() {
+            return processes.values();
+        }
+
+        public List<SchedulerEvent> events() {
+            return events;
+        }
+
+        public SchedulerEventFormatter formatter() {
+            return formatter;
+        }
+
+        public List<Slice> slices() {
+            return slices;
+        }
+
+        /**
+         * Returns the head of the ready queue in dispatch order, or {@code null} when it did not change.
+         */
+        public List<ProcessSnapshot> readyQueue() {
+            return readyQueue;
+        }
+
+        /**
+         * Returns the latest per-core counters, or {@code null} when none arrived with this frame.
+         */
+        public CoreStatistics coreStatistics() {
+            return coreStatistics;
+        }
+
+        private void addSlice(int core, String processId, int start, int end) {
+            if (core >= lastSliceByCore.length) {
+                int from = lastSliceByCore.length;
+                lastSliceByCore = Arrays.copyOf(lastSliceByCore, core + 1);
+                Arrays.fill(lastSliceByCore, from, core + 1, -1);
+            }
+            int lastIndex = lastSliceByCore[core];
+            if (lastIndex >= 0) {
+                Slice last = slices.get(lastIndex);
+                if (Objects.equals(last.processId(), processId) && last.end() == start) {
+                    slices.set(lastIndex, new Slice(core, processId, last.start(), end));
+                    return;
+                }
+            }
+            lastSliceByCore[core] = slices.size();
+            slices.add(new Slice(core, processId, start, end));
+        }
+
+        private void absorb(Frame newer) {
+            time = newer.time;
+            processes.putAll(newer.processes);
+            events.addAll(newer.events);
+            if (newer.formatter != null) {
+                formatter = newer.formatter;
+            }
+            for (Slice slice : newer.slices) {
+                addSlice(slice.core(), slice.processId(), slice.start(), slice.end());
+            }
+            if (newer.readyQueue != null) {
+                readyQueue = newer.readyQueue;
+            }
+            if (newer.coreStatistics != null) {
+                coreStatistics = newer.coreStatistics;
+            }
+        }
+
+        private void clear() {
+            processes.clear();
+            events.clear();
+            slices.clear();
+            Arrays.fill(lastSliceByCore, -1);
+            readyQueue = null;
+            coreStatistics = null;
+        }
+    }
+
+    /**
+     * Stretch of time during which one process held a CPU core.
+     */
+    public record Slice(int core, String processId, int start, int end) {
+    }
+}
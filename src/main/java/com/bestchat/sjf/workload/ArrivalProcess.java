@@ -0,0 +1,77 @@
+package com.bestchat.sjf.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Produces the continuous arrival times of a synthetic workload one after another.
+ * Implementations may keep state between calls, so each {@link SyntheticWorkload} needs its own instance.
+ */
+public interface ArrivalProcess {
+
+    /**
+     * Returns the time of the next arrival, which is never earlier than {@code clock}, the previous arrival.
+     */
+    double next(double clock, SplittableRandom random);
+
+    /**
+     * Forgets the state accumulated so far; called when the workload is rewound.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Poisson arrivals: exponentially distributed gaps with the given mean number of arrivals per time unit.
+     */
+    static ArrivalProcess poisson(double rate) {
+        requirePositive(rate);
+        return (clock, random) -> clock + exponential(random, rate);
+    }
+
+    /**
+     * Bursty arrivals from a two-state Markov-modulated Poisson process: bursts with a high arrival rate alternate
+     * with quiet periods with a low one, and both kinds of period have exponentially distributed lengths.
+     */
+    static ArrivalProcess bursty(double burstRate, double quietRate, double meanBurstLength, double meanQuietLength) {
+        requirePositive(burstRate);
+        requirePositive(quietRate);
+        requirePositive(meanBurstLength);
+        requirePositive(meanQuietLength);
+        return new ArrivalProcess() {
+            private boolean inBurst;
+            private double periodEnd = Double.NaN;
+
+            @Override
+            public double next(double clock, SplittableRandom random) {
+                if (Double.isNaN(periodEnd)) {
+                    periodEnd = clock + exponential(random, 1 / meanQuietLength);
+                }
+                while (true) {
+                    double arrival = clock + exponential(random, inBurst ? burstRate : quietRate);
+                    if (arrival < periodEnd) {
+                        return arrival;
+                    }
+                    // Both rates are memoryless, so the draw can simply restart at the period boundary.
+                    clock = periodEnd;
+                    inBurst = !inBurst;
+                    periodEnd = clock + exponential(random, 1 / (inBurst ? meanBurstLength : meanQuietLength));
+                }
+            }
+
+            @Override
+            public void reset() {
+                inBurst = false;
+                periodEnd = Double.NaN;
+            }
+        };
+    }
+
+    private static double exponential(SplittableRandom random, double rate) {
+        return -Math.log(1 - random.nextDouble()) / rate;
+    }
+
+    private static void requirePositive(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Параметры потока поступлений должны быть положительными");
+        }
+    }
+}
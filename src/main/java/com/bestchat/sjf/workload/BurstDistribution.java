@@ -0,0 +1,64 @@
+package com.bestchat.sjf.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of CPU burst lengths. Continuous draws are rounded up and clamped to {@code [1, MAX_BURST]}.
+ */
+@FunctionalInterface
+public interface BurstDistribution {
+    /**
+     * Upper bound for a single burst, which keeps heavy-tailed draws from overflowing the simulation clock.
+     */
+    int MAX_BURST = 1_000_000;
+
+    int sample(SplittableRandom random);
+
+    /**
+     * Uniform burst lengths in {@code [min, max]}.
+     */
+    static BurstDistribution uniform(int min, int max) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("Некорректные границы длительности");
+        }
+        return random -> random.nextInt(min, max + 1);
+    }
+
+    static BurstDistribution exponential(double mean) {
+        requirePositive(mean);
+        return random -> clamp(-mean * Math.log(1 - random.nextDouble()));
+    }
+
+    /**
+     * Pareto (heavy-tailed) burst lengths with the given minimum and tail index; the smaller the index, the more
+     * often a very long burst shows up.
+     */
+    static BurstDistribution pareto(double scale, double shape) {
+        requirePositive(scale);
+        requirePositive(shape);
+        return random -> clamp(scale / Math.pow(1 - random.nextDouble(), 1 / shape));
+    }
+
+    /**
+     * Mix of short interactive and long batch bursts: each burst is exponential with the long mean with
+     * probability {@code longShare} and with the short mean otherwise.
+     */
+    static BurstDistribution bimodal(double shortMean, double longMean, double longShare) {
+        if (longShare < 0 || longShare > 1) {
+            throw new IllegalArgumentException("Доля длинных задач должна быть от 0 до 1");
+        }
+        BurstDistribution shortBursts = exponential(shortMean);
+        BurstDistribution longBursts = exponential(longMean);
+        return random -> random.nextDouble() < longShare ? longBursts.sample(random) : shortBursts.sample(random);
+    }
+
+    private static int clamp(double burst) {
+        return (int) Math.min(MAX_BURST, Math.max(1, Math.ceil(burst)));
+    }
+
+    private static void requirePositive(double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("Параметры распределения длительности должны быть положительными");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bestchat.sjf.workload;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Share of processes at each priority level, level 1 being the highest.
+ */
+public final class PriorityMix {
+    private final double[] cumulative;
+
+    private PriorityMix(double[] cumulative) {
+        this.cumulative = cumulative;
+    }
+
+    /**
+     * Every level from 1 to {@code levels} equally likely.
+     */
+    public static PriorityMix uniform(int levels) {
+        if (levels <= 0) {
+            throw new IllegalArgumentException("Число уровней приоритета должно быть положительным");
+        }
+        double[] weights = new double[levels];
+        Arrays.fill(weights, 1);
+        return weighted(weights);
+    }
+
+    /**
+     * Level {@code i + 1} is drawn with probability proportional to {@code weights[i]}.
+     */
+    public static PriorityMix weighted(double... weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (!(weights[i] >= 0)) {
+                throw new IllegalArgumentException("Веса приоритетов не могут быть отрицательными");
+            }
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("Хотя бы один вес приоритета должен быть положительным");
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new PriorityMix(cumulative);
+    }
+
+    public int levels() {
+        return cumulative.length;
+    }
+
+    public int sample(SplittableRandom random) {
+        double draw = random.nextDouble();
+        for (int level = 0; level < cumulative.length - 1; level++) {
+            if (draw < cumulative[level]) {
+                return level + 1;
+            }
+        }
+        return cumulative.length;
+    }
+}
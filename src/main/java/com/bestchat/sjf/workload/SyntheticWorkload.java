@@ -0,0 +1,83 @@
+package com.bestchat.sjf.workload;
+
+import com.bestchat.sjf.model.ProcessTable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random workload generated on demand from an arrival process, a burst distribution and a priority mix.
+ * Nothing is materialised ahead of the scheduler: each call to {@link #next(ProcessTable)} draws one process,
+ * so a run over millions of processes, or an unbounded one, needs only as much memory as the processes alive at
+ * once. The same seed always yields the same stream.
+ */
+public class SyntheticWorkload implements WorkloadSource {
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final ArrivalProcess arrivals;
+    private final BurstDistribution bursts;
+    private final PriorityMix priorities;
+    private final long limit;
+    private final long seed;
+    private SplittableRandom random;
+    private double clock;
+    private int nextArrival;
+    private long generated;
+
+    /**
+     * @param limit how many processes to produce, or {@link #UNBOUNDED}
+     */
+    public SyntheticWorkload(ArrivalProcess arrivals, BurstDistribution bursts, PriorityMix priorities,
+                             long limit, long seed) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Число процессов не может быть отрицательным");
+        }
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+        this.priorities = priorities;
+        this.limit = limit;
+        this.seed = seed;
+        rewind();
+    }
+
+    @Override
+    public int peekArrivalTime() {
+        return nextArrival;
+    }
+
+    @Override
+    public int next(ProcessTable table) {
+        if (nextArrival == EXHAUSTED) {
+            throw new IllegalStateException("Поток процессов исчерпан");
+        }
+        int handle = table.add("G" + generated, nextArrival, bursts.sample(random), priorities.sample(random));
+        generated++;
+        advance();
+        return handle;
+    }
+
+    @Override
+    public void rewind() {
+        random = new SplittableRandom(seed);
+        arrivals.reset();
+        clock = 0;
+        generated = 0;
+        advance();
+    }
+
+    /**
+     * Returns how many processes the stream has produced since it was created or rewound.
+     */
+    public long generated() {
+        return generated;
+    }
+
+    private void advance() {
+        if (generated == limit) {
+            nextArrival = EXHAUSTED;
+            return;
+        }
+        clock = arrivals.next(clock, random);
+        // Arrivals past the range of the int clock end the stream rather than wrapping around.
+        nextArrival = clock < EXHAUSTED ? (int) clock : EXHAUSTED;
+    }
+}
@@ -0,0 +1,30 @@
+package com.bestchat.sjf.workload;
+
+import com.bestchat.sjf.model.ProcessTable;
+
+/**
+ * Stream of process definitions in arrival order that a scheduler pulls from as its clock advances, instead of
+ * receiving the whole workload up front. Sources may be unbounded.
+ */
+public interface WorkloadSource {
+    /**
+     * Arrival time reported by a source that has no processes left.
+     */
+    int EXHAUSTED = Integer.MAX_VALUE;
+
+    /**
+     * Returns the arrival time of the next process without consuming it, or {@link #EXHAUSTED}.
+     * Successive processes never arrive earlier than the ones before them.
+     */
+    int peekArrivalTime();
+
+    /**
+     * Adds the next process to the table and returns its handle. Must not be called once the source is exhausted.
+     */
+    int next(ProcessTable table);
+
+    /**
+     * Starts the stream over, so that it produces the same processes again.
+     */
+    void rewind();
+}
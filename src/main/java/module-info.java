@@ -3,11 +3,15 @@ module com.bestchat.sjf {
     requires javafx.graphics;
     requires javafx.base;
     requires org.apache.commons.csv;
+    requires jdk.jfr;
+    requires jdk.management;
 
     exports com.bestchat.sjf;
     exports com.bestchat.sjf.io;
+    exports com.bestchat.sjf.metrics;
     exports com.bestchat.sjf.model;
     exports com.bestchat.sjf.scheduling;
     exports com.bestchat.sjf.simulation;
     exports com.bestchat.sjf.ui;
+    exports com.bestchat.sjf.workload;
 }
@@ -0,0 +1,116 @@
+package com.bestchat.sjf.io;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.simulation.SimulationEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryIoServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void convertsCsvFixtureToBinaryAndBack() throws Exception {
+        Path fixture = Path.of(getClass().getResource("/workloads/sample.csv").toURI());
+        CsvIoService csv = new CsvIoService();
+        BinaryIoService binary = new BinaryIoService();
+
+        Path bin = directory.resolve("sample.sjfb");
+        binary.convertCsvToBinary(fixture, bin);
+        BinaryWorkload workload = binary.open(bin);
+        assertFalse(workload.hasResults());
+        assertEquals("Печать, отчёт", workload.id(4));
+        assertEquals(9, workload.burstTime(7));
+        assertDefinitionsEqual(csv.load(fixture), workload.toProcesses());
+
+        Path back = directory.resolve("sample.csv");
+        binary.convertBinaryToCsv(bin, back);
+        assertDefinitionsEqual(csv.load(fixture), csv.load(back));
+    }
+
+    @Test
+    void roundTripsSimulationResults() throws Exception {
+        Path fixture = Path.of(getClass().getResource("/workloads/sample.csv").toURI());
+        CsvIoService csv = new CsvIoService();
+        BinaryIoService binary = new BinaryIoService();
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        engine.loadProcesses(csv.load(fixture));
+        engine.runUntil(15);
+        List<Process> results = scheduler.snapshot();
+
+        Path bin = directory.resolve("results.sjfb");
+        binary.saveResults(bin, results);
+        BinaryWorkload stored = binary.open(bin);
+        assertTrue(stored.hasResults());
+        for (int row = 0; row < results.size(); row++) {
+            Process process = results.get(row);
+            assertEquals(process.getId(), stored.id(row));
+            assertEquals(process.getPriority(), stored.priority(row));
+            assertEquals(process.getStartTime(), stored.startTime(row));
+            assertEquals(process.getFinishTime(), stored.finishTime(row));
+            assertEquals(process.getWaitingTime(), stored.waitingTime(row));
+        }
+
+        Path fromBinary = directory.resolve("from-binary.csv");
+        Path fromSnapshot = directory.resolve("from-snapshot.csv");
+        binary.convertBinaryToCsv(bin, fromBinary);
+        csv.saveResults(fromSnapshot, results);
+        assertEquals(Files.readAllLines(fromSnapshot), Files.readAllLines(fromBinary));
+    }
+
+    @Test
+    void savesOverAFileThatIsStillOpen() throws Exception {
+        BinaryIoService binary = new BinaryIoService();
+        Path bin = directory.resolve("workload.sjfb");
+        binary.saveWorkload(bin, List.of(new Process("A", 0, 5, 2), new Process("B", 1, 3, 1)));
+        BinaryWorkload first = binary.open(bin);
+
+        binary.saveWorkload(bin, List.of(new Process("C", 2, 4, 3)));
+
+        assertEquals(2, first.size());
+        BinaryWorkload second = binary.open(bin);
+        assertEquals(1, second.size());
+        assertEquals("C", second.id(0));
+        assertEquals(4, second.burstTime(0));
+    }
+
+    @Test
+    void rejectsADictionaryThatRunsPastTheEndOfTheFile() throws Exception {
+        BinaryIoService binary = new BinaryIoService();
+        Path bin = directory.resolve("corrupt.sjfb");
+        binary.saveWorkload(bin, List.of(new Process("A", 0, 5, 2)));
+        byte[] bytes = Files.readAllBytes(bin);
+        ByteBuffer header = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        header.putInt(16, Integer.MAX_VALUE);
+        Files.write(bin, bytes);
+        assertThrows(IOException.class, () -> binary.open(bin));
+
+        header.putInt(16, 1).putInt(20, -4);
+        Files.write(bin, bytes);
+        assertThrows(IOException.class, () -> binary.open(bin));
+    }
+
+    private static void assertDefinitionsEqual(List<Process> expected, List<Process> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getArrivalTime(), actual.get(i).getArrivalTime());
+            assertEquals(expected.get(i).getBurstTime(), actual.get(i).getBurstTime());
+            assertEquals(expected.get(i).getBasePriority(), actual.get(i).getBasePriority());
+        }
+    }
+}
@@ -3,12 +3,14 @@ package com.bestchat.sjf.io;
 import com.bestchat.sjf.model.Process;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CsvIoServiceTest {
 
@@ -31,4 +33,55 @@ class CsvIoServiceTest {
         assertEquals(processes.get(0).getId(), loaded.get(0).getId());
         assertEquals(processes.get(1).getArrivalTime(), loaded.get(1).getArrivalTime());
     }
+
+    @Test
+    void mappedLoaderMatchesCsvParser() throws Exception {
+        CsvIoService service = new CsvIoService();
+        StringBuilder csv = new StringBuilder("id,arrivalTime,burstTime,priority,extra\r\n");
+        for (int i = 0; i < 300_000; i++) {
+            csv.append(" Процесс-").append(i).append(" ,").append(i / 3).append(", ").append(1 + i % 17)
+                    .append(',').append(1 + i % 5).append(i % 2 == 0 ? ",x\r\n" : "\n");
+            if (i % 1000 == 0) {
+                csv.append('\n');
+            }
+        }
+        Path plain = Files.createTempFile("workload", ".csv");
+        Files.writeString(plain, csv, StandardCharsets.UTF_8);
+        assertSameProcesses(service.loadWithCsvParser(plain), service.load(plain));
+
+        Path quoted = Files.createTempFile("quoted", ".csv");
+        Files.writeString(quoted, "id,arrivalTime,burstTime,priority\n\"A,1\",0,3,1\nB,1,2,2\n", StandardCharsets.UTF_8);
+        List<Process> loaded = service.load(quoted);
+        assertEquals("A,1", loaded.get(0).getId());
+        assertSameProcesses(service.loadWithCsvParser(quoted), loaded);
+    }
+
+    @Test
+    void bothLoadersRejectAWhitespaceOnlyLine() throws Exception {
+        CsvIoService service = new CsvIoService();
+        Path malformed = Files.createTempFile("malformed", ".csv");
+        Files.writeString(malformed, "id,arrivalTime,burstTime,priority\r\nA,0,3,1\r\n \t\r\nB,1,2,2\r\n",
+                StandardCharsets.UTF_8);
+
+        assertThrows(RuntimeException.class, () -> service.loadWithCsvParser(malformed));
+        assertThrows(RuntimeException.class, () -> service.load(malformed));
+
+        Path empty = Files.createTempFile("empty-lines", ".csv");
+        Files.writeString(empty, "id,arrivalTime,burstTime,priority\r\nA,0,3,1\r\n\r\n\nB,1,2,2\r\n",
+                StandardCharsets.UTF_8);
+        assertSameProcesses(service.loadWithCsvParser(empty), service.load(empty));
+        assertEquals(2, service.load(empty).size());
+    }
+
+    private static void assertSameProcesses(List<Process> expected, List<Process> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Process e = expected.get(i);
+            Process a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getArrivalTime(), a.getArrivalTime());
+            assertEquals(e.getBurstTime(), a.getBurstTime());
+            assertEquals(e.getBasePriority(), a.getBasePriority());
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.bestchat.sjf.io;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.simulation.SimulationEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingResultsWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesTheSameRowsAsSaveResults() throws Exception {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            workload.add(new Process(i == 7 ? "P,\"7\"" : "P" + i, i / 2, 1 + (i * 5) % 9, 1 + i % 4));
+        }
+        engine.loadProcesses(workload);
+
+        Path streamed = directory.resolve("streamed.csv");
+        try (StreamingResultsWriter writer = new StreamingResultsWriter(streamed)) {
+            engine.addListener(writer);
+            engine.runToCompletion();
+            assertEquals(workload.size(), writer.getRowsWritten());
+        }
+
+        Path saved = directory.resolve("saved.csv");
+        new CsvIoService().saveResults(saved, scheduler.snapshot());
+
+        List<String> streamedLines = Files.readAllLines(streamed);
+        List<String> savedLines = Files.readAllLines(saved);
+        assertEquals(savedLines.get(0), streamedLines.get(0));
+        assertEquals(savedLines.stream().sorted().toList(), streamedLines.stream().sorted().toList());
+    }
+
+    @Test
+    void writesEveryProcessOnceWhenTheRunIsScrubbedAndEdited() throws Exception {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        engine.setCheckpointing(16, 1 << 20);
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            workload.add(new Process("P" + i, i, 1 + (i * 7) % 5, 1 + i % 3));
+        }
+        engine.loadProcesses(workload);
+
+        Path streamed = directory.resolve("streamed.csv");
+        try (StreamingResultsWriter writer = new StreamingResultsWriter(streamed)) {
+            engine.addListener(writer);
+            engine.runUntil(200);
+            engine.seek(40);
+            engine.runUntil(250);
+            engine.seek(120);
+            engine.seek(230);
+            engine.updateProcesses(workload);
+            engine.runToCompletion();
+            assertEquals(workload.size(), writer.getRowsWritten());
+        }
+
+        Path saved = directory.resolve("saved.csv");
+        new CsvIoService().saveResults(saved, scheduler.snapshot());
+        assertEquals(Files.readAllLines(saved).stream().sorted().toList(),
+                Files.readAllLines(streamed).stream().sorted().toList());
+    }
+
+    @Test
+    void quotesIdsLikeSaveResults() throws Exception {
+        List<String> ids = List.of("plain", "a\"b", "c,d", " leading", "trailing ", "line\nbreak", "cr\rreturn", "#x");
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            // One at a time, so the completion order is the definition order.
+            workload.add(new Process(ids.get(i), 10 * i, 2, 1));
+        }
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        engine.loadProcesses(workload);
+
+        Path streamed = directory.resolve("streamed.csv");
+        try (StreamingResultsWriter writer = new StreamingResultsWriter(streamed)) {
+            engine.addListener(writer);
+            engine.runToCompletion();
+        }
+        Path saved = directory.resolve("saved.csv");
+        CsvIoService csv = new CsvIoService();
+        csv.saveResults(saved, scheduler.snapshot());
+
+        assertEquals(Files.readString(saved), Files.readString(streamed));
+    }
+}
@@ -0,0 +1,50 @@
+package com.bestchat.sjf.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithBoundedError() {
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertTrue(highest >= value, "value " + value);
+            assertTrue(highest - value <= value / 32, "value " + value);
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest), "value " + value);
+        }
+    }
+
+    @Test
+    void percentilesMatchExactRanksWithinPrecision() {
+        SplittableRandom random = new SplittableRandom(9);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble(0, 20));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.percentile(percentile);
+            assertTrue(reported >= exact && reported <= exact + exact / 32 + 1, percentile + "%: " + reported + " vs " + exact);
+        }
+        assertEquals(values.length, histogram.count());
+        assertEquals(values[values.length - 1], histogram.max());
+        assertEquals(Arrays.stream(values).average().orElseThrow(), histogram.mean(), 1e-6);
+
+        LatencyHistogram copy = histogram.copy();
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(values.length, copy.count());
+    }
+}
@@ -0,0 +1,51 @@
+package com.bestchat.sjf.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingDistributionTest {
+
+    @Test
+    void mergedMomentsMatchASinglePass() {
+        SplittableRandom random = new SplittableRandom(3);
+        StreamingDistribution all = new StreamingDistribution();
+        StreamingDistribution first = new StreamingDistribution();
+        StreamingDistribution second = new StreamingDistribution();
+        double sum = 0;
+        double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + random.nextDouble(50);
+            sum += values[i];
+            all.add(values[i]);
+            (i < 3_000 ? first : second).add(values[i]);
+        }
+        double mean = sum / values.length;
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        first.merge(second);
+        first.merge(new StreamingDistribution());
+
+        assertEquals(values.length, first.count());
+        assertEquals(mean, first.mean(), 1e-9);
+        assertEquals(squares / (values.length - 1), first.variance(), 1e-6);
+        assertEquals(all.variance(), first.variance(), 1e-6);
+        assertEquals(all.summary().min(), first.summary().min());
+        assertEquals(all.summary().max(), first.summary().max());
+    }
+
+    @Test
+    void emptyDistributionSummarisesToZeros() {
+        StreamingDistribution distribution = new StreamingDistribution();
+        assertEquals(new StreamingDistribution.Summary(0, 0, 0, 0, 0, 0, 0, 0, 0), distribution.summary());
+
+        distribution.add(5);
+        distribution.reset();
+        assertEquals(0, distribution.count());
+        assertEquals(0, distribution.variance());
+    }
+}
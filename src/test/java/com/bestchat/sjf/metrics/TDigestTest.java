@@ -0,0 +1,89 @@
+package com.bestchat.sjf.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TDigestTest {
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99, 0.999};
+
+    @Test
+    void quantilesStayCloseInRankOnSkewedData() {
+        SplittableRandom random = new SplittableRandom(5);
+        double[] values = new double[1_000_000];
+        TDigest digest = new TDigest();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = -Math.log(1 - random.nextDouble()) * 40;
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, digest.count());
+        assertAccurate(values, digest);
+        assertEquals(values[0], digest.min());
+        assertEquals(values[values.length - 1], digest.max());
+    }
+
+    @Test
+    void mergedDigestsMatchOneDigestOverAllValues() {
+        SplittableRandom random = new SplittableRandom(11);
+        double[] values = new double[400_000];
+        TDigest[] parts = new TDigest[8];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new TDigest();
+        }
+        for (int i = 0; i < values.length; i++) {
+            // Each part sees a different slice of the range, the worst case for merging.
+            values[i] = (i % parts.length) * 100 + random.nextDouble(100);
+            parts[i % parts.length].add(values[i]);
+        }
+        TDigest merged = new TDigest();
+        for (TDigest part : parts) {
+            merged.merge(part);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, merged.count());
+        assertAccurate(values, merged);
+        assertEquals(values[0], merged.min());
+        assertEquals(values[values.length - 1], merged.max());
+    }
+
+    @Test
+    void smallInputsReportTheirExtremesAndEmptyDigestReportsNaN() {
+        TDigest digest = new TDigest();
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+        for (int value : new int[]{7, 3, 9, 1, 5}) {
+            digest.add(value);
+        }
+        assertEquals(1, digest.quantile(0), 1e-9);
+        assertEquals(9, digest.quantile(1), 1e-9);
+        assertEquals(5, digest.quantile(0.5), 1e-9);
+
+        digest.reset();
+        assertEquals(0, digest.count());
+        digest.add(4);
+        assertEquals(4, digest.quantile(0.99));
+    }
+
+    private static void assertAccurate(double[] sorted, TDigest digest) {
+        for (double q : QUANTILES) {
+            double estimate = digest.quantile(q);
+            int below = lowerBound(sorted, estimate);
+            double rankError = Math.abs((double) below / sorted.length - q);
+            // The arcsine scale keeps tail centroids small, so the allowed rank error shrinks towards the tail.
+            double tolerance = 4 * Math.sqrt(q * (1 - q)) / TDigest.DEFAULT_COMPRESSION + 1e-4;
+            assertTrue(rankError <= tolerance, "q=" + q + ": rank error " + rankError);
+        }
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.bestchat.sjf.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessTableTest {
+
+    @Test
+    void truncateForgetsRowsReleasedBeyondTheNewEnd() {
+        ProcessTable table = new ProcessTable();
+        for (int i = 0; i < 4; i++) {
+            table.add("T" + i, i, 1, 1);
+        }
+        table.release(3);
+        table.release(0);
+
+        table.truncate(2);
+
+        assertEquals(0, table.add("A", 5, 1, 1));
+        assertEquals(2, table.add("B", 6, 1, 1));
+        assertEquals(3, table.size());
+        assertEquals("T1", table.getId(1));
+    }
+}
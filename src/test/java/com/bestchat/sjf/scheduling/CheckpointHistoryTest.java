@@ -0,0 +1,54 @@
+package com.bestchat.sjf.scheduling;
+
+import com.bestchat.sjf.model.ProcessTable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointHistoryTest {
+
+    @Test
+    void thinsOutToStayWithinBudgetAndKeepsTheStart() {
+        CheckpointHistory history = new CheckpointHistory();
+        history.configure(10, 5 * checkpoint(0).sizeInBytes());
+
+        for (int time = 0; time <= 1_000; time++) {
+            if (history.isDue(time)) {
+                history.add(checkpoint(time));
+            }
+        }
+
+        assertTrue(history.size() <= 5);
+        assertTrue(history.sizeInBytes() <= 5 * checkpoint(0).sizeInBytes());
+        assertEquals(0, history.latestAtOrBefore(5).time());
+        assertTrue(history.latestAtOrBefore(1_000).time() >= 500);
+        assertNull(history.latestAtOrBefore(-1));
+    }
+
+    @Test
+    void dueOnlyPastTheNewestCheckpoint() {
+        CheckpointHistory history = new CheckpointHistory();
+        assertFalse(history.isDue(0));
+        history.configure(10, Long.MAX_VALUE);
+        for (int time = 0; time <= 50; time += 10) {
+            history.add(checkpoint(time));
+        }
+
+        assertFalse(history.isDue(20));
+        assertTrue(history.isDue(60));
+        history.discardAfter(25);
+        assertEquals(3, history.size());
+        assertTrue(history.isDue(30));
+        assertEquals(20, history.latestAtOrBefore(45).time());
+    }
+
+    private static SchedulerCheckpoint checkpoint(int time) {
+        ProcessTable table = new ProcessTable();
+        for (int i = 0; i < 10; i++) {
+            table.add("P" + i, i, 5, 1);
+        }
+        return new SchedulerCheckpoint(time, 10, table.copyRuntime(0, 10), table.copyRuntime(10, 10), new String[0],
+                new int[0], new int[0], new int[0], 0, new int[][]{new int[0]}, new int[0], new int[]{-1},
+                new long[1], 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.bestchat.sjf.scheduling;
+
+import com.bestchat.sjf.model.ProcessTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedHandleHeapTest {
+
+    private static final int CAPACITY = 5_000;
+
+    @Test
+    void keepsOrderUnderDecreaseKeyUpdateAndRemoval() {
+        ProcessTable table = new ProcessTable(CAPACITY);
+        IndexedHandleHeap heap = new IndexedHandleHeap(order(table), CAPACITY);
+        Comparator<Integer> reference = (left, right) -> order(table).compare(left, right);
+        List<Integer> queued = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            int op = random.nextInt(5);
+            if (op <= 1 || queued.isEmpty()) {
+                int handle = table.add("H" + i, 0, 1 + random.nextInt(50), 1 + random.nextInt(10));
+                heap.add(handle);
+                queued.add(handle);
+            } else if (op == 2) {
+                int target = queued.get(random.nextInt(queued.size()));
+                table.setPriority(target, Math.max(1, table.getPriority(target) - 1 - random.nextInt(3)));
+                heap.decreaseKey(target);
+            } else if (op == 3) {
+                int target = queued.get(random.nextInt(queued.size()));
+                table.setRemainingTime(target, 1 + random.nextInt(50));
+                heap.update(target);
+            } else {
+                int target = queued.remove(random.nextInt(queued.size()));
+                assertTrue(heap.remove(target));
+                assertFalse(heap.contains(target));
+            }
+            queued.sort(reference);
+            assertEquals(queued.size(), heap.size());
+            assertEquals(queued.isEmpty() ? -1 : queued.get(0), heap.peek());
+        }
+
+        assertArrayEquals(queued.stream().mapToInt(Integer::intValue).toArray(), heap.toSortedArray());
+        while (!queued.isEmpty()) {
+            assertEquals(queued.remove(0), heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+        assertEquals(-1, heap.poll());
+    }
+
+    @Test
+    void rejectsForeignHandles() {
+        ProcessTable table = new ProcessTable();
+        int queued = table.add("Q", 0, 3, 1);
+        int stranger = table.add("S", 0, 3, 1);
+        IndexedHandleHeap heap = new IndexedHandleHeap(order(table), table.size());
+        heap.add(queued);
+
+        assertFalse(heap.remove(stranger));
+        assertThrows(IllegalArgumentException.class, () -> heap.update(stranger));
+        assertThrows(IllegalStateException.class, () -> heap.add(queued));
+    }
+
+    private static IndexedHandleHeap.HandleOrder order(ProcessTable table) {
+        return (left, right) -> {
+            int byPriority = Integer.compare(table.getPriority(left), table.getPriority(right));
+            if (byPriority != 0) {
+                return byPriority;
+            }
+            int byRemaining = Integer.compare(table.getRemainingTime(left), table.getRemainingTime(right));
+            return byRemaining != 0 ? byRemaining : table.getId(left).compareTo(table.getId(right));
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.bestchat.sjf.scheduling;
+
+import com.bestchat.sjf.model.ProcessTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityBucketQueueTest {
+
+    @Test
+    void dispatchesByPriorityThenRemainingTime() {
+        Random random = new Random(11);
+        ProcessTable table = new ProcessTable();
+        for (int i = 0; i < 3_000; i++) {
+            table.add("B" + i, i, 1 + random.nextInt(40), random.nextInt(200) - 20);
+        }
+        Comparator<Integer> dispatchOrder = Comparator
+                .<Integer>comparingInt(table::getPriority)
+                .thenComparingInt(table::getRemainingTime)
+                .thenComparingInt(table::getArrivalTime);
+        PriorityBucketQueue queue = new PriorityBucketQueue(table);
+        List<Integer> reference = new ArrayList<>();
+        int next = 0;
+
+        for (int i = 0; i < 3_000; i++) {
+            int op = random.nextInt(4);
+            if (op <= 1 || reference.isEmpty()) {
+                queue.add(next);
+                reference.add(next++);
+            } else if (op == 2) {
+                int target = reference.get(random.nextInt(reference.size()));
+                queue.changePriority(target, table.getPriority(target) - 1);
+            } else {
+                int target = reference.remove(random.nextInt(reference.size()));
+                assertTrue(queue.remove(target));
+            }
+            reference.sort(dispatchOrder);
+            assertEquals(reference.size(), queue.size());
+            assertEquals(reference.isEmpty() ? -1 : reference.get(0), queue.peek());
+        }
+
+        assertArrayEquals(reference.stream().mapToInt(Integer::intValue).toArray(), queue.toSortedArray());
+        for (int expected : reference) {
+            assertEquals(expected, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(-1, queue.poll());
+    }
+}
@@ -1,10 +1,22 @@
 package com.bestchat.sjf.scheduling;
 
 import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessState;
+import com.bestchat.sjf.model.ProcessSnapshot;
+import com.bestchat.sjf.model.ProcessTable;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,6 +73,334 @@ class SJFWithPrioritySchedulerTest {
         assertTrue(aged.getPriority() < 4, "Приоритет должен увеличиться (уменьшиться числовое значение)");
     }
 
+    @Test
+    void nextEventModeMatchesTickLoop() {
+        List<List<Process>> workloads = List.of(
+                List.of(new Process("P1", 0, 5, 3), new Process("P2", 1, 2, 1), new Process("P3", 2, 1, 2)),
+                List.of(new Process("X1", 0, 6, 1), new Process("X2", 0, 4, 4)),
+                randomWorkload(new Random(42), 200)
+        );
+        for (List<Process> workload : workloads) {
+            for (SchedulingMode mode : SchedulingMode.values()) {
+                for (boolean aging : new boolean[]{false, true}) {
+                    List<Process> ticked = runToCompletion(new SJFWithPriorityScheduler(mode, aging, 3, TimeAdvanceMode.TICK), workload);
+                    List<Process> jumped = runToCompletion(new SJFWithPriorityScheduler(mode, aging, 3, TimeAdvanceMode.NEXT_EVENT), workload);
+                    for (Process expected : ticked) {
+                        Process actual = findProcess(jumped, expected.getId());
+                        String context = mode + ", старение=" + aging + ", процесс " + expected.getId();
+                        assertEquals(expected.getStartTime(), actual.getStartTime(), context);
+                        assertEquals(expected.getFinishTime(), actual.getFinishTime(), context);
+                        assertEquals(expected.getWaitingTime(), actual.getWaitingTime(), context);
+                        assertEquals(expected.getPriority(), actual.getPriority(), context);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void nextEventModeSkipsIdleAndRunningStretches() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3, TimeAdvanceMode.NEXT_EVENT);
+        scheduler.setProcesses(List.of(
+                new Process("L1", 1_000_000, 5_000_000, 2),
+                new Process("L2", 2_000_000, 10, 1)
+        ));
+
+        int steps = 0;
+        while (!scheduler.isFinished()) {
+            scheduler.step();
+            steps++;
+        }
+
+        assertTrue(steps < 10, "Шагов должно быть столько же, сколько событий");
+        assertEquals(2_000_010, findProcess(scheduler.snapshot(), "L2").getFinishTime());
+        assertEquals(6_000_010, findProcess(scheduler.snapshot(), "L1").getFinishTime());
+    }
+
+    @Test
+    void waitingTimeIsReportedWhileQueuedAndAfterCompletion() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.NON_PREEMPTIVE, false, 3);
+        scheduler.setProcesses(List.of(
+                new Process("W1", 0, 4, 1),
+                new Process("W2", 1, 2, 2),
+                new Process("W3", 1, 3, 3)
+        ));
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.step();
+        }
+        assertEquals(2, findProcess(scheduler.snapshot(), "W2").getWaitingTime());
+        assertEquals(2, findProcess(scheduler.readyQueueSnapshot(), "W3").getWaitingTime());
+
+        while (!scheduler.isFinished()) {
+            scheduler.step();
+        }
+        for (Process process : scheduler.snapshot()) {
+            assertEquals(process.getTurnaroundTime() - process.getBurstTime(), process.getWaitingTime(), process.getId());
+        }
+    }
+
+    @Test
+    void snapshotOfAQueuedProcessKeepsCountingWaitingTime() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3);
+        scheduler.setProcesses(List.of(new Process("A", 0, 6, 1), new Process("B", 0, 3, 2)));
+        scheduler.step();
+        ProcessSnapshot queued = ProcessSnapshot.of(findProcess(scheduler.readyQueueSnapshot(), "B"));
+        for (int i = 0; i < 3; i++) {
+            scheduler.step();
+        }
+
+        assertEquals(ProcessState.READY, queued.state());
+        assertEquals(findProcess(scheduler.readyQueueSnapshot(), "B").getWaitingTime(), queued.waitingTime(4));
+        assertEquals(4, queued.waitingTime(4));
+        assertEquals(0, ProcessSnapshot.of(findProcess(scheduler.snapshot(), "A")).waitingTime(9));
+    }
+
+    @Test
+    void typedEventsCarryHandlesAndFormatLazily() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3);
+        scheduler.setProcesses(List.of(
+                new Process("E1", 0, 3, 2),
+                new Process("E2", 1, 1, 1)
+        ));
+
+        List<SchedulerEvent> events = new ArrayList<>();
+        while (!scheduler.isFinished()) {
+            scheduler.step();
+            scheduler.drainEvents(events::add);
+        }
+
+        assertEquals(List.of(
+                SchedulerEventKind.ARRIVED, SchedulerEventKind.STARTED,
+                SchedulerEventKind.ARRIVED, SchedulerEventKind.PREEMPTED, SchedulerEventKind.STARTED, SchedulerEventKind.FINISHED,
+                SchedulerEventKind.FINISHED
+        ), events.stream().map(SchedulerEvent::kind).toList());
+        SchedulerEvent preemption = events.get(3);
+        assertEquals("E2", scheduler.getProcess(preemption.process()).getId());
+        assertEquals("E1", scheduler.getProcess(preemption.related()).getId());
+
+        SchedulerEventFormatter formatter = new SchedulerEventFormatter(scheduler::getProcess);
+        assertEquals("t=1: Процесс E2 вытеснил E1", formatter.format(preemption));
+        assertEquals("t=1: Процесс E2 запущен (появление=1, длительность=1, приоритет=1)", formatter.format(events.get(4)));
+        assertTrue(scheduler.consumeEvents().isEmpty());
+    }
+
+    @Test
+    void idleCoreTakesOverQueuedWork() {
+        List<Process> workload = List.of(
+                new Process("C1", 0, 10, 1),
+                new Process("C2", 0, 1, 1),
+                new Process("C3", 0, 10, 2),
+                new Process("C4", 0, 1, 2)
+        );
+        for (LoadBalancing balancing : LoadBalancing.values()) {
+            SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(
+                    SchedulingMode.PREEMPTIVE, false, 3, TimeAdvanceMode.TICK, 2, balancing);
+            List<Process> result = runToCompletion(scheduler, workload);
+
+            assertEquals(10, findProcess(result, "C1").getFinishTime(), balancing.name());
+            assertEquals(12, findProcess(result, "C3").getFinishTime(), balancing.name());
+            assertEquals(1, findProcess(result, "C3").getCore(), balancing.name());
+            CoreStatistics statistics = scheduler.coreStatistics();
+            assertEquals(1, statistics.migrations(), balancing.name());
+            assertEquals(22, statistics.busyTime()[0] + statistics.busyTime()[1], balancing.name());
+            assertEquals(10.0 / 12, statistics.utilization(0), 1e-9, balancing.name());
+        }
+    }
+
+    @Test
+    void multiCoreNextEventModeMatchesTickLoop() {
+        List<Process> workload = randomWorkload(new Random(5), 400);
+        for (LoadBalancing balancing : LoadBalancing.values()) {
+            for (SchedulingMode mode : SchedulingMode.values()) {
+                List<Process> ticked = runToCompletion(new SJFWithPriorityScheduler(
+                        mode, true, 3, TimeAdvanceMode.TICK, 4, balancing), workload);
+                List<Process> jumped = runToCompletion(new SJFWithPriorityScheduler(
+                        mode, true, 3, TimeAdvanceMode.NEXT_EVENT, 4, balancing), workload);
+                for (Process expected : ticked) {
+                    Process actual = findProcess(jumped, expected.getId());
+                    String context = balancing + ", " + mode + ", процесс " + expected.getId();
+                    assertEquals(expected.getFinishTime(), actual.getFinishTime(), context);
+                    assertEquals(expected.getWaitingTime(), actual.getWaitingTime(), context);
+                    assertEquals(expected.getCore(), actual.getCore(), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    void reportsDecisionsAsJfrEvents() throws Exception {
+        Path file = Files.createTempFile("sjf-decisions", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                for (String event : List.of("Dispatch", "Preemption", "Aging", "Completion")) {
+                    recording.enable("com.bestchat.sjf." + event);
+                }
+                recording.start();
+                runToCompletion(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 2), List.of(
+                        new Process("P1", 0, 5, 3),
+                        new Process("P2", 1, 2, 1),
+                        new Process("P3", 2, 1, 2),
+                        new Process("P4", 0, 6, 4)
+                ));
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Map<String, Long> counts = events.stream()
+                    .collect(Collectors.groupingBy(e -> e.getEventType().getName(), Collectors.counting()));
+
+            assertEquals(4, counts.get("com.bestchat.sjf.Completion"));
+            assertTrue(counts.get("com.bestchat.sjf.Dispatch") >= 4);
+            assertTrue(counts.get("com.bestchat.sjf.Aging") >= 1);
+            RecordedEvent preemption = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("com.bestchat.sjf.Preemption"))
+                    .findFirst().orElseThrow();
+            assertEquals("P2", preemption.getString("process"));
+            assertEquals("P1", preemption.getString("preempted"));
+            assertEquals(1, preemption.getInt("simulationTime"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void seekReproducesTheRunIncludingSubmissions() {
+        List<Process> workload = randomWorkload(new Random(8), 300);
+        for (long budget : new long[]{Long.MAX_VALUE, 40_000}) {
+            SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(
+                    SchedulingMode.PREEMPTIVE, true, 3, TimeAdvanceMode.TICK, 3, LoadBalancing.WORK_STEALING);
+            scheduler.setProcesses(workload);
+            scheduler.setCheckpointing(16, budget);
+            Map<Integer, String> states = new java.util.HashMap<>();
+            while (!scheduler.isFinished()) {
+                int time = scheduler.getCurrentTime();
+                if (time == 40 || time == 95) {
+                    scheduler.submit("S" + time, 7, 1);
+                }
+                states.put(time, fingerprint(scheduler));
+                scheduler.step();
+                scheduler.discardNotifications();
+            }
+            int end = scheduler.getCurrentTime();
+            String finished = fingerprint(scheduler);
+
+            Random random = new Random(2);
+            for (int i = 0; i < 40; i++) {
+                int target = random.nextInt(end);
+                scheduler.seek(target);
+                assertEquals(states.get(target), fingerprint(scheduler), "seek to " + target + ", budget " + budget);
+            }
+            scheduler.seek(30);
+            while (!scheduler.isFinished()) {
+                scheduler.step();
+            }
+            assertEquals(finished, fingerprint(scheduler));
+        }
+    }
+
+    @Test
+    void submissionAfterSeekingBackReplacesTheRestOfTheRun() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3);
+        scheduler.setProcesses(List.of(new Process("A", 0, 20, 2)));
+        scheduler.setCheckpointing(4, Long.MAX_VALUE);
+        scheduler.seek(10);
+        scheduler.submit("B", 3, 1);
+        scheduler.seek(15);
+        assertEquals(10, findProcess(scheduler.snapshot(), "B").getArrivalTime());
+
+        scheduler.seek(5);
+        scheduler.submit("C", 2, 1);
+        scheduler.seek(40);
+
+        List<Process> result = scheduler.snapshot();
+        assertEquals(2, result.size());
+        assertEquals(7, findProcess(result, "C").getFinishTime());
+        assertEquals(22, findProcess(result, "A").getFinishTime());
+    }
+
+    @Test
+    void updatedWorkloadResumesFromACheckpointAndMatchesAFullRun() {
+        List<Process> workload = randomWorkload(new Random(12), 300);
+        List<Process> edited = new ArrayList<>(workload);
+        Process changed = edited.get(200);
+        edited.set(200, new Process(changed.getId(), changed.getArrivalTime(), changed.getBurstTime() + 5, 1));
+        edited.remove(250);
+        for (TimeAdvanceMode advance : TimeAdvanceMode.values()) {
+            SJFWithPriorityScheduler expected = new SJFWithPriorityScheduler(
+                    SchedulingMode.PREEMPTIVE, true, 3, advance, 3, LoadBalancing.WORK_STEALING);
+            runToCompletion(expected, edited);
+
+            SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(
+                    SchedulingMode.PREEMPTIVE, true, 3, advance, 3, LoadBalancing.WORK_STEALING);
+            scheduler.setCheckpointing(16, Long.MAX_VALUE);
+            runToCompletion(scheduler, workload);
+            int resumed = scheduler.updateProcessTable(ProcessTable.of(edited));
+
+            assertTrue(resumed > 0 && resumed <= changed.getArrivalTime(), advance + ": resumed at " + resumed);
+            assertEquals(resumed, scheduler.getCurrentTime());
+            while (!scheduler.isFinished()) {
+                scheduler.step();
+            }
+            assertEquals(fingerprint(expected), fingerprint(scheduler), advance.toString());
+            assertEquals(scheduler.getCurrentTime(), scheduler.updateProcessTable(ProcessTable.of(edited)));
+        }
+    }
+
+    @Test
+    void updatedWorkloadDropsSubmissionsAndResumesBeforeThem() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3);
+        scheduler.setProcesses(List.of(new Process("A", 0, 20, 2), new Process("B", 30, 5, 2)));
+        scheduler.setCheckpointing(4, Long.MAX_VALUE);
+        scheduler.seek(10);
+        scheduler.submit("S", 3, 1);
+        scheduler.seek(40);
+
+        int resumed = scheduler.updateProcessTable(ProcessTable.of(List.of(new Process("A", 0, 20, 2),
+                new Process("S", 10, 3, 1), new Process("B", 30, 6, 2))));
+        assertTrue(resumed <= 10);
+        scheduler.seek(40);
+
+        List<Process> result = scheduler.snapshot();
+        assertEquals(3, result.size());
+        assertEquals(13, findProcess(result, "S").getFinishTime());
+        assertEquals(23, findProcess(result, "A").getFinishTime());
+        assertEquals(36, findProcess(result, "B").getFinishTime());
+    }
+
+    private String fingerprint(SJFWithPriorityScheduler scheduler) {
+        StringBuilder text = new StringBuilder("t=").append(scheduler.getCurrentTime());
+        for (Process process : scheduler.snapshot()) {
+            text.append(';').append(process.getId()).append(' ').append(process.getState())
+                    .append(' ').append(process.getRemainingTime()).append(' ').append(process.getPriority())
+                    .append(' ').append(process.getStartTime()).append(' ').append(process.getFinishTime())
+                    .append(' ').append(process.getWaitingTime()).append(' ').append(process.getCore());
+        }
+        CoreStatistics statistics = scheduler.coreStatistics();
+        text.append(" busy=").append(java.util.Arrays.toString(statistics.busyTime()))
+                .append(" migrations=").append(statistics.migrations()).append(" ready=");
+        scheduler.readyQueueSnapshot().forEach(process -> text.append(process.getId()).append(','));
+        return text.toString();
+    }
+
+    private List<Process> runToCompletion(SJFWithPriorityScheduler scheduler, List<Process> workload) {
+        scheduler.setProcesses(workload);
+        while (!scheduler.isFinished()) {
+            scheduler.step();
+        }
+        return scheduler.snapshot();
+    }
+
+    private List<Process> randomWorkload(Random random, int size) {
+        List<Process> workload = new ArrayList<>();
+        int arrival = 0;
+        for (int i = 0; i < size; i++) {
+            arrival += random.nextInt(4);
+            workload.add(new Process("R" + i, arrival, 1 + random.nextInt(12), 1 + random.nextInt(5)));
+        }
+        return workload;
+    }
+
     private Process findProcess(List<Process> processes, String id) {
         return processes.stream()
                 .filter(p -> p.getId().equals(id))
@@ -0,0 +1,34 @@
+package com.bestchat.sjf.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerEventBufferTest {
+
+    @Test
+    void keepsOrderAcrossWrapAroundAndGrowth() {
+        SchedulerEventBuffer buffer = new SchedulerEventBuffer(4);
+        buffer.append(SchedulerEventKind.ARRIVED, 0, 0, -1, 0);
+        buffer.append(SchedulerEventKind.STARTED, 0, 0, -1, 2);
+        buffer.append(SchedulerEventKind.ARRIVED, 1, 1, -1, 0);
+        assertEquals(new SchedulerEvent(SchedulerEventKind.ARRIVED, 0, 0, -1, 0), buffer.poll());
+        assertEquals(new SchedulerEvent(SchedulerEventKind.STARTED, 0, 0, -1, 2), buffer.poll());
+
+        for (int i = 0; i < 10; i++) {
+            buffer.append(SchedulerEventKind.AGED, 2 + i, i, -1, 5 - i);
+        }
+        assertEquals(11, buffer.size());
+
+        List<SchedulerEvent> drained = new ArrayList<>();
+        buffer.drain(drained::add);
+        assertTrue(buffer.isEmpty());
+        assertEquals(new SchedulerEvent(SchedulerEventKind.ARRIVED, 1, 1, -1, 0), drained.get(0));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new SchedulerEvent(SchedulerEventKind.AGED, 2 + i, i, -1, 5 - i), drained.get(i + 1));
+        }
+    }
+}
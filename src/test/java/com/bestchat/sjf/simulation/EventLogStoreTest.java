@@ -0,0 +1,127 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulerEvent;
+import com.bestchat.sjf.scheduling.SchedulerEventFormatter;
+import com.bestchat.sjf.scheduling.SchedulerEventKind;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogStoreTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void dropsOldestSegmentsWithoutSpill() throws Exception {
+        SchedulerEventFormatter formatter = formatter("P", 10);
+        try (EventLogStore store = new EventLogStore(100, 16, null)) {
+            List<SchedulerEvent> appended = events(1_000, 10);
+            appended.forEach(event -> store.append(event, formatter));
+
+            assertTrue(store.size() <= 100 && store.size() > 80, "Размер журнала ограничен");
+            assertEquals(1_000, store.nextSequence());
+            for (long sequence = store.firstSequence(); sequence < store.nextSequence(); sequence++) {
+                assertEquals(appended.get((int) sequence), store.get(sequence));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> store.get(0));
+        }
+    }
+
+    @Test
+    void spillsToDiskAndFindsEventsThroughTheIndex() throws Exception {
+        SchedulerEventFormatter formatter = formatter("P", 10);
+        try (EventLogStore store = new EventLogStore(32, 8, spillDirectory)) {
+            List<SchedulerEvent> appended = events(5_000, 10);
+            appended.forEach(event -> store.append(event, formatter));
+
+            assertEquals(5_000, store.size());
+            for (long sequence = 0; sequence < 5_000; sequence += 7) {
+                assertEquals(appended.get((int) sequence), store.get(sequence));
+                assertEquals(formatter.format(appended.get((int) sequence)), store.format(sequence));
+            }
+
+            long[] expected = LongStream.range(0, appended.size())
+                    .filter(i -> appended.get((int) i).kind() == SchedulerEventKind.PREEMPTED)
+                    .filter(i -> appended.get((int) i).process() == 3 || appended.get((int) i).related() == 3)
+                    .toArray();
+            assertArrayEquals(expected, store.find("P3", SchedulerEventKind.PREEMPTED));
+            assertEquals(0, store.find("P99", null).length);
+            assertTrue(store.matches(expected[0], "P3", null));
+        }
+    }
+
+    @Test
+    void formatsEachEventWithTheWorkloadItWasRecordedFor() throws Exception {
+        SimulationEngine engine = new SimulationEngine(
+                new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3));
+        try (EventLogStore store = new EventLogStore(1_000, 4, null)) {
+            engine.addListener(new SimulationListener() {
+                @Override
+                public void onSchedulerEvent(SchedulerEvent event, SchedulerEventFormatter formatter) {
+                    store.append(event, formatter);
+                }
+
+                @Override
+                public void onTimeAdvanced(int time) {
+                }
+
+                @Override
+                public void onProcessStateChanged(Process process) {
+                }
+
+                @Override
+                public void onSchedulingEvent(String message) {
+                }
+
+                @Override
+                public void onReadyQueueUpdated(List<Process> ready) {
+                }
+            });
+            engine.loadProcesses(List.of(new Process("A0", 0, 3, 2), new Process("A1", 1, 2, 1),
+                    new Process("A2", 2, 4, 3)));
+            engine.runToCompletion();
+            long firstRun = store.nextSequence();
+            engine.loadProcesses(List.of(new Process("B0", 0, 2, 1)));
+            engine.runToCompletion();
+
+            assertTrue(store.format(0).contains("A0"), store.format(0));
+            for (long sequence = 0; sequence < store.nextSequence(); sequence++) {
+                String line = store.format(sequence);
+                assertEquals(sequence >= firstRun, line.contains("B0"), line);
+            }
+            long[] finishedA2 = store.find("A2", SchedulerEventKind.FINISHED);
+            assertEquals(1, finishedA2.length);
+            assertTrue(finishedA2[0] < firstRun);
+            assertEquals("t=2: Процесс B0 завершён", store.format(store.find("B0", SchedulerEventKind.FINISHED)[0]));
+        }
+    }
+
+    private static SchedulerEventFormatter formatter(String prefix, int processes) {
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < processes; i++) {
+            workload.add(new Process(prefix + i, i, 1 + i, 1));
+        }
+        return new SchedulerEventFormatter(workload::get);
+    }
+
+    private static List<SchedulerEvent> events(int count, int processes) {
+        SchedulerEventKind[] kinds = SchedulerEventKind.values();
+        List<SchedulerEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SchedulerEventKind kind = kinds[(i * 7) % kinds.length];
+            int related = kind == SchedulerEventKind.PREEMPTED ? (i + 1) % processes : -1;
+            events.add(new SchedulerEvent(kind, i / 3, (i * 3) % processes, related, i % 4));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloRunnerTest {
+
+    private static final MonteCarloRunner.WorkloadSpec WORKLOAD = new MonteCarloRunner.WorkloadSpec(120, 0.3, 1, 6, 4);
+    private static final ParameterSweep.Configuration CONFIGURATION =
+            new ParameterSweep.Configuration(SchedulingMode.PREEMPTIVE, true, 3);
+
+    @Test
+    void sameSeedGivesSameReportRegardlessOfThreads() {
+        MonteCarloRunner.Report parallel = new MonteCarloRunner().run(WORKLOAD, CONFIGURATION, 500, 42);
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            MonteCarloRunner.Report sequential = new MonteCarloRunner(single, 1).run(WORKLOAD, CONFIGURATION, 500, 42);
+            assertEquals(parallel, sequential);
+        } finally {
+            single.shutdown();
+        }
+        assertNotEquals(parallel, new MonteCarloRunner().run(WORKLOAD, CONFIGURATION, 500, 43));
+    }
+
+    @Test
+    void summariesAreOrderedAndIntervalsContainTheMean() {
+        MonteCarloRunner.Report report = new MonteCarloRunner().run(WORKLOAD, CONFIGURATION, 300, 7);
+
+        assertEquals(300, report.replications());
+        for (MonteCarloRunner.Summary summary : new MonteCarloRunner.Summary[]{report.waitingTime(), report.turnaroundTime()}) {
+            for (MonteCarloRunner.Estimate estimate : new MonteCarloRunner.Estimate[]{summary.mean(), summary.p50(), summary.p95(), summary.p99()}) {
+                assertTrue(estimate.lower() <= estimate.mean() && estimate.mean() <= estimate.upper(), estimate.toString());
+            }
+            assertTrue(summary.p50().mean() <= summary.p95().mean());
+            assertTrue(summary.p95().mean() <= summary.p99().mean());
+        }
+        assertTrue(report.turnaroundTime().mean().mean() >= report.waitingTime().mean().mean() + 1);
+
+        CompletionStatistics.Report pooled = report.pooled();
+        assertEquals(300L * WORKLOAD.processes(), pooled.completed());
+        assertEquals(report.waitingTime().mean().mean(), pooled.waitingTime().mean(), 1e-9);
+        assertTrue(pooled.waitingTime().p50() <= pooled.waitingTime().p99());
+        assertTrue(pooled.responseTime().mean() < pooled.turnaroundTime().mean());
+    }
+
+    @Test
+    void estimateUsesSampleStandardError() {
+        MonteCarloRunner.Estimate estimate = MonteCarloRunner.estimate(new double[]{1, 2, 3, 4});
+        double halfWidth = 1.959964 * Math.sqrt(5.0 / 3 / 4);
+        assertEquals(2.5, estimate.mean(), 1e-12);
+        assertEquals(2.5 - halfWidth, estimate.lower(), 1e-12);
+        assertEquals(2.5 + halfWidth, estimate.upper(), 1e-12);
+    }
+}
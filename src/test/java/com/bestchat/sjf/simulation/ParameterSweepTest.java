@@ -0,0 +1,78 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSweepTest {
+
+    @Test
+    void sweepMatchesIndividualRuns() {
+        Random random = new Random(3);
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            workload.add(new Process("S" + i, random.nextInt(600), 1 + random.nextInt(10), 1 + random.nextInt(5)));
+        }
+        List<ParameterSweep.Configuration> grid = ParameterSweep.grid(List.of(SchedulingMode.values()), List.of(2, 4, 8));
+        assertEquals(8, grid.size());
+
+        List<ParameterSweep.Result> results = new ParameterSweep().run(workload, grid);
+
+        assertEquals(grid.size(), results.size());
+        for (int i = 0; i < grid.size(); i++) {
+            ParameterSweep.Configuration configuration = grid.get(i);
+            assertEquals(configuration, results.get(i).configuration());
+            SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(
+                    configuration.mode(), configuration.agingEnabled(), configuration.agingThreshold());
+            SimulationEngine engine = new SimulationEngine(scheduler);
+            engine.loadProcesses(workload);
+            engine.runToCompletion();
+            RunMetrics expected = metricsOf(scheduler.snapshot());
+            assertEquals(expected, results.get(i).metrics(), configuration.toString());
+        }
+    }
+
+    @Test
+    void runtimeCopiesShareDefinitionsButNotProgress() {
+        ProcessTable definitions = ProcessTable.of(List.of(new Process("D1", 0, 3, 1), new Process("D2", 1, 2, 2)));
+        ProcessTable first = definitions.runtimeCopy();
+        ProcessTable second = definitions.runtimeCopy();
+
+        first.setRemainingTime(0, 0);
+        first.setFinishTime(0, 3);
+
+        assertSame(first.getId(1), second.getId(1));
+        assertEquals(3, second.getRemainingTime(0));
+        assertEquals(ProcessTable.UNSET, second.getFinishTime(0));
+        assertThrows(IllegalStateException.class, () -> definitions.add("D3", 2, 1, 1));
+        assertThrows(IllegalStateException.class, () -> first.add("D3", 2, 1, 1));
+    }
+
+    @Test
+    void sortingATableInOrderLeavesItsResultsAlone() {
+        ProcessTable table = ProcessTable.of(List.of(new Process("D1", 0, 3, 1), new Process("D2", 1, 2, 2)));
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3));
+        engine.loadWorkload(table);
+        engine.runToCompletion();
+        RunMetrics finished = RunMetrics.of(table);
+
+        assertSame(table, table.sortedByArrival());
+        assertEquals(finished, RunMetrics.of(table));
+    }
+
+    private static RunMetrics metricsOf(List<Process> processes) {
+        double waiting = processes.stream().mapToInt(Process::getWaitingTime).average().orElse(0);
+        double turnaround = processes.stream().mapToInt(Process::getTurnaroundTime).average().orElse(0);
+        int maxWaiting = processes.stream().mapToInt(Process::getWaitingTime).max().orElse(0);
+        int makespan = processes.stream().mapToInt(Process::getFinishTime).max().orElse(0);
+        return new RunMetrics(processes.size(), processes.size(), waiting, turnaround, maxWaiting, makespan);
+    }
+}
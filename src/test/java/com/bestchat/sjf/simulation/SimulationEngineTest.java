@@ -0,0 +1,238 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.metrics.SimulationMetrics;
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.scheduling.ReadyQueueChange;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+
+    @Test
+    void runsHeadlessAndNotifiesOncePerBatch() {
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3));
+        RecordingListener listener = new RecordingListener();
+        engine.addListener(listener);
+        engine.loadProcesses(List.of(
+                new Process("H1", 0, 40, 2),
+                new Process("H2", 5, 30, 1),
+                new Process("H3", 10, 20, 3)
+        ));
+        listener.times.clear();
+        engine.setBatchSize(25);
+
+        engine.runUntil(50);
+        assertEquals(List.of(25, 50), listener.times);
+        assertFalse(engine.isFinished());
+
+        engine.runToCompletion();
+        assertTrue(engine.isFinished());
+        assertEquals(List.of(25, 50, 75, 90), listener.times);
+        assertEquals(3, listener.events.stream().filter(e -> e.contains("завершён")).count());
+    }
+
+    @Test
+    void runsToCompletionOnExecutor() throws Exception {
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.NON_PREEMPTIVE, false, 3));
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            workload.add(new Process("A" + i, i, 1 + i % 7, 1 + i % 4));
+        }
+        engine.loadProcesses(workload);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            engine.runToCompletionAsync(executor).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(engine.isFinished());
+    }
+
+    @Test
+    void backgroundDriverPausesAndResumesTheSameRun() throws Exception {
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3));
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            workload.add(new Process("B" + i, i / 3, 1 + i % 9, 1 + i % 4));
+        }
+        engine.loadProcesses(workload);
+
+        try (BackgroundDriver driver = new BackgroundDriver(engine)) {
+            driver.start();
+            driver.pause();
+            assertFalse(driver.isRunning());
+            engine.step();
+
+            driver.start().get(30, TimeUnit.SECONDS);
+            assertTrue(engine.isFinished());
+        }
+    }
+
+    @Test
+    void acceptsConcurrentSubmissionsWhileRunning() throws Exception {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        engine.loadProcesses(List.of(new Process("L0", 0, 50, 2)));
+
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Void>> submitted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                submitted.add(CompletableFuture.runAsync(() -> {
+                    awaitQuietly(start);
+                    for (int i = 0; i < perProducer; i++) {
+                        engine.submit("S" + producer + "-" + i, 1 + i % 5, 1 + i % 3);
+                    }
+                }, executor));
+            }
+            CompletableFuture<Void> done = CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new));
+            start.countDown();
+            while (!done.isDone() || !engine.isFinished()) {
+                engine.step();
+            }
+            done.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Process> processes = scheduler.snapshot();
+        assertEquals(1 + producers * perProducer, processes.size());
+        assertEquals(processes.size(), processes.stream().map(Process::getId).distinct().count());
+        assertTrue(processes.stream().allMatch(p -> p.getFinishTime() != null && p.getFinishTime() > p.getArrivalTime()));
+
+        engine.reset();
+        assertEquals(1, scheduler.snapshot().size());
+        engine.runToCompletion();
+        assertEquals(50, scheduler.snapshot().get(0).getFinishTime());
+    }
+
+    @Test
+    void recordsStepAndPublishMetrics() {
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3));
+        SimulationMetrics metrics = new SimulationMetrics();
+        engine.setMetrics(metrics);
+        engine.addListener(new RecordingListener());
+        engine.setBatchSize(10);
+        engine.loadProcesses(List.of(
+                new Process("M1", 0, 30, 2),
+                new Process("M2", 0, 20, 1),
+                new Process("M3", 5, 10, 3)
+        ));
+
+        engine.runToCompletion();
+
+        SimulationMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(60, snapshot.steps());
+        assertEquals(60, snapshot.stepTime().count());
+        assertEquals(6, snapshot.publishTime().count());
+        assertEquals(2, snapshot.readyQueueDepth().max());
+        assertTrue(snapshot.stepTime().percentile(50) > 0);
+
+        engine.reset();
+        assertEquals(0, metrics.snapshot().steps());
+    }
+
+    @Test
+    void notifiesOnlyChangedProcessesAndQueueDeltas() {
+        SJFWithPriorityScheduler scheduler = new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 4);
+        SimulationEngine engine = new SimulationEngine(scheduler);
+        RecordingListener listener = new RecordingListener();
+        engine.addListener(listener);
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            workload.add(new Process("D" + i, i / 2, 1 + (i * 7) % 11, 1 + i % 5));
+        }
+        engine.loadProcesses(workload);
+
+        while (!engine.isFinished()) {
+            listener.changedProcesses = 0;
+            engine.step();
+            assertTrue(listener.changedProcesses < workload.size() / 4, "Уведомления только об изменившихся процессах");
+            assertEquals(scheduler.readyQueueSnapshot(), listener.mirror.head(Integer.MAX_VALUE));
+        }
+        assertEquals(0, listener.mirror.size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void seekSendsSnapshotsOfTheStateAtTheTargetTime() {
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, true, 3));
+        RecordingListener listener = new RecordingListener();
+        CompletionStatistics statistics = new CompletionStatistics();
+        engine.addListener(listener);
+        engine.addListener(statistics);
+        engine.setCheckpointing(10, Long.MAX_VALUE);
+        engine.loadProcesses(List.of(
+                new Process("K1", 0, 40, 2),
+                new Process("K2", 5, 10, 1),
+                new Process("K3", 10, 20, 3)
+        ));
+        engine.runToCompletion();
+        assertEquals(3, statistics.completed());
+
+        statistics.reset();
+        listener.times.clear();
+        engine.seek(30);
+
+        assertEquals(List.of(30), listener.times);
+        assertEquals(1, statistics.completed());
+        assertEquals(1, listener.mirror.size());
+        assertFalse(engine.isFinished());
+    }
+
+    private static class RecordingListener implements SimulationListener {
+        private final List<Integer> times = new ArrayList<>();
+        private final List<String> events = new ArrayList<>();
+        private final ReadyQueueMirror mirror = new ReadyQueueMirror();
+        private int changedProcesses;
+
+        @Override
+        public void onTimeAdvanced(int time) {
+            times.add(time);
+            mirror.flush();
+        }
+
+        @Override
+        public void onProcessStateChanged(Process process) {
+            changedProcesses++;
+        }
+
+        @Override
+        public void onSchedulingEvent(String message) {
+            events.add(message);
+        }
+
+        @Override
+        public void onReadyQueueUpdated(List<Process> ready) {
+            mirror.reset(ready);
+        }
+
+        @Override
+        public void onReadyQueueChanged(ReadyQueueChange change, Process process) {
+            mirror.apply(change, process);
+        }
+    }
+}
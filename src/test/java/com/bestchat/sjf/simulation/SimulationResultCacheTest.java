@@ -0,0 +1,183 @@
+package com.bestchat.sjf.simulation;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.LoadBalancing;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationResultCacheTest {
+    private static final ParameterSweep.Configuration PREEMPTIVE =
+            new ParameterSweep.Configuration(SchedulingMode.PREEMPTIVE, true, 3);
+
+    @Test
+    void keyChangesWithEveryProcessFieldAndSetting() {
+        List<Process> workload = List.of(new Process("A", 0, 5, 2), new Process("B", 2, 3, 1));
+        String key = key(workload, PREEMPTIVE, 1);
+
+        assertEquals(key, key(List.of(workload.get(1), workload.get(0)), PREEMPTIVE, 1));
+        assertNotEquals(key, key(List.of(new Process("C", 0, 5, 2), workload.get(1)), PREEMPTIVE, 1));
+        assertNotEquals(key, key(List.of(new Process("A", 1, 5, 2), workload.get(1)), PREEMPTIVE, 1));
+        assertNotEquals(key, key(List.of(new Process("A", 0, 6, 2), workload.get(1)), PREEMPTIVE, 1));
+        assertNotEquals(key, key(List.of(new Process("A", 0, 5, 3), workload.get(1)), PREEMPTIVE, 1));
+        assertNotEquals(key, key(workload, new ParameterSweep.Configuration(SchedulingMode.PREEMPTIVE, true, 4), 1));
+        assertNotEquals(key, key(workload, new ParameterSweep.Configuration(SchedulingMode.PREEMPTIVE, false, 3), 1));
+        assertNotEquals(key, key(workload, PREEMPTIVE, 2));
+        assertEquals(key(workload, new ParameterSweep.Configuration(SchedulingMode.NON_PREEMPTIVE, false, 3), 1),
+                key(workload, new ParameterSweep.Configuration(SchedulingMode.NON_PREEMPTIVE, false, 8), 1));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedRunsBeyondTheBudget() {
+        SimulationResultCache.CachedRun run = run(List.of(new Process("A", 0, 5, 2)));
+        SimulationResultCache cache = new SimulationResultCache(2 * run.sizeInBytes());
+        cache.put("a", run);
+        cache.put("b", run);
+        assertSame(run, cache.get("a"));
+        cache.put("c", run);
+
+        assertNull(cache.get("b"));
+        assertSame(run, cache.get("a"));
+        assertSame(run, cache.get("c"));
+        SimulationResultCache.Statistics statistics = cache.statistics();
+        assertEquals(2, statistics.entries());
+        assertEquals(2 * run.sizeInBytes(), statistics.memoryBytes());
+        assertEquals(3, statistics.memoryHits());
+        assertEquals(1, statistics.misses());
+    }
+
+    @Test
+    void diskTierSurvivesANewCache(@TempDir Path directory) {
+        SimulationResultCache.CachedRun run = run(List.of(new Process("A", 0, 5, 2), new Process("B", 1, 2, 1)));
+        new SimulationResultCache(0, directory, 1 << 20).put("k", run);
+
+        SimulationResultCache cache = new SimulationResultCache(1 << 20, directory, 1 << 20);
+        SimulationResultCache.CachedRun loaded = cache.get("k");
+
+        assertNotNull(loaded);
+        assertEquals(run.metrics(), loaded.metrics());
+        assertArrayEquals(run.schedule().finishTimes(), loaded.schedule().finishTimes());
+        assertArrayEquals(run.schedule().states(), loaded.schedule().states());
+        assertEquals(1, cache.statistics().diskHits());
+        assertSame(loaded, cache.get("k"));
+        assertNull(cache.get("missing"));
+    }
+
+    @Test
+    void diskTierDeletesLeastRecentlyUsedFilesBeyondItsBudget(@TempDir Path directory) throws Exception {
+        SimulationResultCache.CachedRun run = run(List.of(new Process("A", 0, 5, 2), new Process("B", 1, 2, 1)));
+        new SimulationResultCache(0, directory, Long.MAX_VALUE).put("probe", run);
+        long fileSize = Files.size(directory.resolve("probe.run"));
+        Files.delete(directory.resolve("probe.run"));
+
+        SimulationResultCache cache = new SimulationResultCache(0, directory, 2 * fileSize);
+        cache.put("a", run);
+        Files.setLastModifiedTime(directory.resolve("a.run"), FileTime.fromMillis(1_000));
+        cache.put("b", run);
+        Files.setLastModifiedTime(directory.resolve("b.run"), FileTime.fromMillis(2_000));
+        assertNotNull(cache.get("a"));
+        cache.put("c", run);
+
+        assertTrue(Files.exists(directory.resolve("a.run")));
+        assertFalse(Files.exists(directory.resolve("b.run")));
+        assertTrue(Files.exists(directory.resolve("c.run")));
+    }
+
+    @Test
+    void corruptFilesCountAsMisses(@TempDir Path directory) throws Exception {
+        SimulationResultCache.CachedRun run = run(List.of(new Process("A", 0, 5, 2), new Process("B", 1, 2, 1)));
+        new SimulationResultCache(0, directory, 1 << 20).put("k", run);
+        byte[] bytes = Files.readAllBytes(directory.resolve("k.run"));
+        int rowCount = 2 * Integer.BYTES + 4 * Integer.BYTES + 2 * Double.BYTES;
+
+        for (int rows : new int[]{-1, Integer.MAX_VALUE, 3}) {
+            ByteBuffer.wrap(bytes).putInt(rowCount, rows);
+            Files.write(directory.resolve("k.run"), bytes);
+            assertNull(new SimulationResultCache(1 << 20, directory, 1 << 20).get("k"));
+        }
+        Files.write(directory.resolve("k.run"), Arrays.copyOf(bytes, 20));
+        assertNull(new SimulationResultCache(1 << 20, directory, 1 << 20).get("k"));
+    }
+
+    @Test
+    void failedWriteLeavesNoTemporaryFile(@TempDir Path directory) throws Exception {
+        // A non-empty directory in the way makes moving the finished file into place fail.
+        Files.createDirectories(directory.resolve("k.run").resolve("blocker"));
+        SimulationResultCache cache = new SimulationResultCache(1 << 20, directory, 1 << 20);
+
+        cache.put("k", run(List.of(new Process("A", 0, 5, 2))));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(directory.resolve("k.run")), files.toList());
+        }
+        assertNotNull(cache.get("k"));
+    }
+
+    @Test
+    void digestLeavesTheTableAlone() {
+        ProcessTable table = ProcessTable.of(List.of(new Process("A", 0, 5, 2), new Process("B", 1, 2, 1)));
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3));
+        engine.loadWorkload(table);
+        engine.runToCompletion();
+        RunMetrics finished = RunMetrics.of(table);
+
+        String digest = SimulationResultCache.workloadDigest(table);
+
+        assertEquals(finished, RunMetrics.of(table));
+        assertEquals(digest, SimulationResultCache.workloadDigest(
+                ProcessTable.of(List.of(new Process("B", 1, 2, 1), new Process("A", 0, 5, 2)))));
+    }
+
+    @Test
+    void sweepReusesCachedRunsWithTheSameMetrics() {
+        Random random = new Random(5);
+        List<Process> workload = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            workload.add(new Process("S" + i, random.nextInt(400), 1 + random.nextInt(10), 1 + random.nextInt(5)));
+        }
+        List<ParameterSweep.Configuration> grid = ParameterSweep.grid(List.of(SchedulingMode.values()), List.of(2, 5));
+        SimulationResultCache cache = new SimulationResultCache(1 << 20);
+        ParameterSweep sweep = new ParameterSweep(ForkJoinPool.commonPool(), cache);
+
+        List<ParameterSweep.Result> first = sweep.run(workload, grid);
+        List<ParameterSweep.Result> second = sweep.run(workload, grid);
+
+        assertEquals(new ParameterSweep().run(workload, grid), first);
+        assertEquals(first, second);
+        assertEquals(grid.size(), cache.statistics().memoryHits());
+        assertEquals(grid.size(), cache.statistics().misses());
+
+        List<Process> edited = new ArrayList<>(workload);
+        edited.set(7, new Process("S7", workload.get(7).getArrivalTime(), workload.get(7).getBurstTime() + 1,
+                workload.get(7).getBasePriority()));
+        assertEquals(new ParameterSweep().run(edited, grid), sweep.run(edited, grid));
+        assertEquals(2L * grid.size(), cache.statistics().misses());
+    }
+
+    private static String key(List<Process> workload, ParameterSweep.Configuration configuration, int cores) {
+        return SimulationResultCache.key(ProcessTable.of(workload), configuration, cores, LoadBalancing.WORK_STEALING);
+    }
+
+    private static SimulationResultCache.CachedRun run(List<Process> workload) {
+        ProcessTable table = ProcessTable.of(workload);
+        SimulationEngine engine = new SimulationEngine(new SJFWithPriorityScheduler(SchedulingMode.PREEMPTIVE, false, 3));
+        engine.loadWorkload(table);
+        engine.runToCompletion();
+        return SimulationResultCache.CachedRun.of(table);
+    }
+}
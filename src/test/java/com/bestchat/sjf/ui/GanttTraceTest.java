@@ -0,0 +1,100 @@
+package com.bestchat.sjf.ui;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GanttTraceTest {
+
+    @Test
+    void mergesContinuedSlicesAndFindsSegmentsByTime() {
+        GanttTrace trace = new GanttTrace();
+        assertEquals(0, trace.append("P1", 0, 2, Color.RED));
+        assertEquals(0, trace.append("P1", 2, 5, Color.RED));
+        assertEquals(1, trace.append("P2", 5, 6, Color.BLUE));
+        assertEquals(2, trace.append("P1", 8, 10, Color.RED));
+
+        assertEquals(3, trace.size());
+        assertEquals(5, trace.end(0));
+        assertEquals(10, trace.endTime());
+        assertEquals(0, trace.segmentAt(4.5));
+        assertEquals(1, trace.segmentAt(5));
+        assertEquals(-1, trace.segmentAt(7));
+        assertEquals(2, trace.firstEndingAfter(6));
+        assertEquals(3, trace.firstEndingAfter(10));
+        assertThrows(IllegalArgumentException.class, () -> trace.append("P3", 9, 12, Color.GREEN));
+    }
+
+    @Test
+    void truncateCutsTheSegmentRunningAcrossTheTime() {
+        GanttTrace trace = new GanttTrace();
+        trace.append("P1", 0, 5, Color.RED);
+        trace.append("P2", 5, 9, Color.BLUE);
+        trace.append("P3", 12, 15, Color.GREEN);
+
+        trace.truncate(7);
+
+        assertEquals(2, trace.size());
+        assertEquals(7, trace.endTime());
+        assertEquals(2, trace.append("P4", 8, 10, Color.GREEN));
+        trace.truncate(5);
+        assertEquals(1, trace.size());
+        assertEquals(5, trace.endTime());
+    }
+
+    @Test
+    void rendersOnlyTheVisibleWindow() {
+        GanttTrace trace = new GanttTrace();
+        for (int i = 0; i < 100_000; i++) {
+            trace.append("P" + (i % 2), i * 10, i * 10 + 10, Color.GRAY);
+        }
+        RecordingPainter painter = new RecordingPainter();
+
+        // 1 time unit per pixel starting at t=500_000: 80 columns cover exactly 8 segments.
+        trace.render(500_000, 1, 0, 80, painter);
+        assertEquals(List.of(50_000, 50_001, 50_002, 50_003, 50_004, 50_005, 50_006, 50_007), painter.segments);
+        assertTrue(painter.columns.isEmpty());
+    }
+
+    @Test
+    void aggregatesSubPixelSlicesPerColumn() {
+        GanttTrace trace = new GanttTrace();
+        for (int i = 0; i < 100_000; i++) {
+            trace.append("P" + (i % 3), i, i + 1, Color.GRAY);
+        }
+        RecordingPainter painter = new RecordingPainter();
+
+        // The whole trace squeezed into 800 columns: one summary per column, never one call per slice.
+        trace.render(0, 125, 0, 800, painter);
+        assertTrue(painter.segments.isEmpty());
+        assertEquals(800, painter.columns.size());
+        for (int column = 0; column < 800; column++) {
+            assertEquals(column, painter.columns.get(column));
+        }
+
+        // Redrawing just the tail starts at the requested column.
+        painter.columns.clear();
+        trace.render(0, 125, 790, 800, painter);
+        assertEquals(10, painter.columns.size());
+        assertEquals(790, painter.columns.get(0));
+    }
+
+    private static class RecordingPainter implements GanttTrace.Painter {
+        private final List<Integer> segments = new ArrayList<>();
+        private final List<Integer> columns = new ArrayList<>();
+
+        @Override
+        public void segment(int index, double x0, double x1) {
+            segments.add(index);
+        }
+
+        @Override
+        public void column(int index, int column) {
+            columns.add(column);
+        }
+    }
+}
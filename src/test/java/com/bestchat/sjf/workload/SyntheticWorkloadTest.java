@@ -0,0 +1,159 @@
+package com.bestchat.sjf.workload;
+
+import com.bestchat.sjf.model.Process;
+import com.bestchat.sjf.model.ProcessState;
+import com.bestchat.sjf.model.ProcessTable;
+import com.bestchat.sjf.scheduling.LoadBalancing;
+import com.bestchat.sjf.scheduling.SJFWithPriorityScheduler;
+import com.bestchat.sjf.scheduling.SchedulingMode;
+import com.bestchat.sjf.scheduling.TimeAdvanceMode;
+import com.bestchat.sjf.simulation.SimulationEngine;
+import com.bestchat.sjf.simulation.SimulationListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticWorkloadTest {
+
+    @Test
+    void streamedRunMatchesMaterialisedWorkload() {
+        for (SchedulingMode mode : SchedulingMode.values()) {
+            ProcessTable materialised = new ProcessTable();
+            SyntheticWorkload definitions = workload(20_000);
+            while (definitions.peekArrivalTime() != WorkloadSource.EXHAUSTED) {
+                definitions.next(materialised);
+            }
+            SJFWithPriorityScheduler reference = scheduler(mode);
+            SimulationEngine referenceEngine = new SimulationEngine(reference);
+            referenceEngine.loadWorkload(materialised);
+            referenceEngine.runToCompletion();
+
+            MaxHandle streamed = new MaxHandle(workload(20_000));
+            SimulationEngine engine = new SimulationEngine(scheduler(mode));
+            Map<String, int[]> finished = new HashMap<>();
+            engine.addListener(new FinishedListener(finished));
+            engine.loadSource(streamed);
+            engine.runToCompletion();
+
+            assertTrue(engine.isFinished());
+            assertEquals(20_000, finished.size());
+            for (Process expected : reference.snapshot()) {
+                int[] actual = finished.get(expected.getId());
+                assertEquals(expected.getFinishTime(), actual[0], expected.getId());
+                assertEquals(expected.getWaitingTime(), actual[1], expected.getId());
+            }
+            assertTrue(streamed.maxHandle < 2_000, "rows in use: " + (streamed.maxHandle + 1));
+        }
+    }
+
+    @Test
+    void sameSeedGivesSameStreamAfterRewind() {
+        SyntheticWorkload workload = new SyntheticWorkload(ArrivalProcess.bursty(2, 0.1, 5, 20),
+                BurstDistribution.pareto(1, 1.5), PriorityMix.weighted(1, 0, 3), 500, 11);
+        ProcessTable first = new ProcessTable();
+        while (workload.peekArrivalTime() != WorkloadSource.EXHAUSTED) {
+            workload.next(first);
+        }
+        workload.rewind();
+        ProcessTable second = new ProcessTable();
+        while (workload.peekArrivalTime() != WorkloadSource.EXHAUSTED) {
+            workload.next(second);
+        }
+
+        assertEquals(500, first.size());
+        assertEquals(500, second.size());
+        for (int handle = 0; handle < first.size(); handle++) {
+            assertEquals(first.getId(handle), second.getId(handle));
+            assertEquals(first.getArrivalTime(handle), second.getArrivalTime(handle));
+            assertEquals(first.getBurstTime(handle), second.getBurstTime(handle));
+            assertEquals(first.getBasePriority(handle), second.getBasePriority(handle));
+            assertNotEquals(2, first.getBasePriority(handle));
+            assertTrue(first.getBurstTime(handle) >= 1);
+            assertTrue(handle == 0 || first.getArrivalTime(handle) >= first.getArrivalTime(handle - 1));
+        }
+        assertThrows(IllegalStateException.class, () -> workload.next(second));
+    }
+
+    @Test
+    void distributionsHaveExpectedMeans() {
+        SplittableRandom random = new SplittableRandom(5);
+        BurstDistribution exponential = BurstDistribution.exponential(20);
+        BurstDistribution bimodal = BurstDistribution.bimodal(2, 100, 0.1);
+        double exponentialSum = 0;
+        double bimodalSum = 0;
+        double clock = 0;
+        ArrivalProcess poisson = ArrivalProcess.poisson(0.5);
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            exponentialSum += exponential.sample(random);
+            bimodalSum += bimodal.sample(random);
+            clock = poisson.next(clock, random);
+        }
+        // Rounding up to whole ticks adds about half a tick to each continuous mean.
+        assertEquals(20.5, exponentialSum / samples, 0.5);
+        assertEquals(0.9 * 2.5 + 0.1 * 100.5, bimodalSum / samples, 0.5);
+        assertEquals(2.0, clock / samples, 0.05);
+    }
+
+    private static SyntheticWorkload workload(long limit) {
+        return new SyntheticWorkload(ArrivalProcess.poisson(0.45), BurstDistribution.bimodal(1, 8, 0.2),
+                PriorityMix.uniform(4), limit, 7);
+    }
+
+    private static SJFWithPriorityScheduler scheduler(SchedulingMode mode) {
+        return new SJFWithPriorityScheduler(mode, true, 4, TimeAdvanceMode.NEXT_EVENT, 2, LoadBalancing.WORK_STEALING);
+    }
+
+    private static final class MaxHandle implements WorkloadSource {
+        private final WorkloadSource delegate;
+        private int maxHandle = -1;
+
+        private MaxHandle(WorkloadSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int peekArrivalTime() {
+            return delegate.peekArrivalTime();
+        }
+
+        @Override
+        public int next(ProcessTable table) {
+            int handle = delegate.next(table);
+            maxHandle = Math.max(maxHandle, handle);
+            return handle;
+        }
+
+        @Override
+        public void rewind() {
+            delegate.rewind();
+            maxHandle = -1;
+        }
+    }
+
+    private record FinishedListener(Map<String, int[]> finished) implements SimulationListener {
+        @Override
+        public void onTimeAdvanced(int time) {
+        }
+
+        @Override
+        public void onProcessStateChanged(Process process) {
+            if (process.getState() == ProcessState.FINISHED) {
+                finished.put(process.getId(), new int[]{process.getFinishTime(), process.getWaitingTime()});
+            }
+        }
+
+        @Override
+        public void onSchedulingEvent(String message) {
+        }
+
+        @Override
+        public void onReadyQueueUpdated(List<Process> ready) {
+        }
+    }
+}